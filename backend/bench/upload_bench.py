@@ -0,0 +1,175 @@
+#!/usr/bin/env python3
+"""
+Concurrent-upload benchmark for POST /resume/upload.
+
+Runs the same upload at increasing concurrency levels and reports throughput,
+latency percentiles, error rate and the JVM's live/peak thread counts for each.
+The last line is the highest level the node sustained (error rate and p95 within
+the limits).  Run it once per mode and compare:
+
+    VIRTUAL_THREADS=false java -jar target/backend-0.0.1-SNAPSHOT.jar
+    python3 bench/upload_bench.py --file sample.pdf --email hr@x.io --password ... --label platform
+
+    VIRTUAL_THREADS=true  java -jar target/backend-0.0.1-SNAPSHOT.jar
+    python3 bench/upload_bench.py --file sample.pdf --email hr@x.io --password ... --label virtual
+
+Uploading the same file repeatedly reuses its stored parse, so the numbers measure
+the request, extraction and scoring path rather than ResumeParser.py.  Pass
+--cleanup to delete the uploaded resumes after each level.
+
+Only the standard library is used.
+"""
+import argparse
+import json
+import mimetypes
+import statistics
+import sys
+import time
+import urllib.error
+import urllib.request
+import uuid
+from concurrent.futures import ThreadPoolExecutor
+from pathlib import Path
+
+
+def request(method, url, token=None, body=None, content_type=None, timeout=600):
+    req = urllib.request.Request(url, data=body, method=method)
+    if token:
+        req.add_header("Authorization", f"Bearer {token}")
+    if content_type:
+        req.add_header("Content-Type", content_type)
+    try:
+        with urllib.request.urlopen(req, timeout=timeout) as resp:
+            return resp.status, resp.read()
+    except urllib.error.HTTPError as e:
+        return e.code, e.read()
+    except (urllib.error.URLError, TimeoutError, ConnectionError) as e:
+        return 0, str(e).encode()
+
+
+def login(base, email, password):
+    status, body = request("POST", f"{base}/auth/login",
+                           body=json.dumps({"email": email, "password": password}).encode(),
+                           content_type="application/json")
+    if status != 200:
+        sys.exit(f"login failed ({status}): {body.decode(errors='replace')}")
+    return json.loads(body)["token"]
+
+
+def multipart(fields, file_field, path):
+    boundary = uuid.uuid4().hex
+    ctype = mimetypes.guess_type(path.name)[0] or "application/pdf"
+    parts = []
+    for name, value in fields.items():
+        parts.append(f'--{boundary}\r\nContent-Disposition: form-data; name="{name}"\r\n\r\n{value}\r\n'.encode())
+    parts.append((f'--{boundary}\r\nContent-Disposition: form-data; name="{file_field}"; '
+                  f'filename="{path.name}"\r\nContent-Type: {ctype}\r\n\r\n').encode())
+    parts.append(path.read_bytes())
+    parts.append(f"\r\n--{boundary}--\r\n".encode())
+    return b"".join(parts), f"multipart/form-data; boundary={boundary}"
+
+
+def metric(base, token, name, stat="VALUE"):
+    status, body = request("GET", f"{base}/actuator/metrics/{name}", token=token, timeout=10)
+    if status != 200:
+        return None
+    for m in json.loads(body).get("measurements", []):
+        if m["statistic"] == stat:
+            return m["value"]
+    return None
+
+
+def percentile(values, p):
+    if not values:
+        return 0.0
+    s = sorted(values)
+    return s[min(len(s) - 1, int(round(p / 100 * (len(s) - 1))))]
+
+
+def run_level(args, token, body, ctype, level):
+    url = f"{args.base_url}/resume/upload" + ("?async=true" if args.use_async else "")
+
+    def one(_):
+        t0 = time.perf_counter()
+        status, resp = request("POST", url, token=token, body=body, content_type=ctype, timeout=args.timeout)
+        rid = None
+        if status in (200, 202):
+            try:
+                rid = json.loads(resp).get("id")
+            except ValueError:
+                pass
+        return status, time.perf_counter() - t0, rid
+
+    n = max(level, args.requests_per_level)
+    t0 = time.perf_counter()
+    with ThreadPoolExecutor(max_workers=level) as pool:
+        results = list(pool.map(one, range(n)))
+    wall = time.perf_counter() - t0
+
+    ok = [lat for status, lat, _ in results if status in (200, 202)]
+    codes = {}
+    for status, _, _ in results:
+        codes[status] = codes.get(status, 0) + 1
+
+    if args.cleanup:
+        for _, _, rid in results:
+            if rid is not None:
+                request("DELETE", f"{args.base_url}/resume/{rid}", token=token, timeout=60)
+
+    return {
+        "concurrency": level,
+        "requests": n,
+        "ok": len(ok),
+        "error_rate": round(1 - len(ok) / n, 4),
+        "throughput_rps": round(len(ok) / wall, 3),
+        "p50_s": round(percentile(ok, 50), 3),
+        "p95_s": round(percentile(ok, 95), 3),
+        "mean_s": round(statistics.mean(ok), 3) if ok else 0.0,
+        "status_codes": codes,
+        "jvm_threads_live": metric(args.base_url, token, "jvm.threads.live"),
+        "jvm_threads_peak": metric(args.base_url, token, "jvm.threads.peak"),
+    }
+
+
+def main():
+    ap = argparse.ArgumentParser(description=__doc__, formatter_class=argparse.RawDescriptionHelpFormatter)
+    ap.add_argument("--base-url", default="http://localhost:8080")
+    ap.add_argument("--email", required=True)
+    ap.add_argument("--password", required=True)
+    ap.add_argument("--file", required=True, type=Path, help="PDF or DOCX to upload")
+    ap.add_argument("--job-id", type=int, help="also score every upload against this job")
+    ap.add_argument("--levels", default="1,2,4,8,16,32,64,128", help="comma-separated concurrency levels")
+    ap.add_argument("--requests-per-level", type=int, default=32)
+    ap.add_argument("--async", dest="use_async", action="store_true", help="use /resume/upload?async=true")
+    ap.add_argument("--max-error-rate", type=float, default=0.01)
+    ap.add_argument("--max-p95", type=float, default=60.0, help="seconds")
+    ap.add_argument("--timeout", type=float, default=600.0, help="per-request timeout, seconds")
+    ap.add_argument("--cleanup", action="store_true", help="delete uploaded resumes after each level")
+    ap.add_argument("--label", default="", help="mode name printed with the results, e.g. platform / virtual")
+    args = ap.parse_args()
+
+    token = login(args.base_url, args.email, args.password)
+    fields = {"candidateName": "Bench Candidate"}
+    if args.job_id is not None:
+        fields["jobId"] = str(args.job_id)
+    body, ctype = multipart(fields, "file", args.file)
+
+    print(f"{'conc':>5} {'ok':>5} {'err%':>6} {'rps':>8} {'p50 s':>8} {'p95 s':>8} {'threads':>8} {'peak':>6}")
+    rows, sustained = [], None
+    for level in (int(x) for x in args.levels.split(",")):
+        r = run_level(args, token, body, ctype, level)
+        rows.append(r)
+        print(f"{r['concurrency']:>5} {r['ok']:>5} {r['error_rate'] * 100:>6.1f} {r['throughput_rps']:>8.2f} "
+              f"{r['p50_s']:>8.2f} {r['p95_s']:>8.2f} {r['jvm_threads_live'] or 0:>8.0f} {r['jvm_threads_peak'] or 0:>6.0f}",
+              flush=True)
+        if r["error_rate"] <= args.max_error_rate and r["p95_s"] <= args.max_p95:
+            sustained = level
+        else:
+            break   # past the knee – higher levels only take longer to fail
+
+    print(json.dumps({"label": args.label, "async": args.use_async, "sustained_concurrency": sustained,
+                      "levels": rows}))
+
+
+if __name__ == "__main__":
+    main()
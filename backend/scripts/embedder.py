@@ -0,0 +1,52 @@
+"""
+Encodes texts with the sentence model used for semantic matching.
+
+stdin : {"model": "all-MiniLM-L6-v2", "texts": ["...", "..."]}
+stdout: {"model": "all-MiniLM-L6-v2", "dim": 384, "vectors": [[...], [...]]}
+
+The model comes from the request (the backend's embedding.model), falling back to
+$EMBEDDING_MODEL, which python_worker.py processes are started with so warm()
+loads the right one.
+"""
+import os
+import sys
+import json
+
+DEFAULT_MODEL = os.environ.get("EMBEDDING_MODEL", "all-MiniLM-L6-v2")
+
+_models = {}
+
+
+def load_model(name=None):
+    """Load a model once per process; python_worker.py keeps it warm between calls."""
+    name = name or DEFAULT_MODEL
+    if name not in _models:
+        from sentence_transformers import SentenceTransformer   # torch is only imported when needed
+        _models[name] = SentenceTransformer(name)
+    return _models[name]
+
+
+def warm():
+    load_model()
+
+
+def main():
+    try:
+        payload = json.loads(sys.stdin.read() or "{}")
+    except json.JSONDecodeError as e:
+        sys.stderr.write(f"Invalid JSON on stdin – {e}\n")
+        sys.exit(1)
+
+    texts = payload.get("texts", [])
+    name = payload.get("model") or DEFAULT_MODEL
+    model = load_model(name)
+    vectors = model.encode(texts, convert_to_numpy=True) if texts else []
+    print(json.dumps({
+        "model": name,
+        "dim": model.get_sentence_embedding_dimension(),
+        "vectors": [[float(x) for x in v] for v in vectors],
+    }))
+
+
+if __name__ == "__main__":
+    main()
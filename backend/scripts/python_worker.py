@@ -0,0 +1,113 @@
+"""
+Long-lived worker process used by PythonWorkerPool (Spring side).
+
+Usage: python_worker.py <script.py> [<script.py> ...]
+
+Every script given on the command line is imported once at start-up and, if
+it defines warm(), that is called so heavy libraries (torch,
+sentence-transformers, openai) and the MiniLM model are loaded exactly once
+per process.  Once everything is loaded the worker prints {"ready": true}.
+
+After that the worker answers one JSON request per line on stdin with one
+JSON response per line on stdout:
+
+  {"id": 7, "op": "run", "script": "/app/scripts/x.py", "argv": [...], "stdin": "..."}
+  -> {"id": 7, "exit": 0, "stdout": "..."}
+
+  {"id": 8, "op": "ping"}
+  -> {"id": 8, "pong": true}
+
+"run" executes the script's main() exactly like a fresh interpreter would
+(same argv, same stdin) and hands back whatever it printed, so the Java side
+parses the output the same way it parses a subprocess.  Anything the scripts
+write to stdout outside a request goes to stderr so it cannot break framing.
+"""
+import contextlib
+import importlib
+import io
+import json
+import os
+import sys
+import traceback
+
+FRAMES = sys.stdout
+sys.stdout = sys.stderr
+
+_modules = {}
+
+
+def load(script: str):
+    path = os.path.abspath(script)
+    mod = _modules.get(path)
+    if mod is None:
+        folder, name = os.path.split(path)
+        if folder not in sys.path:
+            sys.path.insert(0, folder)
+        mod = importlib.import_module(os.path.splitext(name)[0])
+        _modules[path] = mod
+    return mod
+
+
+def run(req: dict) -> dict:
+    script = req["script"]
+    out = io.StringIO()
+    exit_code = 0
+    error = None
+    old_argv, old_stdin = sys.argv, sys.stdin
+    sys.argv = [script] + list(req.get("argv", []))
+    sys.stdin = io.StringIO(req.get("stdin") or "")
+    try:
+        with contextlib.redirect_stdout(out):
+            load(script).main()
+    except SystemExit as e:
+        exit_code = e.code if isinstance(e.code, int) else (0 if e.code is None else 1)
+    except Exception as e:
+        traceback.print_exc(file=sys.stderr)
+        exit_code, error = 1, f"{type(e).__name__}: {e}"
+    finally:
+        sys.argv, sys.stdin = old_argv, old_stdin
+    resp = {"exit": exit_code, "stdout": out.getvalue()}
+    if error:
+        resp["error"] = error
+    return resp
+
+
+def send(frame: dict) -> None:
+    FRAMES.write(json.dumps(frame) + "\n")
+    FRAMES.flush()
+
+
+def main() -> None:
+    for script in sys.argv[1:]:
+        try:
+            mod = load(script)
+            if hasattr(mod, "warm"):
+                mod.warm()
+        except Exception:
+            # keep going – the script is imported again (and fails loudly) on first use
+            print(f"preload of {script} failed", file=sys.stderr)
+            traceback.print_exc(file=sys.stderr)
+    send({"ready": True, "pid": os.getpid()})
+
+    for line in sys.stdin:
+        line = line.strip()
+        if not line:
+            continue
+        try:
+            req = json.loads(line)
+        except json.JSONDecodeError as e:
+            print(f"bad request frame: {e}", file=sys.stderr)
+            continue
+        op = req.get("op", "run")
+        if op == "ping":
+            resp = {"pong": True}
+        elif op == "run":
+            resp = run(req)
+        else:
+            resp = {"exit": 2, "stdout": "", "error": f"unknown op {op}"}
+        resp["id"] = req.get("id")
+        send(resp)
+
+
+if __name__ == "__main__":
+    main()
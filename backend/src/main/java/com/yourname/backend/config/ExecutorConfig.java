@@ -0,0 +1,27 @@
+package com.yourname.backend.config;
+
+import com.yourname.backend.util.Threads;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Runs the independent stages of one request (parse, extract, job artifacts, LLM call)
+     * side by side.  Unbounded on purpose: stages only wait on I/O and Python lanes, which
+     * have their own limits, and a bounded pool could deadlock when a stage waits for
+     * another one queued behind it.  In virtual-thread mode every stage gets its own
+     * virtual thread.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService stageExecutor(@Value(Threads.VIRTUAL) boolean virtualThreads) {
+        return virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Threads.factory("stage", true))
+                : Executors.newCachedThreadPool(Threads.factory("stage", false));
+    }
+}
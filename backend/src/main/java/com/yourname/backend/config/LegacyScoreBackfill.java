@@ -0,0 +1,67 @@
+package com.yourname.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves the single score set older versions kept on {@code resumes} into
+ * {@code resume_job_scores}, as V7 would with Flyway on, then drops the old columns.
+ * Rows get scorer version {@code legacy}, so they are shown until the pair is rescored.
+ * Does nothing once {@code resumes.last_scored_job_id} is gone.
+ */
+@Component
+public class LegacyScoreBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(LegacyScoreBackfill.class);
+    private static final List<String> SCORES = List.of("match_score", "semantic_score", "skills_score",
+            "education_score", "experience_score", "overlap", "llm_score");
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+
+    /** Takes the EntityManagerFactory so Hibernate has created resume_job_scores first. */
+    public LegacyScoreBackfill(JdbcTemplate jdbc, PlatformTransactionManager txManager, EntityManagerFactory schema) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(txManager);
+    }
+
+    @PostConstruct
+    void backfill() {
+        if (!legacyColumns().contains("last_scored_job_id")) return;
+        tx.executeWithoutResult(s -> {
+            jdbc.execute("LOCK TABLE resumes IN SHARE ROW EXCLUSIVE MODE");   // one node does it
+            Set<String> columns = legacyColumns();
+            if (!columns.contains("last_scored_job_id")) return;
+
+            StringBuilder values = new StringBuilder();
+            for (String c : SCORES) values.append(columns.contains(c) ? "COALESCE(r." + c + ", 0), " : "0, ");
+            int copied = jdbc.update("INSERT INTO resume_job_scores (resume_id, job_id, final_score, semantic_score, "
+                    + "skills_score, education_score, experience_score, overlap, llm_score, scorer_version, scored_at) "
+                    + "SELECT r.id, r.last_scored_job_id, " + values + "'legacy', now() FROM resumes r "
+                    + "JOIN job_descriptions j ON j.id = r.last_scored_job_id "
+                    + "ON CONFLICT (resume_id, job_id) DO NOTHING");
+            for (String c : columns) jdbc.execute("ALTER TABLE resumes DROP COLUMN IF EXISTS " + c);
+            log.info("Moved {} legacy resume scores to resume_job_scores", copied);
+        });
+    }
+
+    private Set<String> legacyColumns() {
+        List<String> names = jdbc.queryForList(
+                "SELECT column_name FROM information_schema.columns "
+                        + "WHERE table_schema = current_schema() AND table_name = 'resumes' "
+                        + "AND column_name IN ('last_scored_job_id', 'match_score', 'semantic_score', 'skills_score', "
+                        + "'education_score', 'experience_score', 'overlap', 'llm_score')",
+                String.class);
+        return new HashSet<>(names);
+    }
+}
@@ -0,0 +1,32 @@
+package com.yourname.backend.config;
+
+import com.yourname.backend.scoring.LlmGrade;
+import com.yourname.backend.scoring.ScoreComponent;
+import com.yourname.backend.services.OpenAiHelper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** The four score components answered by the one combined LLM call. */
+@Configuration
+public class ScoringConfig {
+
+    @Bean
+    public ScoreComponent llmMatchScore() {
+        return new LlmGrade("llm", OpenAiHelper.Grades::match);
+    }
+
+    @Bean
+    public ScoreComponent llmSkillsScore() {
+        return new LlmGrade("skills", OpenAiHelper.Grades::skills);
+    }
+
+    @Bean
+    public ScoreComponent llmEducationScore() {
+        return new LlmGrade("education", OpenAiHelper.Grades::education);
+    }
+
+    @Bean
+    public ScoreComponent llmExperienceScore() {
+        return new LlmGrade("experience", OpenAiHelper.Grades::experience);
+    }
+}
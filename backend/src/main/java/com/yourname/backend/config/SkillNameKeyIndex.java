@@ -0,0 +1,65 @@
+package com.yourname.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Creates idx_skills_name_key – skill names unique ignoring case and spacing – which
+ * SkillService's {@code INSERT ... ON CONFLICT DO NOTHING} relies on.  Flyway is off and
+ * the schema comes from Hibernate, which can't declare an expression index, so this does
+ * what V10 would: merge existing duplicates into the lowest id, then create the index.
+ * Runs once, on the first start without the index; later starts only check it exists.
+ */
+@Component
+public class SkillNameKeyIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillNameKeyIndex.class);
+    private static final String KEY = "lower(btrim(regexp_replace(name, '\\s+', ' ', 'g')))";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+
+    /** Takes the EntityManagerFactory so Hibernate has created the tables first. */
+    public SkillNameKeyIndex(JdbcTemplate jdbc, PlatformTransactionManager txManager, EntityManagerFactory schema) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(txManager);
+    }
+
+    @PostConstruct
+    void ensure() {
+        if (exists()) return;
+        tx.executeWithoutResult(s -> {
+            // no other node may add a clashing name between the merge and the index
+            jdbc.execute("LOCK TABLE skills IN SHARE ROW EXCLUSIVE MODE");
+            if (exists()) return;
+            jdbc.execute("CREATE TEMP TABLE skill_merge ON COMMIT DROP AS "
+                    + "SELECT id, min(id) OVER (PARTITION BY " + KEY + ") AS keep_id FROM skills");
+            jdbc.execute("DELETE FROM skill_merge WHERE id = keep_id");
+            for (String[] link : new String[][]{{"resume_skills", "resume_id"}, {"job_skills", "job_id"}}) {
+                jdbc.execute("INSERT INTO " + link[0] + " (" + link[1] + ", skill_id) "
+                        + "SELECT DISTINCT l." + link[1] + ", m.keep_id FROM " + link[0] + " l "
+                        + "JOIN skill_merge m ON m.id = l.skill_id "
+                        + "WHERE NOT EXISTS (SELECT 1 FROM " + link[0] + " k "
+                        + "WHERE k." + link[1] + " = l." + link[1] + " AND k.skill_id = m.keep_id)");
+                // Hibernate's foreign keys don't cascade
+                jdbc.execute("DELETE FROM " + link[0] + " WHERE skill_id IN (SELECT id FROM skill_merge)");
+            }
+            int merged = jdbc.update("DELETE FROM skills WHERE id IN (SELECT id FROM skill_merge)");
+            jdbc.execute("CREATE UNIQUE INDEX idx_skills_name_key ON skills (" + KEY + ")");
+            log.info("Created idx_skills_name_key; merged {} duplicate skills", merged);
+        });
+    }
+
+    private boolean exists() {
+        Integer n = jdbc.queryForObject(
+                "SELECT count(*) FROM pg_indexes WHERE tablename = 'skills' AND indexname = 'idx_skills_name_key'",
+                Integer.class);
+        return n != null && n > 0;
+    }
+}
@@ -2,30 +2,49 @@ package com.yourname.backend.controllers;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.backend.dto.CandidateDto;
 import com.yourname.backend.dto.JobDescriptionDto;
 import com.yourname.backend.dto.JobRequest;
+import com.yourname.backend.dto.RankResultDto;
+import com.yourname.backend.dto.TextSearchDto;
+import com.yourname.backend.entities.Embedding;
+import com.yourname.backend.embedding.HnswIndex;
 import com.yourname.backend.entities.JobDescription;
+import com.yourname.backend.entities.Resume;
+import com.yourname.backend.entities.ResumeJobScore;
 import com.yourname.backend.entities.Skill;
+import com.yourname.backend.python.PythonBridge;
 import com.yourname.backend.repositories.JobDescriptionRepository;
+import com.yourname.backend.repositories.ResumeJobScoreRepository;
+import com.yourname.backend.repositories.ResumeRepository;
+import com.yourname.backend.services.AiService;
+import com.yourname.backend.services.CandidateIndexService;
+import com.yourname.backend.services.EmbeddingService;
+import com.yourname.backend.services.JobArtifactService;
+import com.yourname.backend.services.ScoringService;
 import com.yourname.backend.services.SkillService;
+import com.yourname.backend.services.SkillTagger;
+import com.yourname.backend.services.TextExtractionService;
+import com.yourname.backend.services.TextIndexService;
 import com.yourname.backend.storage.StorageService;
 import jakarta.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -37,28 +56,56 @@ import static com.yourname.backend.util.CitationCleaner.strip;
 public class JobController {
 
     private static final Logger log = LoggerFactory.getLogger(JobController.class);
+    private static final int MAX_CANDIDATES = 500;
+
+    @Value("${ranking.timeout-minutes:120}")
+    private long rankTimeoutMinutes;
 
     private final JobDescriptionRepository jobRepo;
     private final StorageService           storageService;
     private final SkillService             skillService;
+    private final SkillTagger              skillTagger;
+    private final PythonBridge             python;
+    private final TextExtractionService    textExtraction;
+    private final JobArtifactService       jobArtifacts;
+    private final EmbeddingService         embeddings;
+    private final CandidateIndexService    candidateIndex;
+    private final TextIndexService         textIndex;
+    private final ResumeRepository         resumeRepo;
+    private final ScoringService           scoring;
+    private final ResumeJobScoreRepository scoreRepo;
     private final ObjectMapper             JSON = new ObjectMapper();
 
-    @Value("${python.text-extractor}")
-    private String TEXT_EXTRACTOR;
-
     @Value("${python.job-parser}")
     private String JOB_PARSER;
 
-    @Value("${ai.python-executable:python3}")
-    private String PYTHON;
-
     @Autowired
     public JobController(JobDescriptionRepository jobRepo,
                          StorageService storageService,
-                         SkillService skillService) {
+                         SkillService skillService,
+                         SkillTagger skillTagger,
+                         PythonBridge python,
+                         TextExtractionService textExtraction,
+                         JobArtifactService jobArtifacts,
+                         EmbeddingService embeddings,
+                         CandidateIndexService candidateIndex,
+                         TextIndexService textIndex,
+                         ResumeRepository resumeRepo,
+                         ScoringService scoring,
+                         ResumeJobScoreRepository scoreRepo) {
         this.jobRepo        = jobRepo;
         this.storageService = storageService;
         this.skillService   = skillService;
+        this.skillTagger    = skillTagger;
+        this.python         = python;
+        this.textExtraction = textExtraction;
+        this.jobArtifacts   = jobArtifacts;
+        this.embeddings     = embeddings;
+        this.candidateIndex = candidateIndex;
+        this.textIndex      = textIndex;
+        this.resumeRepo     = resumeRepo;
+        this.scoring        = scoring;
+        this.scoreRepo      = scoreRepo;
     }
 
     @PostMapping(path = "/createManual",
@@ -72,14 +119,14 @@ public class JobController {
         );
 
         String plainTxt   = req.getDescriptionText();
-        String parsedJson = runPython(JOB_PARSER, jdPath);
+        String parsedJson = python.run(JOB_PARSER, jdPath);
         JsonNode n        = JSON.readTree(parsedJson);
 
         String summary    = n.path("Job Description").asText(null);
         String category   = n.path("Job Category").asText(null);
         String location   = n.path("Location").asText(null);
 
-        List<String> skillsList = toStringList(n.path("skills"));
+        List<String> skillsList = skillTagger.withTagged(toStringList(n.path("skills")), plainTxt);
         Set<Skill> skills = skillService.fetchOrCreateSkills(
                 skillsList.stream()
                         .map(String::trim)
@@ -107,9 +154,11 @@ public class JobController {
         jd.setResponsibilities(strip(String.join(", ", respList)));
         jd.setParsedJson(parsedJson);
         jd.setFilePath(jdPath);
+        jobArtifacts.stamp(jd);
         // status defaults to "Active" in your entity
 
         JobDescription saved = jobRepo.save(jd);
+        textIndex.put(saved);
 
         return toDto(saved, skillsList, reqList, respList);
     }
@@ -124,12 +173,12 @@ public class JobController {
             throw new IllegalArgumentException("File is empty");
 
         String jdPath     = storageService.store(file);
-        String plainTxt   = runPythonCaptureText(TEXT_EXTRACTOR, jdPath);
-        String parsedJson = runPython(JOB_PARSER,        jdPath);
+        String plainTxt   = textExtraction.extract(jdPath);
+        String parsedJson = python.run(JOB_PARSER,        jdPath);
         JsonNode n        = JSON.readTree(parsedJson);
 
         String summary = n.path("Job Description").asText(null);
-        List<String> skillsList = toStringList(n.path("skills"));
+        List<String> skillsList = skillTagger.withTagged(toStringList(n.path("skills")), plainTxt);
         Set<Skill> skills = skillService.fetchOrCreateSkills(
                 skillsList.stream().map(String::trim).filter(s -> !s.isBlank()).collect(Collectors.toSet())
         );
@@ -153,8 +202,10 @@ public class JobController {
         jd.setResponsibilities(strip(String.join(", ", respList)));
         jd.setParsedJson(parsedJson);
         jd.setFilePath(jdPath);
+        jobArtifacts.stamp(jd);
 
         JobDescription saved = jobRepo.save(jd);
+        textIndex.put(saved);
         return toDto(saved, skillsList, reqList, respList);
     }
 
@@ -170,6 +221,30 @@ public class JobController {
                 .toList();
     }
 
+    /** Keyword search over job title, summary, requirements, responsibilities and description. */
+    @GetMapping("/text-search")
+    public TextSearchDto<JobDescriptionDto> textSearch(@RequestParam("q") String q,
+                                                       @RequestParam(value = "page", defaultValue = "0")  int page,
+                                                       @RequestParam(value = "size", defaultValue = "20") int size) {
+        if (q.isBlank() || page < 0 || size < 1 || size > 200)
+            throw new IllegalArgumentException("q must not be blank, page must be >= 0 and size between 1 and 200");
+        TextIndexService.Result found = textIndex.search(Embedding.OwnerType.JOB, q, page, size);
+
+        Map<Long, JobDescription> byId = jobRepo.findAllById(
+                found.hits().stream().map(TextIndexService.Hit::id).toList()).stream()
+                .collect(Collectors.toMap(JobDescription::getId, jd -> jd));
+        List<TextSearchDto.Hit<JobDescriptionDto>> hits = found.hits().stream()
+                .filter(h -> byId.containsKey(h.id()))
+                .map(h -> {
+                    JobDescription jd = byId.get(h.id());
+                    JobDescriptionDto dto = toDto(jd, jd.getSkills().stream().map(Skill::getName).toList(),
+                            splitCsv(jd.getRequirements()), splitCsv(jd.getResponsibilities()));
+                    return new TextSearchDto.Hit<>(dto, h.score(), h.highlights());
+                })
+                .toList();
+        return new TextSearchDto<>(found.total(), page, size, hits);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<JobDescriptionDto> getById(@PathVariable Long id) {
         return jobRepo.findById(id)
@@ -183,12 +258,134 @@ public class JobController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Top-{@code k} resumes for this job by embedding similarity, straight from the
+     * candidate index – no LLM calls, so the expensive scoring can run on the shortlist.
+     */
+    @GetMapping("/{id}/candidates")
+    public List<CandidateDto> candidates(@PathVariable Long id,
+                                         @RequestParam(value = "k", defaultValue = "50") int k) throws Exception {
+        JobDescription jd = jobRepo.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        if (!candidateIndex.isReady())
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Candidate index is still loading");
+
+        EmbeddingService.Vector jobVec = embeddings.vectorFor(Embedding.OwnerType.JOB, id, jd.getDescriptionText());
+        List<HnswIndex.Hit> hits = candidateIndex.search(jobVec.values(), Math.max(1, Math.min(k, MAX_CANDIDATES)));
+        Map<Long, Resume> resumes = resumeRepo.findAllById(hits.stream().map(HnswIndex.Hit::id).toList())
+                .stream().collect(Collectors.toMap(Resume::getId, r -> r));
+
+        return hits.stream()
+                .filter(h -> resumes.containsKey(h.id()))
+                .map(h -> {
+                    Resume r = resumes.get(h.id());
+                    return new CandidateDto(r.getId(), r.getCandidateName(), r.getFileName(), r.getStatus(),
+                            Math.max(0.0, h.similarity()) * 100.0);
+                })
+                .toList();
+    }
+
+    /**
+     * Scores resumes against this job in parallel and streams one NDJSON line per
+     * resume as it finishes, then a final {@code {"done": true, ...}} line.
+     * Scores all resumes unless narrowed by {@code resumeIds}, {@code status} and/or
+     * {@code top} (the top-N shortlist from the candidate index).  Stored scores that are
+     * still valid are streamed straight back unless {@code rescore} is set.
+     */
+    @PostMapping(path = "/{id}/rank", produces = NdjsonStream.MEDIA_TYPE)
+    public ResponseBodyEmitter rank(@PathVariable Long id,
+                                    @RequestParam(value = "resumeIds", required = false) List<Long> resumeIds,
+                                    @RequestParam(value = "status",    required = false) String status,
+                                    @RequestParam(value = "top",       required = false) Integer top,
+                                    @RequestParam(value = "rescore",   defaultValue = "false") boolean rescore)
+            throws Exception {
+        JobDescription jd = jobRepo.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+
+        List<Resume> resumes;
+        if (resumeIds != null && !resumeIds.isEmpty()) {
+            resumes = resumeRepo.findAllById(resumeIds);
+        } else if (top != null) {
+            if (!candidateIndex.isComplete())  // a partial index would silently shorten the shortlist
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Candidate index is still loading");
+            EmbeddingService.Vector jobVec = embeddings.vectorFor(Embedding.OwnerType.JOB, id, jd.getDescriptionText());
+            List<Long> shortlist = candidateIndex.search(jobVec.values(), Math.max(1, Math.min(top, MAX_CANDIDATES)))
+                    .stream().map(HnswIndex.Hit::id).toList();
+            resumes = resumeRepo.findAllById(shortlist);
+        } else {
+            resumes = resumeRepo.findAll();
+        }
+        if (status != null)
+            resumes = resumes.stream().filter(r -> status.equalsIgnoreCase(r.getStatus())).toList();
+
+        NdjsonStream stream = new NdjsonStream(TimeUnit.MINUTES.toMillis(rankTimeoutMinutes));
+
+        long t0 = System.currentTimeMillis();
+        AtomicInteger scored = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        List<CompletableFuture<Void>> lines = scoring.rank(jd, resumes, rescore, stream.cancelled()).stream()
+                .map(f -> f.thenAccept(res -> {
+                    (res.error() == null ? scored : failed).incrementAndGet();
+                    stream.send(toRankDto(res));
+                }))
+                .toList();
+
+        int total = resumes.size();
+        CompletableFuture.allOf(lines.toArray(CompletableFuture[]::new)).whenComplete((v, e) -> {
+            Map<String, Object> done = new LinkedHashMap<>();
+            done.put("done", true);
+            done.put("total", total);
+            done.put("scored", scored.get());
+            done.put("failed", failed.get());
+            done.put("elapsedMs", System.currentTimeMillis() - t0);
+            stream.send(done);
+            stream.complete();
+            log.info("Ranked job {}: {} scored, {} failed in {} ms", id, scored.get(), failed.get(),
+                    System.currentTimeMillis() - t0);
+        });
+        return stream.emitter();
+    }
+
+    private static RankResultDto toRankDto(ScoringService.RankResult res) {
+        AiService.ScoreBundle s = res.scores();
+        Resume r = res.resume();
+        return new RankResultDto(r.getId(), r.getCandidateName(), res.cached(),
+                s == null ? null : s.finalScore(),
+                s == null ? null : s.semanticScore(),
+                s == null ? null : s.skillsScore(),
+                s == null ? null : s.educationScore(),
+                s == null ? null : s.experienceScore(),
+                s == null ? null : s.overlap(),
+                s == null ? null : s.llmScore(),
+                res.error(), res.elapsedMs());
+    }
+
+    /** The best {@code limit} stored scores for this job, highest first – no scoring is done. */
+    @GetMapping("/{id}/scores")
+    public ResponseEntity<List<RankResultDto>> topScores(@PathVariable Long id,
+                                                         @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        if (!jobRepo.existsById(id)) return ResponseEntity.notFound().build();
+        List<ResumeJobScore> rows = scoreRepo.findByJobIdOrderByFinalScoreDesc(
+                id, PageRequest.of(0, Math.max(1, Math.min(limit, MAX_CANDIDATES))));
+        Map<Long, Resume> resumes = resumeRepo.findAllById(rows.stream().map(ResumeJobScore::getResumeId).toList())
+                .stream().collect(Collectors.toMap(Resume::getId, r -> r));
+        return ResponseEntity.ok(rows.stream()
+                .filter(s -> resumes.containsKey(s.getResumeId()))
+                .map(s -> toRankDto(new ScoringService.RankResult(
+                        resumes.get(s.getResumeId()), ScoringService.toBundle(s), true, null, 0)))
+                .toList());
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteById(@PathVariable Long id) {
         if (!jobRepo.existsById(id)) {
             return ResponseEntity.notFound().build();
         }
         jobRepo.deleteById(id);
+        jobArtifacts.evict(id);
+        embeddings.delete(Embedding.OwnerType.JOB, id);
+        textIndex.remove(Embedding.OwnerType.JOB, id);
+        scoring.forgetJob(id);
         return ResponseEntity.noContent().build();
     }
 
@@ -232,37 +429,4 @@ public class JobController {
                 jd.getStatus()
         );
     }
-
-    private String runPython(String script, String... args)
-            throws IOException, InterruptedException {
-        ProcessBuilder pb = new ProcessBuilder(PYTHON, script);
-        pb.command().addAll(List.of(args));
-        pb.redirectErrorStream(true);
-        Process p = pb.start();
-        String out = new String(p.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
-        if (p.waitFor() != 0) {
-            log.error("{} failed →\n{}", script, out);
-            throw new RuntimeException(script + " failed – see logs");
-        }
-        return out.trim();
-    }
-
-    private String runPythonCaptureText(String script, String... args)
-            throws IOException, InterruptedException {
-        ProcessBuilder pb = new ProcessBuilder(PYTHON, script);
-        pb.command().addAll(List.of(args));
-        pb.redirectErrorStream(true);
-        Process p = pb.start();
-        String last = null;
-        try (BufferedReader r = new BufferedReader(
-                new InputStreamReader(p.getInputStream(), StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = r.readLine()) != null) last = line;
-        }
-        if (p.waitFor() != 0) {
-            log.error("{} failed (last line: {})", script, last);
-            throw new RuntimeException(script + " failed – see logs");
-        }
-        return last != null ? last : "";
-    }
 }
\ No newline at end of file
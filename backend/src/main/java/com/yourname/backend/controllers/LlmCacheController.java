@@ -0,0 +1,32 @@
+package com.yourname.backend.controllers;
+
+import com.yourname.backend.services.LlmCacheService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/** Explicit invalidation of cached LLM replies, e.g. after a bad batch or a model change. */
+@RestController
+@RequestMapping("/llm-cache")
+@CrossOrigin(origins = "http://localhost:3000")
+public class LlmCacheController {
+
+    private final LlmCacheService cache;
+
+    public LlmCacheController(LlmCacheService cache) {
+        this.cache = cache;
+    }
+
+    /** DELETE /llm-cache?model=o4-mini drops one model's replies; without it, everything. */
+    @DeleteMapping
+    public Map<String, Integer> clear(@RequestParam(required = false) String model) {
+        int removed = model == null ? cache.invalidateAll() : cache.invalidateModel(model);
+        return Map.of("removed", removed);
+    }
+
+    @DeleteMapping("/{key}")
+    public ResponseEntity<Void> evict(@PathVariable String key) {
+        return cache.invalidate(key) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.yourname.backend.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A streamed {@code application/x-ndjson} response written to from worker threads.
+ * A timeout or a failed write (the client went away) sets {@link #cancelled()}, so
+ * producers can stop starting new work.
+ */
+final class NdjsonStream {
+
+    static final String MEDIA_TYPE = "application/x-ndjson";
+
+    private static final Logger log = LoggerFactory.getLogger(NdjsonStream.class);
+    private static final MediaType NDJSON = MediaType.parseMediaType(MEDIA_TYPE);
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final ResponseBodyEmitter emitter;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    NdjsonStream(long timeoutMillis) {
+        emitter = new ResponseBodyEmitter(timeoutMillis);
+        emitter.onTimeout(() -> cancelled.set(true));
+        emitter.onError(e -> cancelled.set(true));
+    }
+
+    ResponseBodyEmitter emitter() { return emitter; }
+
+    AtomicBoolean cancelled() { return cancelled; }
+
+    /** Writes {@code line} as one JSON line; a no-op once the stream is cancelled. */
+    void send(Object line) {
+        if (cancelled.get()) return;
+        try {
+            synchronized (emitter) {
+                emitter.send(JSON.writeValueAsString(line) + "\n", NDJSON);
+            }
+        } catch (Exception e) {
+            cancelled.set(true);
+            log.debug("NDJSON stream closed: {}", e.getMessage());
+        }
+    }
+
+    void complete() {
+        emitter.complete();
+    }
+}
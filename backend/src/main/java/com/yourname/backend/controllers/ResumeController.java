@@ -1,13 +1,22 @@
 package com.yourname.backend.controllers;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.backend.dto.BulkUploadEventDto;
+import com.yourname.backend.dto.IngestStatusDto;
 import com.yourname.backend.dto.ResumeDto;
+import com.yourname.backend.dto.ResumeSearchDto;
+import com.yourname.backend.dto.TextSearchDto;
 import com.yourname.backend.entities.*;
 import com.yourname.backend.repositories.JobDescriptionRepository;
+import com.yourname.backend.repositories.ResumeJobScoreRepository;
 import com.yourname.backend.repositories.ResumeRepository;
 import com.yourname.backend.services.AiService;
-import com.yourname.backend.services.SkillService;
+import com.yourname.backend.services.BulkUploadService;
+import com.yourname.backend.services.CandidateIndexService;
+import com.yourname.backend.services.EmbeddingService;
+import com.yourname.backend.services.IngestionService;
+import com.yourname.backend.services.ScoringService;
+import com.yourname.backend.services.SkillIndexService;
+import com.yourname.backend.services.TextIndexService;
 import com.yourname.backend.storage.StorageService;
 import jakarta.validation.constraints.NotNull;
 import org.slf4j.Logger;
@@ -22,18 +31,18 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import java.io.*;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.net.URI;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
-import static com.yourname.backend.util.CitationCleaner.strip;
-
 @RestController
 @RequestMapping("/resume")
 @CrossOrigin(origins = "http://localhost:3000")
@@ -44,49 +53,44 @@ public class ResumeController {
     private final ResumeRepository resumeRepo;
     private final JobDescriptionRepository jobRepo;
     private final StorageService storageService;
-    private final AiService aiService;
-    private final SkillService skillService;
-    private final ObjectMapper mapper = new ObjectMapper();
-
-    @Value("${python.resume-parser}")
-    private String RESUME_PARSER;
-
-    @Value("${python.job-parser}")
-    private String JOB_PARSER;
-
-    @Value("${python.semantic-matcher}")
-    private String SEMANTIC_MATCHER;
+    private final EmbeddingService embeddings;
+    private final CandidateIndexService candidateIndex;
+    private final ScoringService scoring;
+    private final ResumeJobScoreRepository scoreRepo;
+    private final IngestionService ingestion;
+    private final BulkUploadService bulkUploads;
+    private final SkillIndexService skillIndex;
+    private final TextIndexService textIndex;
 
-    @Value("${python.text-extractor}")
-    private String TEXT_EXTRACTOR;
+    @Value("${upload.max-resume-size:10MB}")
+    private DataSize maxResumeSize;
 
-    @Value("${ai.python-executable:python3}")
-    private String PYTHON;
-
-    private static final ObjectMapper JSON = new ObjectMapper();
+    @Value("${bulk.timeout-minutes:120}")
+    private long bulkTimeoutMinutes;
 
     @Autowired
     public ResumeController(ResumeRepository resumeRepo,
                             JobDescriptionRepository jobRepo,
                             StorageService storageService,
-                            AiService aiService,
-                            SkillService skillService) {
+                            EmbeddingService embeddings,
+                            CandidateIndexService candidateIndex,
+                            ScoringService scoring,
+                            ResumeJobScoreRepository scoreRepo,
+                            IngestionService ingestion,
+                            BulkUploadService bulkUploads,
+                            SkillIndexService skillIndex,
+                            TextIndexService textIndex) {
         this.resumeRepo = resumeRepo;
         this.jobRepo = jobRepo;
         this.storageService = storageService;
-        this.aiService = aiService;
-        this.skillService = skillService;
-    }
-
-    private static void applyScores(Resume r, AiService.ScoreBundle s) {
-        if (s == null) return;   // not scored yet
-        r.setMatchScore     (s.finalScore());
-        r.setSemanticScore  (s.semanticScore());
-        r.setSkillsScore    (s.skillsScore());
-        r.setEducationScore (s.educationScore());
-        r.setExperienceScore(s.experienceScore());
-        r.setOverlapScore        (s.overlap());
-        r.setLlmmScore      (s.llmScore());
+        this.embeddings = embeddings;
+        this.candidateIndex = candidateIndex;
+        this.scoring = scoring;
+        this.scoreRepo = scoreRepo;
+        this.ingestion = ingestion;
+        this.bulkUploads = bulkUploads;
+        this.skillIndex = skillIndex;
+        this.textIndex = textIndex;
     }
 
     @PatchMapping("/{id}/status")
@@ -98,6 +102,7 @@ public class ResumeController {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
         r.setStatus(newStatus);
         Resume saved = resumeRepo.save(r);
+        skillIndex.put(saved);
         return ResponseEntity.ok(toDto(saved, null));
     }
 
@@ -127,6 +132,11 @@ public class ResumeController {
             return ResponseEntity.notFound().build();
         }
         resumeRepo.deleteById(id);
+        skillIndex.remove(id);
+        textIndex.remove(Embedding.OwnerType.RESUME, id);
+        embeddings.delete(Embedding.OwnerType.RESUME, id);
+        scoring.forgetResume(id);
+        candidateIndex.remove(id);
         return ResponseEntity.noContent().build();
     }
 
@@ -137,139 +147,197 @@ public class ResumeController {
                             @RequestParam(value = "jobId", required = false) Long jobId)
             throws Exception {
 
+        String ct = checkUpload(file);
+        JobDescription jd = jobId == null ? null : jobRepo.findById(jobId)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid jobId " + jobId));
+        String resumePath = storageService.store(file);
+
+        IngestionService.Ingested in = ingestion.ingest(resumePath, file.getOriginalFilename(), ct, file.getSize(),
+                candidateName, jd == null ? List.of() : List.of(jd));
+        return toDto(in.resume(), jobId == null ? null : in.scores().get(jobId));
+    }
+
+    /**
+     * Async variant of /upload: stores the file and answers 202 straight away; extraction,
+     * parsing and (with a jobId) scoring continue in the background.  Poll
+     * {@code GET /resume/{id}/status} for progress.
+     */
+    @PostMapping(path = "/upload", params = "async=true", consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<IngestStatusDto> uploadAsync(@RequestParam("file")          @NotNull MultipartFile file,
+                                                       @RequestParam("candidateName") @NotNull String candidateName,
+                                                       @RequestParam(value = "jobId", required = false) Long jobId)
+            throws Exception {
+        checkUpload(file);
+        Resume r = ingestion.accept(file, candidateName, jobId);
+        return ResponseEntity.accepted()
+                .location(URI.create("/resume/" + r.getId() + "/status"))
+                .body(toStatus(r));
+    }
+
+    /**
+     * Uploads many resumes at once: any number of PDF/DOCX {@code files} parts and/or ZIPs
+     * of them, each optionally scored against every {@code jobId}.  Streams one NDJSON
+     * line per file as it is stored and finished (see {@link BulkUploadEventDto}), then
+     * a final {@code {"done": true, ...}} summary.  Candidate names come from file names.
+     */
+    @PostMapping(path = "/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = NdjsonStream.MEDIA_TYPE)
+    public ResponseBodyEmitter bulk(@RequestParam("files") List<MultipartFile> files,
+                                    @RequestParam(value = "jobId", required = false) List<Long> jobIds) {
+        List<JobDescription> jobs = jobIds == null ? List.of() : jobIds.stream().distinct()
+                .map(id -> jobRepo.findById(id)
+                        .orElseThrow(() -> new IllegalArgumentException("Invalid jobId " + id)))
+                .toList();
+
+        NdjsonStream stream = new NdjsonStream(TimeUnit.MINUTES.toMillis(bulkTimeoutMinutes));
+        bulkUploads.upload(files, jobs, stream.cancelled(), stream::send).whenComplete((s, e) -> {
+            Map<String, Object> done = new LinkedHashMap<>();
+            done.put("done", true);
+            if (s != null) {
+                done.put("total", s.total());
+                done.put("succeeded", s.succeeded());
+                done.put("failed", s.failed());
+                done.put("skipped", s.skipped());
+                done.put("elapsedMs", s.elapsedMs());
+                log.info("Bulk upload: {} files, {} ok, {} failed, {} skipped in {} ms",
+                        s.total(), s.succeeded(), s.failed(), s.skipped(), s.elapsedMs());
+            } else {
+                done.put("error", e.getMessage());
+                log.error("Bulk upload failed", e);
+            }
+            stream.send(done);
+            stream.complete();
+        });
+        return stream.emitter();
+    }
+
+    @GetMapping("/{id}/status")
+    public ResponseEntity<IngestStatusDto> status(@PathVariable Long id) {
+        return resumeRepo.findById(id)
+                .map(r -> ResponseEntity.ok(toStatus(r)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private static IngestStatusDto toStatus(Resume r) {
+        return new IngestStatusDto(r.getId(),
+                r.getProcessingStatus() == null ? null : r.getProcessingStatus().name(),
+                IngestionService.isDone(r), r.getScoreJobId(), r.getProcessingError());
+    }
+
+    /** @return the file's content type once it is known to be a non-empty PDF or DOCX */
+    private String checkUpload(MultipartFile file) {
         if (file.isEmpty()) throw new IllegalArgumentException("File is empty");
+        if (file.getSize() > maxResumeSize.toBytes())
+            throw new IllegalArgumentException("File is larger than " + maxResumeSize.toMegabytes() + "MB");
         String ct = file.getContentType();
         if (!"application/pdf".equals(ct) &&
                 !"application/vnd.openxmlformats-officedocument.wordprocessingml.document".equals(ct))
             throw new IllegalArgumentException("Only PDF or DOCX allowed");
+        return ct;
+    }
 
-        String resumePath = storageService.store(file);
+    /**
+     * Boolean skill search over the in-memory index, newest resumes first, e.g.
+     * {@code ?all=java,sql&any=aws,gcp&status=New}.  503 while the index is loading.
+     */
+    @GetMapping("/search")
+    public ResumeSearchDto search(@RequestParam(value = "all",    defaultValue = "") List<String> all,
+                                  @RequestParam(value = "any",    defaultValue = "") List<String> any,
+                                  @RequestParam(value = "status", required = false) String status,
+                                  @RequestParam(value = "page",   defaultValue = "0")  int page,
+                                  @RequestParam(value = "size",   defaultValue = "20") int size) {
+        if (page < 0 || size < 1 || size > 200)
+            throw new IllegalArgumentException("page must be >= 0 and size between 1 and 200");
+        SkillIndexService.Result hits = skillIndex.search(
+                nonBlank(all), nonBlank(any), status == null || status.isBlank() ? null : status, page, size);
+
+        Map<Long, Resume> byId = resumeRepo.findAllById(hits.resumeIds()).stream()
+                .collect(Collectors.toMap(Resume::getId, r -> r));
+        List<ResumeDto> results = hits.resumeIds().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)          // deleted since the index was read
+                .map(r -> toDto(r, null))
+                .toList();
+        return new ResumeSearchDto(hits.total(), page, size, results);
+    }
 
-        String parsedResumeJson = runPython(RESUME_PARSER, resumePath);
-        ParsedResume parsedRes  = mapper.readValue(parsedResumeJson, ParsedResume.class);
-        String resumePlainTxt   = runPythonCaptureText(TEXT_EXTRACTOR, resumePath);
-
-        AiService.ScoreBundle scores = null;
-        if (jobId != null) {
-            JobDescription jd = jobRepo.findById(jobId)
-                    .orElseThrow(() -> new IllegalArgumentException("Invalid jobId " + jobId));
-            Path tmp = Files.createTempFile("job-", ".txt");
-            Files.writeString(tmp, jd.getDescriptionText());
-            String parsedJobJson = runPython(JOB_PARSER, tmp.toString());
-            double overlap = parseOverlap(runPythonCaptureText(SEMANTIC_MATCHER, resumePath, tmp.toString()));
-            Files.deleteIfExists(tmp);
-            scores = aiService.scoreResume(resumePlainTxt, jd.getDescriptionText(), parsedResumeJson, parsedJobJson, overlap);
-        }
+    /**
+     * Keyword search over resume text, summary, education and experience, BM25-ranked with
+     * highlighted snippets, e.g. {@code ?q=kubernetes AND fintech}.  503 while the index is rebuilt.
+     */
+    @GetMapping("/text-search")
+    public TextSearchDto<ResumeDto> textSearch(@RequestParam("q") String q,
+                                               @RequestParam(value = "page", defaultValue = "0")  int page,
+                                               @RequestParam(value = "size", defaultValue = "20") int size) {
+        if (q.isBlank() || page < 0 || size < 1 || size > 200)
+            throw new IllegalArgumentException("q must not be blank, page must be >= 0 and size between 1 and 200");
+        TextIndexService.Result found = textIndex.search(Embedding.OwnerType.RESUME, q, page, size);
+
+        Map<Long, Resume> byId = resumeRepo.findAllById(
+                found.hits().stream().map(TextIndexService.Hit::id).toList()).stream()
+                .collect(Collectors.toMap(Resume::getId, r -> r));
+        List<TextSearchDto.Hit<ResumeDto>> hits = found.hits().stream()
+                .filter(h -> byId.containsKey(h.id()))             // deleted since the reader was refreshed
+                .map(h -> new TextSearchDto.Hit<>(toDto(byId.get(h.id()), null), h.score(), h.highlights()))
+                .toList();
+        return new TextSearchDto<>(found.total(), page, size, hits);
+    }
 
-        Resume r = new Resume(file.getOriginalFilename(), candidateName, resumePath);
-        r.setContentType(ct);
-        r.setSize(file.getSize());
-        applyScores(r, scores);
-        if (jobId != null) r.setLastScoredJobId(jobId);
-        r.setEmail(strip(parsedRes.email));
-        r.setPhone(strip(parsedRes.phone_number));
-        r.setSummary(strip(parsedRes.summary));
-        r.setEducation(strip(parsedRes.education));
-        r.setStatus("New");
-
-        Set<String> skillNames = Arrays.stream(parsedRes.skills.split(","))
-                .map(String::trim).filter(s -> !s.isBlank()).collect(Collectors.toSet());
-        r.setSkills(skillService.fetchOrCreateSkills(skillNames));
-        Experience exp = new Experience(); exp.setDescription(parsedRes.work_experience); exp.setResume(r);
-        r.getExperiences().add(exp);
+    private static List<String> nonBlank(List<String> names) {
+        return names.stream().map(String::strip).filter(n -> !n.isEmpty()).toList();
+    }
 
-        Resume saved = resumeRepo.save(r);
-        return toDto(saved, scores);
+    /** Adds the skills the tagger finds in each resume's text, e.g. after new skills or aliases came in. */
+    @PostMapping("/retag")
+    public IngestionService.Retagged retag() {
+        return ingestion.retagAll();
     }
 
+    /**
+     * All resumes with their score for {@code jobId}, or – without a job – the most
+     * recent score each resume got for any job.
+     */
     @GetMapping("/all")
-    public List<Resume> list() {
-        return resumeRepo.findAll();
+    public List<Resume> list(@RequestParam(value = "jobId", required = false) Long jobId) {
+        List<ResumeJobScore> rows = jobId != null ? scoreRepo.findByJobId(jobId) : scoreRepo.findLatestPerResume();
+        Map<Long, ResumeJobScore> byResume = rows.stream()
+                .collect(Collectors.toMap(ResumeJobScore::getResumeId, s -> s, (a, b) -> a));
+        List<Resume> resumes = resumeRepo.findAll();
+        resumes.forEach(r -> ScoringService.applyScores(r, byResume.get(r.getId())));
+        return resumes;
     }
 
     @GetMapping("/{id}/analysis")
-    public ResponseEntity<?> analysis(@PathVariable Long id) {
-        return resumeRepo.findById(id)
-                .<ResponseEntity<?>>map(r -> ResponseEntity.ok(new Object() {
-                    public final double matchScore      = opt(r.getMatchScore());
-                    public final double skillsScore     = opt(r.getSkillsScore());
-                    public final double educationScore  = opt(r.getEducationScore());
-                    public final double experienceScore = opt(r.getExperienceScore());
-                    public final Long   jobId           = r.getLastScoredJobId();
-                }))
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<?> analysis(@PathVariable Long id,
+                                      @RequestParam(value = "jobId", required = false) Long jobId) {
+        if (!resumeRepo.existsById(id)) return ResponseEntity.notFound().build();
+        ResumeJobScore s = (jobId != null
+                ? scoreRepo.findByResumeIdAndJobId(id, jobId)
+                : scoreRepo.findFirstByResumeIdOrderByScoredAtDesc(id)).orElse(null);
+        return ResponseEntity.ok(new Object() {
+            public final double matchScore      = s == null ? 0.0 : s.getFinalScore();
+            public final double skillsScore     = s == null ? 0.0 : s.getSkillsScore();
+            public final double educationScore  = s == null ? 0.0 : s.getEducationScore();
+            public final double experienceScore = s == null ? 0.0 : s.getExperienceScore();
+            public final Long   jobId           = s == null ? null : s.getJobId();
+        });
     }
 
-    private static double opt(Double v) { return v == null ? 0.0 : v; }
-
+    /** Scores a stored resume against a job; a still-valid stored score is returned unless {@code rescore}. */
     @PostMapping(path = "/score", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<ResumeDto> scoreExisting(@RequestParam("resumeId") Long resumeId,
-                                                   @RequestParam("jobId")    Long jobId) throws Exception {
+                                                   @RequestParam("jobId")    Long jobId,
+                                                   @RequestParam(value = "rescore", defaultValue = "false") boolean rescore)
+            throws Exception {
         Resume r  = resumeRepo.findById(resumeId)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid resumeId " + resumeId));
         JobDescription jd = jobRepo.findById(jobId)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid jobId " + jobId));
 
-        String resumePlainTxt   = runPythonCaptureText(TEXT_EXTRACTOR, r.getFilePath());
-        String parsedResumeJson = runPython(RESUME_PARSER, r.getFilePath());
-        String jobTxtFile       = writeTempFile(jd.getDescriptionText());
-        String parsedJobJson    = runPython(JOB_PARSER, jobTxtFile);
-        double overlapScore     = parseOverlap(runPythonCaptureText(SEMANTIC_MATCHER, r.getFilePath(), jobTxtFile));
-
-        AiService.ScoreBundle scores = aiService.scoreResume(
-                resumePlainTxt, jd.getDescriptionText(), parsedResumeJson, parsedJobJson, overlapScore);
-
-        applyScores(r, scores);
-        r.setLastScoredJobId(jobId);
-        resumeRepo.save(r);
+        AiService.ScoreBundle scores = scoring.score(r, jd, rescore);
         return ResponseEntity.ok(toDto(r, scores));
     }
 
-
-    private String writeTempFile(String text) throws IOException {
-        Path tmp = Files.createTempFile("job-", ".txt");
-        Files.writeString(tmp, text, StandardCharsets.UTF_8);
-        return tmp.toString();
-    }
-
-    private double parseOverlap(String json) {
-        try {
-            JsonNode n = JSON.readTree(json);
-            return n.has("Overlap") ? n.get("Overlap").asDouble() : 0.0;
-        } catch (Exception e) {
-            log.warn("Could not parse overlap", e);
-            return 0.0;
-        }
-    }
-
-    private String runPython(String script, String... args) throws IOException, InterruptedException {
-        ProcessBuilder pb = new ProcessBuilder();
-        pb.command().add(PYTHON);
-        pb.command().add(script);
-        pb.command().addAll(List.of(args));
-        pb.redirectErrorStream(true);
-        Process p = pb.start();
-        String out = new String(p.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
-        int exit = p.waitFor();
-        if (exit != 0) throw new RuntimeException(script + " failed: " + out);
-        return out.trim();
-    }
-
-    private String runPythonCaptureText(String script, String... args) throws IOException, InterruptedException {
-        ProcessBuilder pb = new ProcessBuilder();
-        pb.command().add(PYTHON);
-        pb.command().add(script);
-        pb.command().addAll(List.of(args));
-        pb.redirectErrorStream(true);
-        Process p = pb.start();
-        String line, last = null;
-        try (BufferedReader r = new BufferedReader(new InputStreamReader(p.getInputStream()))) {
-            while ((line = r.readLine()) != null) last = line;
-        }
-        if (p.waitFor() != 0) throw new RuntimeException(script + " failed");
-        return last == null ? "" : last.trim();
-    }
-
     private ResumeDto toDto(Resume r, AiService.ScoreBundle scores) {
         Set<String> names = r.getSkills().stream()
                 .map(Skill::getName)
@@ -287,13 +355,4 @@ public class ResumeController {
                 names, r.getStatus()
         );
     }
-
-    private static class ParsedResume {
-        public String email;
-        public String phone_number;
-        public String summary;
-        public String skills;
-        public String work_experience;
-        public String education;
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,21 @@
+package com.yourname.backend.dto;
+
+import java.util.List;
+
+/**
+ * One NDJSON line streamed by /resume/bulk about a single file: {@code stored}, then
+ * {@code done} (with its resume id and scores) or {@code failed}; entries that are not
+ * PDF/DOCX are reported once as {@code skipped}.  {@code index} numbers the files in the
+ * order they were read, across all parts and ZIP entries.
+ */
+public record BulkUploadEventDto(
+        int index,
+        String file,
+        String status,
+        Long resumeId,
+        List<JobScore> scores,
+        String error,
+        long elapsedMs
+) {
+    public record JobScore(Long jobId, double matchScore) { }
+}
@@ -0,0 +1,13 @@
+package com.yourname.backend.dto;
+
+/**
+ * One shortlist entry from /job/{id}/candidates – similarity is the
+ * embedding cosine on the same 0…100 scale as the overlap score.
+ */
+public record CandidateDto(
+        Long resumeId,
+        String candidateName,
+        String fileName,
+        String status,
+        double similarity
+) {}
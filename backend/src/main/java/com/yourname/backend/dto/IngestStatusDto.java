@@ -0,0 +1,13 @@
+package com.yourname.backend.dto;
+
+/**
+ * Progress of an async upload, returned by /resume/upload?async=true (202)
+ * and polled at /resume/{id}/status.
+ */
+public record IngestStatusDto(
+        Long id,
+        String processingStatus,
+        boolean done,
+        Long jobId,
+        String error
+) {}
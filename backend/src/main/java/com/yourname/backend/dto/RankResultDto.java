@@ -0,0 +1,21 @@
+package com.yourname.backend.dto;
+
+/**
+ * One NDJSON line streamed by /job/{id}/rank (also the /job/{id}/scores entries).
+ * Scores are null when the resume could not be scored; {@code error} then says why.
+ * {@code cached} marks a stored score that was reused instead of recomputed.
+ */
+public record RankResultDto(
+        Long resumeId,
+        String candidateName,
+        boolean cached,
+        Double matchScore,
+        Double semanticScore,
+        Double skillsScore,
+        Double educationScore,
+        Double experienceScore,
+        Double overlap,
+        Double llmScore,
+        String error,
+        long elapsedMs
+) {}
@@ -0,0 +1,14 @@
+package com.yourname.backend.dto;
+
+import java.util.List;
+
+/**
+ * One page of /resume/search: {@code total} resumes match, {@code results} is page
+ * {@code page} of them (newest first) with {@code size} per page.
+ */
+public record ResumeSearchDto(
+        int total,
+        int page,
+        int size,
+        List<ResumeDto> results
+) {}
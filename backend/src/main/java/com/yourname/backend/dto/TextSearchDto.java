@@ -0,0 +1,17 @@
+package com.yourname.backend.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of a keyword search, best match first: {@code total} documents match.  Each hit
+ * carries its BM25 score and, per field that matched, a snippet with the terms in {@code <mark>}.
+ */
+public record TextSearchDto<T>(
+        long total,
+        int page,
+        int size,
+        List<Hit<T>> hits
+) {
+    public record Hit<T>(T item, float score, Map<String, String> highlights) {}
+}
@@ -0,0 +1,20 @@
+package com.yourname.backend.embedding;
+
+import java.io.IOException;
+import java.util.List;
+
+/** Turns texts into sentence embeddings. */
+public interface EmbeddingEngine {
+
+    /** Model name stored next to every vector, e.g. all-MiniLM-L6-v2. */
+    String model();
+
+    /** Changes whenever the same text could produce a different vector. */
+    String version();
+
+    List<float[]> embed(List<String> texts) throws IOException, InterruptedException;
+
+    default float[] embed(String text) throws IOException, InterruptedException {
+        return embed(List.of(text)).get(0);
+    }
+}
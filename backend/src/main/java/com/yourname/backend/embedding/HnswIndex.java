@@ -0,0 +1,367 @@
+package com.yourname.backend.embedding;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Hierarchical navigable small-world graph for approximate cosine nearest
+ * neighbours (Malkov &amp; Yashunin).  Vectors are L2-normalised on insert so the
+ * distance is {@code 1 - dot}.
+ * <p>
+ * Removal leaves a tombstone that is still walked through but never returned;
+ * re-adding an id replaces its vector.  Writers take an exclusive lock, searches
+ * share a read lock.
+ */
+public class HnswIndex {
+
+    private static final int MAGIC = 0x484E5357;   // "HNSW"
+    private static final int FORMAT = 1;
+
+    private final int dim;
+    private final int m;
+    private final int m0;
+    private final int efConstruction;
+    private final double levelFactor;
+
+    private final List<Node> nodes = new ArrayList<>();
+    private final Map<Long, Integer> byId = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+    private int deleted;
+
+    /** A search hit: the caller's id and its cosine similarity to the query. */
+    public record Hit(long id, double similarity) { }
+
+    private static final class Node {
+        final long id;
+        final float[] vector;
+        final int[][] links;      // links[level] = neighbour node indices
+        final int[] linkCount;
+        boolean deleted;
+
+        Node(long id, float[] vector, int level, int m, int m0) {
+            this.id = id;
+            this.vector = vector;
+            this.links = new int[level + 1][];
+            this.linkCount = new int[level + 1];
+            for (int l = 0; l <= level; l++) links[l] = new int[l == 0 ? m0 : m];
+        }
+
+        int level() { return links.length - 1; }
+    }
+
+    public HnswIndex(int dim, int m, int efConstruction) {
+        this.dim = dim;
+        this.m = m;
+        this.m0 = 2 * m;
+        this.efConstruction = efConstruction;
+        this.levelFactor = 1 / Math.log(m);
+    }
+
+    public int dim() { return dim; }
+
+    /** Live (non-removed) entries. */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodes.size() - deleted;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Share of the graph that is tombstones – callers rebuild when it gets large. */
+    public double deletedRatio() {
+        lock.readLock().lock();
+        try {
+            return nodes.isEmpty() ? 0 : (double) deleted / nodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            Integer i = byId.get(id);
+            return i != null && !nodes.get(i).deleted;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Set<Long> ids() {
+        lock.readLock().lock();
+        try {
+            Set<Long> ids = new HashSet<>();
+            for (Node n : nodes) if (!n.deleted) ids.add(n.id);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Adds {@code id}, or replaces its vector if it is already indexed. */
+    public void add(long id, float[] vector) {
+        if (vector.length != dim)
+            throw new IllegalArgumentException("Expected " + dim + " dimensions, got " + vector.length);
+        float[] v = normalise(vector);
+        lock.writeLock().lock();
+        try {
+            Integer old = byId.get(id);
+            if (old != null) {
+                Node n = nodes.get(old);
+                if (!n.deleted && Arrays.equals(n.vector, v)) return;
+                if (!n.deleted) { n.deleted = true; deleted++; }
+            }
+            insert(id, v);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer i = byId.get(id);
+            if (i == null || nodes.get(i).deleted) return false;
+            nodes.get(i).deleted = true;
+            deleted++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** The {@code k} live entries closest to {@code query}, best first. */
+    public List<Hit> search(float[] query, int k, int ef) {
+        if (query.length != dim)
+            throw new IllegalArgumentException("Expected " + dim + " dimensions, got " + query.length);
+        float[] q = normalise(query);
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0) return List.of();
+            int ep = entryPoint;
+            for (int l = maxLevel; l > 0; l--) ep = greedy(q, ep, l);
+
+            // tombstones occupy candidate slots, so widen the beam by their share
+            int beam = Math.max(ef, k) + (int) Math.ceil(Math.max(ef, k) * ((double) deleted / nodes.size()));
+            PriorityQueue<Candidate> found = searchLayer(q, ep, beam, 0);
+            List<Candidate> sorted = new ArrayList<>(found);
+            sorted.sort(Comparator.comparingDouble(Candidate::distance));
+            List<Hit> hits = new ArrayList<>(k);
+            for (Candidate c : sorted) {
+                Node n = nodes.get(c.node());
+                if (n.deleted) continue;
+                hits.add(new Hit(n.id, 1 - c.distance()));
+                if (hits.size() == k) break;
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /* ---------------------------------------------------------------- graph */
+
+    private record Candidate(int node, double distance) { }
+
+    private void insert(long id, float[] v) {
+        int level = (int) Math.floor(-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * levelFactor);
+        int idx = nodes.size();
+        Node node = new Node(id, v, level, m, m0);
+        nodes.add(node);
+        byId.put(id, idx);
+
+        if (entryPoint < 0) {
+            entryPoint = idx;
+            maxLevel = level;
+            return;
+        }
+
+        int ep = entryPoint;
+        for (int l = maxLevel; l > level; l--) ep = greedy(v, ep, l);
+
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            PriorityQueue<Candidate> w = searchLayer(v, ep, efConstruction, l);
+            List<Candidate> neighbours = closest(w, l == 0 ? m0 : m);
+            for (Candidate c : neighbours) {
+                link(idx, c.node(), l);
+                link(c.node(), idx, l);
+            }
+            ep = neighbours.isEmpty() ? ep : neighbours.get(0).node();
+        }
+
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = idx;
+        }
+    }
+
+    /** Adds {@code to} to {@code from}'s neighbour list, keeping only the closest when full. */
+    private void link(int from, int to, int level) {
+        Node n = nodes.get(from);
+        int[] links = n.links[level];
+        int count = n.linkCount[level];
+        for (int i = 0; i < count; i++) if (links[i] == to) return;
+        if (count < links.length) {
+            links[count] = to;
+            n.linkCount[level]++;
+            return;
+        }
+        // full: replace the farthest neighbour if the new one is closer
+        int worst = -1;
+        double worstDist = distance(n.vector, nodes.get(to).vector);
+        for (int i = 0; i < count; i++) {
+            double d = distance(n.vector, nodes.get(links[i]).vector);
+            if (d > worstDist) {
+                worstDist = d;
+                worst = i;
+            }
+        }
+        if (worst >= 0) links[worst] = to;
+    }
+
+    private int greedy(float[] q, int ep, int level) {
+        int cur = ep;
+        double curDist = distance(q, nodes.get(cur).vector);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            Node n = nodes.get(cur);
+            if (level > n.level()) break;
+            for (int i = 0; i < n.linkCount[level]; i++) {
+                int nb = n.links[level][i];
+                double d = distance(q, nodes.get(nb).vector);
+                if (d < curDist) {
+                    curDist = d;
+                    cur = nb;
+                    changed = true;
+                }
+            }
+        }
+        return cur;
+    }
+
+    /** Beam search on one layer; returns a max-heap of the best {@code ef} nodes. */
+    private PriorityQueue<Candidate> searchLayer(float[] q, int ep, int ef, int level) {
+        BitSet visited = new BitSet(nodes.size());
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(Comparator.comparingDouble(Candidate::distance));
+        PriorityQueue<Candidate> best = new PriorityQueue<>(Comparator.comparingDouble(Candidate::distance).reversed());
+
+        Candidate start = new Candidate(ep, distance(q, nodes.get(ep).vector));
+        visited.set(ep);
+        candidates.add(start);
+        best.add(start);
+
+        while (!candidates.isEmpty()) {
+            Candidate c = candidates.poll();
+            if (c.distance() > best.peek().distance() && best.size() >= ef) break;
+            Node n = nodes.get(c.node());
+            if (level > n.level()) continue;
+            for (int i = 0; i < n.linkCount[level]; i++) {
+                int nb = n.links[level][i];
+                if (visited.get(nb)) continue;
+                visited.set(nb);
+                double d = distance(q, nodes.get(nb).vector);
+                if (best.size() < ef || d < best.peek().distance()) {
+                    Candidate next = new Candidate(nb, d);
+                    candidates.add(next);
+                    best.add(next);
+                    if (best.size() > ef) best.poll();
+                }
+            }
+        }
+        return best;
+    }
+
+    private static List<Candidate> closest(PriorityQueue<Candidate> heap, int n) {
+        List<Candidate> all = new ArrayList<>(heap);
+        all.sort(Comparator.comparingDouble(Candidate::distance));
+        return all.size() > n ? all.subList(0, n) : all;
+    }
+
+    private static double distance(float[] a, float[] b) {
+        double dot = 0;
+        for (int i = 0; i < a.length; i++) dot += a[i] * b[i];
+        return 1 - dot;
+    }
+
+    private static float[] normalise(float[] v) {
+        double norm = 0;
+        for (float x : v) norm += x * x;
+        norm = Math.sqrt(norm);
+        float[] out = new float[v.length];
+        if (norm == 0) return out;
+        for (int i = 0; i < v.length; i++) out[i] = (float) (v[i] / norm);
+        return out;
+    }
+
+    /* ------------------------------------------------------------- snapshot */
+
+    /**
+     * Writes the graph (live and removed nodes, links and entry point) after a
+     * caller-supplied header, e.g. the model name and version.
+     */
+    public void write(DataOutputStream out, String header) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            out.writeUTF(header);
+            out.writeInt(dim);
+            out.writeInt(m);
+            out.writeInt(efConstruction);
+            out.writeInt(nodes.size());
+            out.writeInt(entryPoint);
+            out.writeInt(maxLevel);
+            for (Node n : nodes) {
+                out.writeLong(n.id);
+                out.writeBoolean(n.deleted);
+                out.writeInt(n.level());
+                for (float f : n.vector) out.writeFloat(f);
+                for (int l = 0; l <= n.level(); l++) {
+                    out.writeInt(n.linkCount[l]);
+                    for (int i = 0; i < n.linkCount[l]; i++) out.writeInt(n.links[l][i]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Header written by {@link #write}, or null if the stream is not an index snapshot. */
+    public static String readHeader(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT) return null;
+        return in.readUTF();
+    }
+
+    /** Reads the rest of a snapshot after {@link #readHeader}. */
+    public static HnswIndex read(DataInputStream in) throws IOException {
+        HnswIndex idx = new HnswIndex(in.readInt(), in.readInt(), in.readInt());
+        int count = in.readInt();
+        idx.entryPoint = in.readInt();
+        idx.maxLevel = in.readInt();
+        for (int k = 0; k < count; k++) {
+            long id = in.readLong();
+            boolean deleted = in.readBoolean();
+            int level = in.readInt();
+            float[] v = new float[idx.dim];
+            for (int i = 0; i < v.length; i++) v[i] = in.readFloat();
+            Node n = new Node(id, v, level, idx.m, idx.m0);
+            for (int l = 0; l <= level; l++) {
+                n.linkCount[l] = in.readInt();
+                for (int i = 0; i < n.linkCount[l]; i++) n.links[l][i] = in.readInt();
+            }
+            n.deleted = deleted;
+            idx.nodes.add(n);
+            if (deleted) idx.deleted++;
+            else idx.byId.put(id, k);
+        }
+        return idx;
+    }
+}
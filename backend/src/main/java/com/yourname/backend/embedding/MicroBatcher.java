@@ -0,0 +1,93 @@
+package com.yourname.backend.embedding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces single-item requests from many threads into batches run by one
+ * dispatcher thread.  A batch closes when it reaches {@code maxBatch} items or
+ * {@code maxWait} after its first item arrived, whichever comes first.
+ */
+public class MicroBatcher<I, O> implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(MicroBatcher.class);
+
+    @FunctionalInterface
+    public interface BatchFunction<I, O> {
+        /** Must return exactly one output per input, in order. */
+        List<O> apply(List<I> inputs) throws Exception;
+    }
+
+    private record Pending<I, O>(I input, CompletableFuture<O> result) { }
+
+    private final BlockingQueue<Pending<I, O>> queue = new LinkedBlockingQueue<>();
+    private final BatchFunction<I, O> fn;
+    private final int maxBatch;
+    private final long maxWaitNanos;
+    private final Thread dispatcher;
+    private volatile boolean closed;
+
+    public MicroBatcher(String name, int maxBatch, Duration maxWait, BatchFunction<I, O> fn) {
+        this.fn = fn;
+        this.maxBatch = Math.max(1, maxBatch);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.dispatcher = new Thread(this::loop, name + "-batcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    public CompletableFuture<O> submit(I input) {
+        if (closed) return CompletableFuture.failedFuture(new IllegalStateException("batcher closed"));
+        CompletableFuture<O> f = new CompletableFuture<>();
+        queue.add(new Pending<>(input, f));
+        return f;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        dispatcher.interrupt();
+        Pending<I, O> p;
+        while ((p = queue.poll()) != null) p.result().completeExceptionally(new IllegalStateException("batcher closed"));
+    }
+
+    private void loop() {
+        List<Pending<I, O>> batch = new ArrayList<>(maxBatch);
+        while (!closed) {
+            try {
+                Pending<I, O> first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatch) {
+                    Pending<I, O> next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                batch.forEach(p -> p.result().completeExceptionally(e));
+                return;
+            }
+            run(batch);
+            batch.clear();
+        }
+    }
+
+    private void run(List<Pending<I, O>> batch) {
+        try {
+            List<O> out = fn.apply(batch.stream().map(Pending::input).toList());
+            for (int i = 0; i < batch.size(); i++) batch.get(i).result().complete(out.get(i));
+        } catch (Exception e) {
+            log.warn("Batch of {} failed: {}", batch.size(), e.getMessage());
+            batch.forEach(p -> p.result().completeExceptionally(e));
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.yourname.backend.embedding;
+
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OnnxValue;
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+import com.yourname.backend.util.HashUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Runs a sentence model in-process with ONNX Runtime – no Python, no network.
+ * <p>
+ * {@code embedding.onnx.model-dir} must hold {@code model.onnx} (a transformer
+ * export such as {@code optimum-cli export onnx --model sentence-transformers/all-MiniLM-L6-v2})
+ * and its {@code vocab.txt}.  Token embeddings are mean-pooled over the attention
+ * mask and L2-normalised, matching the sentence-transformers pipeline.  Concurrent
+ * callers are coalesced into batches by a {@link MicroBatcher}.
+ */
+@Component
+@ConditionalOnProperty(name = "embedding.engine", havingValue = "onnx")
+public class OnnxEmbeddingEngine implements EmbeddingEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(OnnxEmbeddingEngine.class);
+
+    @Value("${embedding.model:all-MiniLM-L6-v2}")
+    private String model;
+
+    @Value("${embedding.onnx.model-dir}")
+    private String modelDir;
+
+    @Value("${embedding.onnx.max-length:256}")
+    private int maxLength;
+
+    @Value("${embedding.onnx.lowercase:true}")
+    private boolean lowercase;
+
+    @Value("${embedding.onnx.normalize:true}")
+    private boolean normalize;
+
+    @Value("${embedding.onnx.max-batch:16}")
+    private int maxBatch;
+
+    @Value("${embedding.onnx.max-wait-ms:5}")
+    private long maxWaitMs;
+
+    @Value("${embedding.onnx.threads:0}")
+    private int threads;
+
+    private OrtEnvironment env;
+    private OrtSession session;
+    private WordPieceTokenizer tokenizer;
+    private MicroBatcher<String, float[]> batcher;
+    private boolean tokenTypes;
+    private String version;
+
+    @PostConstruct
+    void init() throws IOException, OrtException {
+        Path dir = Path.of(modelDir);
+        Path modelFile = dir.resolve("model.onnx");
+        Path vocabFile = dir.resolve("vocab.txt");
+        if (!Files.isRegularFile(modelFile) || !Files.isRegularFile(vocabFile))
+            throw new IllegalStateException("embedding.onnx.model-dir " + dir.toAbsolutePath()
+                    + " must contain model.onnx and vocab.txt");
+
+        env = OrtEnvironment.getEnvironment();
+        try (OrtSession.SessionOptions opts = new OrtSession.SessionOptions()) {
+            opts.setOptimizationLevel(OrtSession.SessionOptions.OptLevel.ALL_OPT);
+            if (threads > 0) opts.setIntraOpNumThreads(threads);
+            session = env.createSession(modelFile.toString(), opts);
+        }
+        tokenizer  = WordPieceTokenizer.load(vocabFile, lowercase);
+        tokenTypes = session.getInputNames().contains("token_type_ids");
+        version    = HashUtils.sha256(modelFile).substring(0, 12);
+        batcher    = new MicroBatcher<>("onnx-embed", maxBatch, Duration.ofMillis(maxWaitMs), this::infer);
+        log.info("ONNX embedding engine: {} ({}) from {}, inputs {}", model, version, dir, session.getInputNames());
+    }
+
+    @PreDestroy
+    void close() throws OrtException {
+        if (batcher != null) batcher.close();
+        if (session != null) session.close();
+    }
+
+    @Override public String model()   { return model; }
+    @Override public String version() { return version; }
+
+    @Override
+    public List<float[]> embed(List<String> texts) throws IOException, InterruptedException {
+        List<CompletableFuture<float[]>> futures = texts.stream().map(batcher::submit).toList();
+        List<float[]> out = new ArrayList<>(texts.size());
+        try {
+            for (CompletableFuture<float[]> f : futures) out.add(f.get());
+        } catch (ExecutionException e) {
+            throw new IOException("ONNX embedding failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        return out;
+    }
+
+    /** One forward pass over a padded batch. */
+    private List<float[]> infer(List<String> texts) throws OrtException {
+        int n = texts.size();
+        int[][] ids = new int[n][];
+        int len = 0;
+        for (int i = 0; i < n; i++) {
+            ids[i] = tokenizer.encode(texts.get(i), maxLength);
+            len = Math.max(len, ids[i].length);
+        }
+        long[][] inputIds = new long[n][len];
+        long[][] mask     = new long[n][len];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < ids[i].length; j++) {
+                inputIds[i][j] = ids[i][j];
+                mask[i][j] = 1;
+            }
+        }
+
+        Map<String, OnnxTensor> inputs = new HashMap<>();
+        try {
+            inputs.put("input_ids", OnnxTensor.createTensor(env, inputIds));
+            inputs.put("attention_mask", OnnxTensor.createTensor(env, mask));
+            if (tokenTypes) inputs.put("token_type_ids", OnnxTensor.createTensor(env, new long[n][len]));
+            try (OrtSession.Result result = session.run(inputs)) {
+                return pool(result.get(0), mask);
+            }
+        } finally {
+            inputs.values().forEach(OnnxTensor::close);
+        }
+    }
+
+    /** Mean-pools token states (exports that already pool return [batch, dim] and are used as-is). */
+    private List<float[]> pool(OnnxValue output, long[][] mask) throws OrtException {
+        Object value = output.getValue();
+        List<float[]> out = new ArrayList<>(mask.length);
+        if (value instanceof float[][] pooled) {
+            for (float[] v : pooled) out.add(normalize ? l2(v) : v);
+            return out;
+        }
+        float[][][] hidden = (float[][][]) value;
+        for (int i = 0; i < hidden.length; i++) {
+            float[] sum = new float[hidden[i][0].length];
+            int count = 0;
+            for (int t = 0; t < hidden[i].length; t++) {
+                if (mask[i][t] == 0) continue;
+                float[] tok = hidden[i][t];
+                for (int d = 0; d < sum.length; d++) sum[d] += tok[d];
+                count++;
+            }
+            for (int d = 0; d < sum.length; d++) sum[d] /= Math.max(count, 1);
+            out.add(normalize ? l2(sum) : sum);
+        }
+        return out;
+    }
+
+    private static float[] l2(float[] v) {
+        double norm = 0;
+        for (float x : v) norm += x * x;
+        norm = Math.sqrt(norm);
+        if (norm == 0) return v;
+        for (int i = 0; i < v.length; i++) v[i] /= (float) norm;
+        return v;
+    }
+}
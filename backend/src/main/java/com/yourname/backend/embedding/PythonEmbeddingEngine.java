@@ -0,0 +1,68 @@
+package com.yourname.backend.embedding;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.yourname.backend.exceptions.PythonScriptException;
+import com.yourname.backend.python.PythonBridge;
+import com.yourname.backend.util.HashUtils;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Encodes with sentence-transformers via embedder.py (warm in the python worker pool). */
+@Component
+@ConditionalOnProperty(name = "embedding.engine", havingValue = "python", matchIfMissing = true)
+public class PythonEmbeddingEngine implements EmbeddingEngine {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final PythonBridge python;
+
+    @Value("${python.embedder}")
+    private String EMBEDDER;
+
+    @Value("${embedding.model:all-MiniLM-L6-v2}")
+    private String model;
+
+    private String version;
+
+    public PythonEmbeddingEngine(PythonBridge python) {
+        this.python = python;
+    }
+
+    @PostConstruct
+    void init() {
+        version = HashUtils.scriptVersion(EMBEDDER);
+    }
+
+    @Override public String model()   { return model; }
+    @Override public String version() { return version; }
+
+    @Override
+    public List<float[]> embed(List<String> texts) throws IOException, InterruptedException {
+        ObjectNode req = JSON.createObjectNode();
+        req.put("model", model);
+        ArrayNode arr = req.putArray("texts");
+        texts.forEach(arr::add);
+
+        JsonNode resp = JSON.readTree(python.call(EMBEDDER, JSON.writeValueAsString(req)).lastLine());
+        JsonNode vectors = resp.path("vectors");
+        if (vectors.size() != texts.size())
+            throw new PythonScriptException("embedder returned " + vectors.size() + " vectors for " + texts.size() + " texts");
+
+        List<float[]> out = new ArrayList<>(texts.size());
+        for (JsonNode v : vectors) {
+            float[] f = new float[v.size()];
+            for (int i = 0; i < f.length; i++) f[i] = (float) v.get(i).asDouble();
+            out.add(f);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,149 @@
+package com.yourname.backend.embedding;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * BERT WordPiece tokenizer driven by a {@code vocab.txt}, equivalent to the
+ * HuggingFace BertTokenizer used by the MiniLM sentence models: basic
+ * clean-up and punctuation splitting, optional lower-casing with accent
+ * stripping, then greedy longest-match sub-words with the {@code ##} prefix.
+ */
+public class WordPieceTokenizer {
+
+    private static final int MAX_CHARS_PER_WORD = 100;
+
+    private final Map<String, Integer> vocab;
+    private final boolean lowercase;
+    private final int cls, sep, unk;
+
+    public WordPieceTokenizer(Map<String, Integer> vocab, boolean lowercase) {
+        this.vocab = vocab;
+        this.lowercase = lowercase;
+        this.cls = id("[CLS]");
+        this.sep = id("[SEP]");
+        this.unk = id("[UNK]");
+    }
+
+    public static WordPieceTokenizer load(Path vocabFile, boolean lowercase) throws IOException {
+        Map<String, Integer> vocab = new HashMap<>();
+        try (BufferedReader r = Files.newBufferedReader(vocabFile, StandardCharsets.UTF_8)) {
+            String line;
+            int i = 0;
+            while ((line = r.readLine()) != null) vocab.putIfAbsent(line.strip(), i++);
+        }
+        return new WordPieceTokenizer(vocab, lowercase);
+    }
+
+    /** {@code [CLS] tokens... [SEP]}, truncated to {@code maxLength} ids in total. */
+    public int[] encode(String text, int maxLength) {
+        List<Integer> ids = new ArrayList<>();
+        ids.add(cls);
+        for (String word : basicTokens(text)) {
+            for (int piece : wordPieces(word)) {
+                if (ids.size() >= maxLength - 1) break;
+                ids.add(piece);
+            }
+            if (ids.size() >= maxLength - 1) break;
+        }
+        ids.add(sep);
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    List<String> basicTokens(String text) {
+        List<String> out = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        String s = lowercase ? stripAccents(text.toLowerCase(Locale.ROOT)) : text;
+        for (int i = 0; i < s.length(); ) {
+            int cp = s.codePointAt(i);
+            i += Character.charCount(cp);
+            if (cp == 0 || cp == 0xFFFD || isControl(cp)) continue;
+            if (Character.isWhitespace(cp) || Character.isSpaceChar(cp)) {
+                flush(word, out);
+            } else if (isPunctuation(cp) || isCjk(cp)) {
+                flush(word, out);
+                out.add(new String(Character.toChars(cp)));
+            } else {
+                word.appendCodePoint(cp);
+            }
+        }
+        flush(word, out);
+        return out;
+    }
+
+    private List<Integer> wordPieces(String word) {
+        if (word.codePointCount(0, word.length()) > MAX_CHARS_PER_WORD) return List.of(unk);
+        List<Integer> pieces = new ArrayList<>();
+        int start = 0;
+        while (start < word.length()) {
+            int end = word.length();
+            Integer match = null;
+            while (start < end) {
+                String sub = (start > 0 ? "##" : "") + word.substring(start, end);
+                match = vocab.get(sub);
+                if (match != null) break;
+                end = word.offsetByCodePoints(end, -1);
+            }
+            if (match == null) return List.of(unk);
+            pieces.add(match);
+            start = end;
+        }
+        return pieces;
+    }
+
+    private int id(String token) {
+        Integer id = vocab.get(token);
+        if (id == null) throw new IllegalArgumentException("vocab.txt has no " + token + " token");
+        return id;
+    }
+
+    private static void flush(StringBuilder word, List<String> out) {
+        if (!word.isEmpty()) {
+            out.add(word.toString());
+            word.setLength(0);
+        }
+    }
+
+    private static String stripAccents(String s) {
+        String nfd = Normalizer.normalize(s, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(nfd.length());
+        nfd.codePoints()
+                .filter(cp -> Character.getType(cp) != Character.NON_SPACING_MARK)
+                .forEach(sb::appendCodePoint);
+        return sb.toString();
+    }
+
+    private static boolean isControl(int cp) {
+        if (cp == '\t' || cp == '\n' || cp == '\r') return false;
+        int t = Character.getType(cp);
+        return t == Character.CONTROL || t == Character.FORMAT;
+    }
+
+    /** ASCII symbols count as punctuation too, as in BERT's _is_punctuation. */
+    private static boolean isPunctuation(int cp) {
+        if ((cp >= 33 && cp <= 47) || (cp >= 58 && cp <= 64) || (cp >= 91 && cp <= 96) || (cp >= 123 && cp <= 126))
+            return true;
+        return switch (Character.getType(cp)) {
+            case Character.CONNECTOR_PUNCTUATION, Character.DASH_PUNCTUATION, Character.START_PUNCTUATION,
+                 Character.END_PUNCTUATION, Character.INITIAL_QUOTE_PUNCTUATION,
+                 Character.FINAL_QUOTE_PUNCTUATION, Character.OTHER_PUNCTUATION -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean isCjk(int cp) {
+        return (cp >= 0x4E00 && cp <= 0x9FFF) || (cp >= 0x3400 && cp <= 0x4DBF)
+                || (cp >= 0x20000 && cp <= 0x2A6DF) || (cp >= 0x2A700 && cp <= 0x2B73F)
+                || (cp >= 0x2B740 && cp <= 0x2B81F) || (cp >= 0x2B820 && cp <= 0x2CEAF)
+                || (cp >= 0xF900 && cp <= 0xFAFF) || (cp >= 0x2F800 && cp <= 0x2FA1F);
+    }
+}
@@ -0,0 +1,76 @@
+package com.yourname.backend.entities;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sentence embedding of a resume's or job's text for one model.
+ * The vector is stored as little-endian float32 bytes (see VectorMath).
+ */
+@Entity
+@Table(name = "embeddings",
+        uniqueConstraints = @UniqueConstraint(name = "uq_embeddings_owner_model",
+                columnNames = {"owner_type", "owner_id", "model"}))
+public class Embedding {
+
+    public enum OwnerType { RESUME, JOB }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private OwnerType ownerType;
+
+    @Column(nullable = false)
+    private Long ownerId;
+
+    @Column(nullable = false, length = 128)
+    private String model;
+
+    @Column(nullable = false, length = 32)
+    private String modelVersion;
+
+    @Column(nullable = false)
+    private int dim;
+
+    /* sha256 of the exact text that was encoded */
+    @Column(nullable = false, length = 64)
+    private String textHash;
+
+    @Column(nullable = false, columnDefinition = "bytea")
+    private byte[] vector;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public Embedding() {}
+
+    public Embedding(OwnerType ownerType, Long ownerId, String model) {
+        this.ownerType = ownerType;
+        this.ownerId = ownerId;
+        this.model = model;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() { return id; }
+    public OwnerType getOwnerType() { return ownerType; }
+    public Long getOwnerId() { return ownerId; }
+    public String getModel() { return model; }
+    public String getModelVersion() { return modelVersion; }
+    public void setModelVersion(String modelVersion) { this.modelVersion = modelVersion; }
+    public int getDim() { return dim; }
+    public void setDim(int dim) { this.dim = dim; }
+    public String getTextHash() { return textHash; }
+    public void setTextHash(String textHash) { this.textHash = textHash; }
+    public byte[] getVector() { return vector; }
+    public void setVector(byte[] vector) { this.vector = vector; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -1,6 +1,9 @@
 package com.yourname.backend.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import java.util.HashSet;
 import java.util.Set;
 
@@ -43,9 +46,17 @@ public class JobDescription {
     private String responsibilities;
 
     /* (optional) raw JSON that came back from your OpenAI parser */
+    @JdbcTypeCode(SqlTypes.JSON)
     @Column(columnDefinition = "jsonb")
     private String parsedJson;
 
+    /* SHA-256 of descriptionText and parser script version parsedJson was built from */
+    @Column(length = 64)
+    private String descriptionHash;
+
+    @Column(length = 32)
+    private String parserVersion;
+
     @Column(nullable = false)
     private String status;
 
@@ -82,6 +93,12 @@ public class JobDescription {
     public String getParsedJson() { return parsedJson; }
     public void setParsedJson(String parsedJson) { this.parsedJson = parsedJson; }
 
+    public String getDescriptionHash() { return descriptionHash; }
+    public void setDescriptionHash(String descriptionHash) { this.descriptionHash = descriptionHash; }
+
+    public String getParserVersion() { return parserVersion; }
+    public void setParserVersion(String parserVersion) { this.parserVersion = parserVersion; }
+
     public String getSummary() { return summary; }
     public void   setSummary(String summary) { this.summary = summary; }
 
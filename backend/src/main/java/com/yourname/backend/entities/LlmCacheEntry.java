@@ -0,0 +1,56 @@
+package com.yourname.backend.entities;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One cached LLM reply.  The key is the SHA-256 of the model, the prompt
+ * template version and the prompt inputs (see LlmCacheService).
+ */
+@Entity
+@Table(name = "llm_cache",
+        indexes = {
+                @Index(name = "idx_llm_cache_expires_at", columnList = "expires_at"),
+                @Index(name = "idx_llm_cache_model", columnList = "model, prompt_version")
+        })
+public class LlmCacheEntry {
+
+    @Id
+    @Column(length = 64)
+    private String cacheKey;
+
+    @Column(nullable = false, length = 64)
+    private String model;
+
+    @Column(nullable = false, length = 32)
+    private String promptVersion;
+
+    /* the assistant message content, exactly as returned */
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String response;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    public LlmCacheEntry() {}
+
+    public LlmCacheEntry(String cacheKey, String model, String promptVersion, String response, LocalDateTime expiresAt) {
+        this.cacheKey = cacheKey;
+        this.model = model;
+        this.promptVersion = promptVersion;
+        this.response = response;
+        this.createdAt = LocalDateTime.now();
+        this.expiresAt = expiresAt;
+    }
+
+    public String getCacheKey() { return cacheKey; }
+    public String getModel() { return model; }
+    public String getPromptVersion() { return promptVersion; }
+    public String getResponse() { return response; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+}
@@ -1,6 +1,10 @@
 package com.yourname.backend.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -9,9 +13,16 @@ import static jakarta.persistence.CascadeType.PERSIST;
 
 
 @Entity
-@Table(name = "resumes")
+@Table(name = "resumes",
+        indexes = {
+                @Index(name = "idx_resumes_content_hash", columnList = "content_hash, parser_version"),
+                @Index(name = "idx_resumes_processing_status", columnList = "processing_status")
+        })
 public class Resume {
 
+    /** Stage reached by the async upload pipeline; null for resumes uploaded synchronously before it existed. */
+    public enum ProcessingStatus { STORED, EXTRACTED, PARSED, SCORED, FAILED }
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -19,13 +30,6 @@ public class Resume {
     private String fileName;
     private String candidateName;
     private LocalDateTime uploadDate;
-    private Double semanticScore;      // overall text-similarity %
-    private Double skillsScore;        // skills %
-    private Double educationScore;     // education %
-    private Double experienceScore;    // experience %
-    private Double overlap;            // raw embeddings overlap %
-    private Double llmScore;           // OpenAI “human-like” score %
-    private Long lastScoredJobId;
 
     private String filePath; // Path where the file is stored
 
@@ -38,14 +42,51 @@ public class Resume {
     @Column(nullable = false)
     private long size; // file size in bytes
 
-    @Column(nullable = true) // Score might not be calculated immediately
-    private Double matchScore; // Score from 0.0 to 100.0
+    /* scores live in resume_job_scores, one row per job; these are filled in
+       by the list/analysis endpoints for whichever job they were asked about */
+    @Transient private Double matchScore;         // Score from 0.0 to 100.0
+    @Transient private Double semanticScore;      // overall text-similarity %
+    @Transient private Double skillsScore;        // skills %
+    @Transient private Double educationScore;     // education %
+    @Transient private Double experienceScore;    // experience %
+    @Transient private Double overlap;            // raw embeddings overlap %
+    @Transient private Double llmScore;           // OpenAI “human-like” score %
+    @Transient private Long scoredJobId;
 
     @Column(length = 320)                 private String email;
     @Column(length = 32)                  private String phone;
     @Column(columnDefinition = "text")    private String summary;
     @Column(length = 256)                  private String education;
 
+    /* text extracted from the stored file at upload; not sent with list payloads */
+    @JsonIgnore
+    @Column(columnDefinition = "text")
+    private String plainText;
+
+    /* full ResumeParser.py output, valid for this file content + parser version */
+    @JsonIgnore
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private String parsedJson;
+
+    @JsonIgnore
+    @Column(length = 64)
+    private String contentHash;
+
+    @JsonIgnore
+    @Column(length = 32)
+    private String parserVersion;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private ProcessingStatus processingStatus;
+
+    @Column(columnDefinition = "text")
+    private String processingError;
+
+    /* job an async upload asked to be scored against */
+    private Long scoreJobId;
+
     @ManyToMany(cascade = {PERSIST, MERGE})
     @JoinTable(name = "resume_skills",
             joinColumns  = @JoinColumn(name="resume_id"),
@@ -211,10 +252,52 @@ public class Resume {
     public void setLlmmScore(Double llmScore) {
         this.llmScore = llmScore;
     }
-    public Long getLastScoredJobId() {
-        return lastScoredJobId;
+    public String getPlainText() {
+        return plainText;
+    }
+    public void setPlainText(String plainText) {
+        this.plainText = plainText;
+    }
+    public String getParsedJson() {
+        return parsedJson;
+    }
+    public void setParsedJson(String parsedJson) {
+        this.parsedJson = parsedJson;
+    }
+    public String getContentHash() {
+        return contentHash;
+    }
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+    public String getParserVersion() {
+        return parserVersion;
+    }
+    public void setParserVersion(String parserVersion) {
+        this.parserVersion = parserVersion;
+    }
+    public ProcessingStatus getProcessingStatus() {
+        return processingStatus;
+    }
+    public void setProcessingStatus(ProcessingStatus processingStatus) {
+        this.processingStatus = processingStatus;
+    }
+    public String getProcessingError() {
+        return processingError;
+    }
+    public void setProcessingError(String processingError) {
+        this.processingError = processingError;
+    }
+    public Long getScoreJobId() {
+        return scoreJobId;
+    }
+    public void setScoreJobId(Long scoreJobId) {
+        this.scoreJobId = scoreJobId;
+    }
+    public Long getScoredJobId() {
+        return scoredJobId;
     }
-    public void setLastScoredJobId(Long lastScoredJobId) {
-        this.lastScoredJobId = lastScoredJobId;
+    public void setScoredJobId(Long scoredJobId) {
+        this.scoredJobId = scoredJobId;
     }
 }
\ No newline at end of file
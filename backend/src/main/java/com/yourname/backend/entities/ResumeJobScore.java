@@ -0,0 +1,79 @@
+package com.yourname.backend.entities;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Scores of one resume against one job.  A row stays valid while the resume
+ * content, the job description and the scorer version it was computed with
+ * are unchanged.
+ */
+@Entity
+@Table(name = "resume_job_scores",
+        uniqueConstraints = @UniqueConstraint(name = "uq_resume_job_scores",
+                columnNames = {"resume_id", "job_id"}),
+        indexes = @Index(name = "idx_resume_job_scores_job_final", columnList = "job_id, final_score DESC"))
+public class ResumeJobScore {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long resumeId;
+
+    @Column(nullable = false)
+    private Long jobId;
+
+    private double finalScore;
+    private double semanticScore;
+    private double skillsScore;
+    private double educationScore;
+    private double experienceScore;
+    private double overlap;
+    private double llmScore;
+
+    @Column(nullable = false, length = 32)
+    private String scorerVersion;
+
+    /* inputs the scores were computed from */
+    @Column(length = 64) private String resumeHash;
+    @Column(length = 64) private String jobHash;
+
+    @Column(nullable = false)
+    private LocalDateTime scoredAt;
+
+    public ResumeJobScore() {}
+
+    public ResumeJobScore(Long resumeId, Long jobId) {
+        this.resumeId = resumeId;
+        this.jobId = jobId;
+    }
+
+    public Long getId() { return id; }
+    public Long getResumeId() { return resumeId; }
+    public Long getJobId() { return jobId; }
+    public double getFinalScore() { return finalScore; }
+    public void setFinalScore(double finalScore) { this.finalScore = finalScore; }
+    public double getSemanticScore() { return semanticScore; }
+    public void setSemanticScore(double semanticScore) { this.semanticScore = semanticScore; }
+    public double getSkillsScore() { return skillsScore; }
+    public void setSkillsScore(double skillsScore) { this.skillsScore = skillsScore; }
+    public double getEducationScore() { return educationScore; }
+    public void setEducationScore(double educationScore) { this.educationScore = educationScore; }
+    public double getExperienceScore() { return experienceScore; }
+    public void setExperienceScore(double experienceScore) { this.experienceScore = experienceScore; }
+    public double getOverlap() { return overlap; }
+    public void setOverlap(double overlap) { this.overlap = overlap; }
+    public double getLlmScore() { return llmScore; }
+    public void setLlmScore(double llmScore) { this.llmScore = llmScore; }
+    public String getScorerVersion() { return scorerVersion; }
+    public void setScorerVersion(String scorerVersion) { this.scorerVersion = scorerVersion; }
+    public String getResumeHash() { return resumeHash; }
+    public void setResumeHash(String resumeHash) { this.resumeHash = resumeHash; }
+    public String getJobHash() { return jobHash; }
+    public void setJobHash(String jobHash) { this.jobHash = jobHash; }
+    public LocalDateTime getScoredAt() { return scoredAt; }
+    public void setScoredAt(LocalDateTime scoredAt) { this.scoredAt = scoredAt; }
+}
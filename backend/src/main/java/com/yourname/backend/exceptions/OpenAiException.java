@@ -0,0 +1,22 @@
+package com.yourname.backend.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when the OpenAI API cannot produce a score: a non-retryable error, retries
+ * exhausted on 429/5xx/network errors, or a reply without a number in it.
+ *
+ * Mapped to HTTP 502 since the failure is upstream.
+ */
+@ResponseStatus(HttpStatus.BAD_GATEWAY)
+public class OpenAiException extends RuntimeException {
+
+    public OpenAiException(String message) {
+        super(message);
+    }
+
+    public OpenAiException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,18 @@
+package com.yourname.backend.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when too many calls are already queued for a Python script,
+ * so the request is rejected instead of forking yet another interpreter.
+ *
+ * Mapped to HTTP 503 so clients know to retry later.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PythonBusyException extends RuntimeException {
+
+    public PythonBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,24 @@
+package com.yourname.backend.exceptions;
+
+/**
+ * Thrown when a Python script run through the PythonBridge fails:
+ * non-zero exit, wall-clock timeout, or more output than allowed.
+ */
+public class PythonScriptException extends RuntimeException {
+
+    private final boolean timeout;
+
+    public PythonScriptException(String message) {
+        this(message, false);
+    }
+
+    public PythonScriptException(String message, boolean timeout) {
+        super(message);
+        this.timeout = timeout;
+    }
+
+    /** @return true if the script was killed for running past its time limit */
+    public boolean isTimeout() {
+        return timeout;
+    }
+}
@@ -0,0 +1,354 @@
+package com.yourname.backend.python;
+
+import com.yourname.backend.exceptions.PythonBusyException;
+import com.yourname.backend.exceptions.PythonScriptException;
+import com.yourname.backend.util.Threads;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The one place the backend runs Python scripts.
+ * <p>
+ * Every script gets its own lane with a concurrency cap and a bounded wait queue,
+ * so a burst of uploads queues (or is rejected with 503) instead of forking hundreds
+ * of interpreters.  Runs are killed after a wall-clock timeout, stdout and stderr are
+ * captured separately (stderr never ends up in the JSON we parse) and stdout is size
+ * capped.  When the {@link PythonWorkerPool} is enabled the run happens in a warm
+ * worker, otherwise in a fresh process under optional ulimits.
+ * <p>
+ * Limits are configured globally under {@code python.bridge.*} and can be overridden
+ * per script (file name without .py), e.g.
+ * {@code python.bridge.limits.ResumeParser.max-concurrent=2}.
+ */
+@Service
+public class PythonBridge {
+
+    private static final Logger log = LoggerFactory.getLogger(PythonBridge.class);
+    private static final int STDERR_TAIL_BYTES = 64 * 1024;
+
+    private final PythonWorkerPool workers;
+    private final MeterRegistry meters;
+    private final Environment env;
+    private ExecutorService pumps;
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    @Value("${ai.python-executable:python3}")
+    private String PYTHON;
+
+    @Value(Threads.VIRTUAL)
+    private boolean virtualThreads;
+
+    @Value("${python.bridge.max-concurrent:4}")
+    private int defaultMaxConcurrent;
+
+    @Value("${python.bridge.timeout-seconds:300}")
+    private long defaultTimeoutSeconds;
+
+    @Value("${python.bridge.max-queue:64}")
+    private int maxQueue;
+
+    @Value("${python.bridge.queue-timeout-seconds:120}")
+    private long queueTimeoutSeconds;
+
+    @Value("${python.bridge.max-output-bytes:8388608}")
+    private int maxOutputBytes;
+
+    @Value("${python.bridge.ulimit.memory-mb:0}")
+    private long memoryLimitMb;
+
+    @Value("${python.bridge.ulimit.cpu-seconds:0}")
+    private long cpuLimitSeconds;
+
+    public PythonBridge(PythonWorkerPool workers, MeterRegistry meters, Environment env) {
+        this.workers = workers;
+        this.meters  = meters;
+        this.env     = env;
+    }
+
+    @PostConstruct
+    void init() {
+        // pumps only block on pipe reads, so in virtual-thread mode they cost no platform thread
+        pumps = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Threads.factory("py-bridge-pump", true))
+                : Executors.newCachedThreadPool(Threads.factory("py-bridge-pump", false));
+    }
+
+    /** Output of one script run. */
+    public record Result(String stdout, String stderr, long elapsedMs) {
+
+        /** Last non-blank stdout line – the scripts print their JSON result last. */
+        public String lastLine() {
+            String[] lines = stdout.strip().split("\\R");
+            return lines[lines.length - 1].trim();
+        }
+    }
+
+    /** Runs {@code script args...} and returns its whole stdout, trimmed. */
+    public String run(String script, String... args) throws IOException, InterruptedException {
+        return call(script, null, args).stdout().trim();
+    }
+
+    /** Runs {@code script args...} and returns the last line it printed. */
+    public String runLastLine(String script, String... args) throws IOException, InterruptedException {
+        return call(script, null, args).lastLine();
+    }
+
+    /**
+     * Runs {@code script args...} with {@code stdin} piped in, honouring the script's
+     * concurrency cap and time limit.
+     */
+    public Result call(String script, String stdin, String... args) throws IOException, InterruptedException {
+        Lane lane = lanes.computeIfAbsent(scriptName(script), this::newLane);
+
+        if (lane.queued.incrementAndGet() > maxQueue) {
+            lane.queued.decrementAndGet();
+            lane.rejected.incrementAndGet();
+            throw new PythonBusyException(lane.name + " has " + maxQueue + " calls waiting – try again later");
+        }
+        boolean acquired;
+        try {
+            acquired = lane.permits.tryAcquire(queueTimeoutSeconds, TimeUnit.SECONDS);
+        } finally {
+            lane.queued.decrementAndGet();
+        }
+        if (!acquired) {
+            lane.rejected.incrementAndGet();
+            throw new PythonBusyException(lane.name + " waited " + queueTimeoutSeconds + "s for a free slot");
+        }
+
+        lane.active.incrementAndGet();
+        long t0 = System.nanoTime();
+        String outcome = "error";
+        try {
+            Result r = workers.isEnabled()
+                    ? runInWorker(lane, script, stdin, args)
+                    : runInProcess(lane, script, stdin, args);
+            outcome = "ok";
+            return r;
+        } catch (PythonScriptException e) {
+            if (e.isTimeout()) outcome = "timeout";
+            throw e;
+        } finally {
+            lane.active.decrementAndGet();
+            lane.permits.release();
+            Timer.builder("python.bridge.calls")
+                    .tag("script", lane.name)
+                    .tag("outcome", outcome)
+                    .register(meters)
+                    .record(System.nanoTime() - t0, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /** Calls currently waiting for a slot, per script. */
+    public Map<String, Integer> queueDepths() {
+        Map<String, Integer> depths = new TreeMap<>();
+        lanes.forEach((name, lane) -> depths.put(name, lane.queued.get()));
+        return depths;
+    }
+
+    @PreDestroy
+    void stop() {
+        pumps.shutdownNow();
+    }
+
+    private Result runInWorker(Lane lane, String script, String stdin, String... args)
+            throws IOException, InterruptedException {
+        long t0 = System.currentTimeMillis();
+        String out = workers.run(script, List.of(args), stdin, Duration.ofSeconds(lane.timeoutSeconds));
+        if (out.length() > maxOutputBytes)
+            throw new PythonScriptException(lane.name + " wrote more than " + maxOutputBytes + " bytes to stdout");
+        return new Result(out, "", System.currentTimeMillis() - t0);
+    }
+
+    private Result runInProcess(Lane lane, String script, String stdin, String... args)
+            throws IOException, InterruptedException {
+        List<String> cmd = new ArrayList<>(List.of(PYTHON, script));
+        cmd.addAll(List.of(args));
+
+        long t0 = System.currentTimeMillis();
+        Process p = new ProcessBuilder(withUlimits(cmd, memoryLimitMb, cpuLimitSeconds)).start();
+        Capture out = new Capture(p.getInputStream(), maxOutputBytes, false, p);
+        Capture err = new Capture(p.getErrorStream(), STDERR_TAIL_BYTES, true, null);
+        Future<?> outDone = pumps.submit(out);
+        Future<?> errDone = pumps.submit(err);
+
+        try {
+            try (OutputStream in = p.getOutputStream()) {
+                if (stdin != null) in.write(stdin.getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                // script exited without reading its input – the exit code tells the story
+                log.debug("{} closed stdin early: {}", lane.name, e.getMessage());
+            }
+
+            if (!awaitExit(p, lane.timeoutSeconds)) {
+                kill(p);
+                throw new PythonScriptException(lane.name + " killed after " + lane.timeoutSeconds + "s", true);
+            }
+            await(outDone);
+            await(errDone);
+        } catch (InterruptedException | RuntimeException e) {
+            // the caller gave up (cancelled upload, closed stream): the lane permit is released
+            // on the way out, so the interpreter and its pumps must not outlive it
+            kill(p);
+            outDone.cancel(true);
+            errDone.cancel(true);
+            throw e;
+        }
+
+        long elapsed = System.currentTimeMillis() - t0;
+        if (out.overflowed)
+            throw new PythonScriptException(lane.name + " wrote more than " + maxOutputBytes + " bytes to stdout");
+        if (p.exitValue() != 0) {
+            log.error("{} failed (exit {}) →\n{}", script, p.exitValue(), err.text());
+            throw new PythonScriptException(script + " failed – see logs");
+        }
+        if (!err.text().isBlank()) log.debug("{} stderr →\n{}", lane.name, err.text());
+        return new Result(out.text(), err.text(), elapsed);
+    }
+
+    /**
+     * Waits through {@link Process#onExit()} rather than {@code waitFor}: waitFor blocks
+     * in {@code Object.wait}, which pins a virtual thread to its carrier on JDK 21.
+     */
+    private static boolean awaitExit(Process p, long timeoutSeconds) throws InterruptedException {
+        try {
+            p.onExit().get(timeoutSeconds, TimeUnit.SECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Wraps a command in {@code sh -c 'ulimit ...; exec "$@"'} when memory (MB of
+     * address space) or CPU-second limits are configured; zero means unlimited.
+     */
+    static List<String> withUlimits(List<String> cmd, long memoryMb, long cpuSeconds) {
+        if (memoryMb <= 0 && cpuSeconds <= 0) return cmd;
+        StringBuilder sh = new StringBuilder();
+        if (memoryMb > 0)   sh.append("ulimit -v ").append(memoryMb * 1024).append("; ");
+        if (cpuSeconds > 0) sh.append("ulimit -t ").append(cpuSeconds).append("; ");
+        sh.append("exec \"$@\"");
+        List<String> wrapped = new ArrayList<>(List.of("/bin/sh", "-c", sh.toString(), "python"));
+        wrapped.addAll(cmd);
+        return wrapped;
+    }
+
+    private Lane newLane(String name) {
+        String prefix = "python.bridge.limits." + name + ".";
+        int permits  = env.getProperty(prefix + "max-concurrent", Integer.class, defaultMaxConcurrent);
+        long timeout = env.getProperty(prefix + "timeout-seconds", Long.class, defaultTimeoutSeconds);
+        Lane lane = new Lane(name, permits, timeout);
+        Gauge.builder("python.bridge.queued", lane.queued, AtomicInteger::get)
+                .tag("script", name).register(meters);
+        Gauge.builder("python.bridge.active", lane.active, AtomicInteger::get)
+                .tag("script", name).register(meters);
+        Gauge.builder("python.bridge.rejected", lane.rejected, AtomicInteger::get)
+                .tag("script", name).register(meters);
+        log.debug("Python lane {}: {} concurrent, {}s timeout", name, permits, timeout);
+        return lane;
+    }
+
+    private static String scriptName(String script) {
+        String file = Path.of(script).getFileName().toString();
+        return file.endsWith(".py") ? file.substring(0, file.length() - 3) : file;
+    }
+
+    private static void kill(Process p) {
+        p.descendants().forEach(ProcessHandle::destroyForcibly);
+        p.destroyForcibly();
+    }
+
+    private static void await(Future<?> f) throws InterruptedException {
+        try {
+            f.get(10, TimeUnit.SECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            f.cancel(true);
+        }
+    }
+
+    private static final class Lane {
+        final String name;
+        final Semaphore permits;
+        final long timeoutSeconds;
+        final AtomicInteger queued   = new AtomicInteger();
+        final AtomicInteger active   = new AtomicInteger();
+        final AtomicInteger rejected = new AtomicInteger();
+
+        Lane(String name, int permits, long timeoutSeconds) {
+            this.name = name;
+            this.permits = new Semaphore(permits, true);
+            this.timeoutSeconds = timeoutSeconds;
+        }
+    }
+
+    /**
+     * Drains one process stream.  stdout keeps the head and kills the process once
+     * the cap is hit; stderr keeps only the tail so the last traceback survives.
+     */
+    private static final class Capture implements Runnable {
+        private final InputStream in;
+        private final int limit;
+        private final boolean keepTail;
+        private final Process owner;
+        private final ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        volatile boolean overflowed;
+
+        Capture(InputStream in, int limit, boolean keepTail, Process owner) {
+            this.in = in;
+            this.limit = limit;
+            this.keepTail = keepTail;
+            this.owner = owner;
+        }
+
+        @Override
+        public void run() {
+            byte[] chunk = new byte[8192];
+            try (in) {
+                int n;
+                while ((n = in.read(chunk)) != -1) {
+                    if (buf.size() + n <= limit) {
+                        buf.write(chunk, 0, n);
+                    } else if (keepTail) {
+                        byte[] all = buf.toByteArray();
+                        buf.reset();
+                        int keep = Math.max(0, limit - n);
+                        buf.write(all, all.length - Math.min(keep, all.length), Math.min(keep, all.length));
+                        buf.write(chunk, Math.max(0, n - limit), Math.min(n, limit));
+                    } else {
+                        overflowed = true;
+                        if (owner != null) kill(owner);
+                        return;
+                    }
+                }
+            } catch (IOException ignored) {
+                // stream closed because the process was killed
+            }
+        }
+
+        String text() {
+            return buf.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
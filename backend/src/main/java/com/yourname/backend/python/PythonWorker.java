@@ -0,0 +1,119 @@
+package com.yourname.backend.python;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One long-lived python_worker.py process.
+ * Requests and responses are framed as one JSON object per line on stdin/stdout.
+ * Not thread-safe – the pool lends a worker to exactly one caller at a time.
+ */
+class PythonWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(PythonWorker.class);
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final String EOF = "\u0000EOF";
+
+    private final int slot;
+    private final Process process;
+    private final BufferedWriter stdin;
+    private final BlockingQueue<String> frames = new LinkedBlockingQueue<>();
+    private long nextId;
+
+    /** The worker did not answer in time; it may still reply later, so it must not be reused. */
+    static class TimeoutException extends IOException {
+        TimeoutException(String message) { super(message); }
+    }
+
+    PythonWorker(int slot, List<String> command, Map<String, String> env) throws IOException {
+        this.slot = slot;
+        ProcessBuilder pb = new ProcessBuilder(command);
+        pb.environment().putAll(env);
+        this.process = pb.start();
+        this.stdin = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+        daemon("py-worker-" + slot + "-out", this::pumpStdout);
+        daemon("py-worker-" + slot + "-err", this::pumpStderr);
+    }
+
+    int slot() { return slot; }
+
+    long pid() { return process.pid(); }
+
+    boolean isAlive() { return process.isAlive(); }
+
+    void destroy() {
+        process.destroyForcibly();
+    }
+
+    /** Blocks until the worker has imported its scripts and printed {"ready": true}. */
+    void awaitReady(Duration timeout) throws IOException, InterruptedException {
+        JsonNode n = readFrame(timeout);
+        if (!n.path("ready").asBoolean())
+            throw new IOException("python worker " + slot + " sent " + n + " instead of ready");
+    }
+
+    JsonNode request(ObjectNode frame, Duration timeout) throws IOException, InterruptedException {
+        long id = ++nextId;
+        frame.put("id", id);
+        stdin.write(JSON.writeValueAsString(frame));
+        stdin.newLine();
+        stdin.flush();
+
+        JsonNode resp = readFrame(timeout);
+        if (resp.path("id").asLong(-1) != id)
+            throw new IOException("python worker " + slot + " answered request " + resp.path("id") + ", expected " + id);
+        return resp;
+    }
+
+    private JsonNode readFrame(Duration timeout) throws IOException, InterruptedException {
+        while (true) {
+            String line = frames.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (line == null)
+                throw new TimeoutException("python worker " + slot + " timed out after " + timeout.toSeconds() + "s");
+            if (line == EOF)
+                throw new IOException("python worker " + slot + " exited" +
+                        (process.isAlive() ? "" : " with code " + process.exitValue()));
+            if (line.startsWith("{")) return JSON.readTree(line);
+            // native libraries occasionally write straight to fd 1
+            log.debug("[py-worker-{}] stray stdout: {}", slot, line);
+        }
+    }
+
+    private void pumpStdout() {
+        try (BufferedReader r = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = r.readLine()) != null) frames.offer(line);
+        } catch (IOException ignored) {
+            // process went away – EOF below wakes up any waiting caller
+        }
+        frames.offer(EOF);
+    }
+
+    private void pumpStderr() {
+        try (BufferedReader r = new BufferedReader(
+                new InputStreamReader(process.getErrorStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = r.readLine()) != null) log.debug("[py-worker-{}] {}", slot, line);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static void daemon(String name, Runnable body) {
+        Thread t = new Thread(body, name);
+        t.setDaemon(true);
+        t.start();
+    }
+}
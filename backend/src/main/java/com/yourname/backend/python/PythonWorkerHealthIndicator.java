@@ -0,0 +1,32 @@
+package com.yourname.backend.python;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the warm-up state of the {@link PythonWorkerPool}.
+ * Part of the readiness group, so /actuator/health/readiness stays
+ * OUT_OF_SERVICE until the workers have loaded their models.
+ */
+@Component
+public class PythonWorkerHealthIndicator implements HealthIndicator {
+
+    private final PythonWorkerPool pool;
+
+    public PythonWorkerHealthIndicator(PythonWorkerPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public Health health() {
+        if (!pool.isEnabled()) {
+            return Health.up().withDetail("enabled", false).build();
+        }
+        Health.Builder b = pool.isReady() ? Health.up() : Health.outOfService();
+        return b.withDetail("size", pool.size())
+                .withDetail("warm", pool.warmCount())
+                .withDetail("idle", pool.idleCount())
+                .build();
+    }
+}
@@ -0,0 +1,230 @@
+package com.yourname.backend.python;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.yourname.backend.exceptions.PythonScriptException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of warm python_worker.py processes.
+ * <p>
+ * Each worker imports the AI scripts (and loads MiniLM / torch) once at start-up,
+ * then serves any number of script runs over stdin/stdout.  Crashed or hung workers
+ * are replaced automatically; {@link #isReady()} stays false until the initial
+ * workers have all reported ready.
+ */
+@Component
+public class PythonWorkerPool {
+
+    private static final Logger log = LoggerFactory.getLogger(PythonWorkerPool.class);
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Value("${python.worker.enabled:true}")
+    private boolean enabled;
+
+    @Value("${python.worker.size:2}")
+    private int size;
+
+    @Value("${python.worker.script}")
+    private String WORKER_SCRIPT;
+
+    @Value("${python.worker.startup-timeout-seconds:300}")
+    private long startupTimeoutSeconds;
+
+    @Value("${python.worker.acquire-timeout-seconds:120}")
+    private long acquireTimeoutSeconds;
+
+    @Value("${python.worker.health-check-interval-seconds:30}")
+    private long healthCheckIntervalSeconds;
+
+    @Value("${python.bridge.ulimit.memory-mb:0}")
+    private long memoryLimitMb;
+
+    @Value("${ai.python-executable:python3}")
+    private String PYTHON;
+
+    @Value("${embedding.engine:python}")
+    private String embeddingEngine;
+
+    @Value("${embedding.model:all-MiniLM-L6-v2}")
+    private String embeddingModel;
+
+    @Value("${python.resume-parser}")    private String RESUME_PARSER;
+    @Value("${python.job-parser}")       private String JOB_PARSER;
+    @Value("${python.embedder}")         private String EMBEDDER;
+    @Value("${python.text-extractor}")   private String TEXT_EXTRACTOR;
+
+    private final BlockingQueue<PythonWorker> idle = new LinkedBlockingQueue<>();
+    private final Map<Integer, PythonWorker> slots = new ConcurrentHashMap<>();
+    private final AtomicInteger warm = new AtomicInteger();
+    private volatile boolean warmedUp;
+    private volatile boolean closed;
+
+    private ExecutorService starter;
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            log.info("Python worker pool disabled – every script call spawns its own interpreter");
+            return;
+        }
+        starter   = Executors.newCachedThreadPool(daemonThreads("py-worker-start"));
+        scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("py-worker-health"));
+        for (int slot = 0; slot < size; slot++) spawn(slot);
+        scheduler.scheduleWithFixedDelay(this::checkHealth,
+                healthCheckIntervalSeconds, healthCheckIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        closed = true;
+        if (scheduler != null) scheduler.shutdownNow();
+        if (starter != null) starter.shutdownNow();
+        slots.values().forEach(PythonWorker::destroy);
+        slots.clear();
+        idle.clear();
+    }
+
+    public boolean isEnabled() { return enabled; }
+
+    /** True once every initial worker has loaded its libraries and at least one is still up. */
+    public boolean isReady() { return enabled && warmedUp && warm.get() > 0; }
+
+    public int size()      { return size; }
+    public int warmCount() { return warm.get(); }
+    public int idleCount() { return idle.size(); }
+
+    /**
+     * Runs {@code script}'s main() inside a warm worker, exactly as if it had been
+     * started with {@code python script args...} and fed {@code stdin}.
+     * A worker that does not answer within {@code timeout} is killed and replaced.
+     *
+     * @return everything the script printed to stdout
+     */
+    public String run(String script, List<String> args, String stdin, Duration timeout)
+            throws IOException, InterruptedException {
+        PythonWorker w = idle.poll(acquireTimeoutSeconds, TimeUnit.SECONDS);
+        if (w == null)
+            throw new IOException("No python worker became available within " + acquireTimeoutSeconds + "s");
+
+        ObjectNode frame = JSON.createObjectNode();
+        frame.put("op", "run");
+        frame.put("script", script);
+        ArrayNode argv = frame.putArray("argv");
+        args.forEach(argv::add);
+        if (stdin != null) frame.put("stdin", stdin);
+
+        JsonNode resp;
+        try {
+            resp = w.request(frame, timeout);
+        } catch (InterruptedException e) {
+            // the reply may still arrive and would answer the next caller's frame
+            retire(w, "interrupted while running " + script);
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            retire(w, e.getMessage());
+            throw new PythonScriptException(script + " failed in python worker " + w.slot() + ": " + e.getMessage(),
+                    e instanceof PythonWorker.TimeoutException);
+        }
+        idle.offer(w);
+
+        int exit = resp.path("exit").asInt(1);
+        String out = resp.path("stdout").asText("");
+        if (exit != 0) {
+            log.error("{} failed in python worker {} (exit {}) →\n{}", script, w.slot(), exit,
+                    resp.path("error").asText(out));
+            throw new PythonScriptException(script + " failed – see logs");
+        }
+        return out;
+    }
+
+    private void spawn(int slot) {
+        starter.submit(() -> {
+            PythonWorker w = null;
+            try {
+                w = new PythonWorker(slot, command(),
+                        Map.of("PYTHONUNBUFFERED", "1", "EMBEDDING_MODEL", embeddingModel));
+                slots.put(slot, w);
+                w.awaitReady(Duration.ofSeconds(startupTimeoutSeconds));
+                if (closed) { w.destroy(); return; }
+                idle.offer(w);
+                if (warm.incrementAndGet() >= size && !warmedUp) {
+                    warmedUp = true;
+                    log.info("Python worker pool warm ({} workers)", size);
+                }
+                log.debug("Python worker {} ready (pid {})", slot, w.pid());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (w != null) w.destroy();
+            } catch (Exception e) {
+                log.error("Python worker {} failed to start: {}", slot, e.getMessage());
+                if (w != null) w.destroy();
+                if (!closed) scheduler.schedule(() -> spawn(slot), 5, TimeUnit.SECONDS);
+            }
+        });
+    }
+
+    private void retire(PythonWorker w, String reason) {
+        log.warn("Restarting python worker {}: {}", w.slot(), reason);
+        w.destroy();
+        slots.remove(w.slot(), w);
+        warm.decrementAndGet();
+        if (!closed) spawn(w.slot());
+    }
+
+    /** Pings every idle worker; dead or unresponsive ones are replaced. */
+    private void checkHealth() {
+        for (int i = 0, n = idle.size(); i < n; i++) {
+            PythonWorker w = idle.poll();
+            if (w == null) return;
+            try {
+                ObjectNode ping = JSON.createObjectNode().put("op", "ping");
+                if (w.isAlive() && w.request(ping, Duration.ofSeconds(10)).path("pong").asBoolean()) {
+                    idle.offer(w);
+                    continue;
+                }
+                retire(w, "failed health check");
+            } catch (InterruptedException e) {
+                retire(w, "interrupted during health check");     // a pong may still be pending
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                retire(w, "health check: " + e.getMessage());
+            }
+        }
+    }
+
+    private List<String> command() {
+        List<String> cmd = new ArrayList<>(List.of(PYTHON, "-u", WORKER_SCRIPT));
+        cmd.addAll(List.of(TEXT_EXTRACTOR, RESUME_PARSER, JOB_PARSER));
+        // embedder.py is the only script that loads torch + MiniLM; skip it when ONNX does the encoding
+        if ("python".equalsIgnoreCase(embeddingEngine)) cmd.add(EMBEDDER);
+        // CPU-second limits would eventually kill a long-lived worker, so only memory applies
+        return PythonBridge.withUlimits(cmd, memoryLimitMb, 0);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger n = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
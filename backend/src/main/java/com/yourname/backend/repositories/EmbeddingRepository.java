@@ -0,0 +1,53 @@
+package com.yourname.backend.repositories;
+
+import com.yourname.backend.entities.Embedding;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EmbeddingRepository extends JpaRepository<Embedding, Long> {
+
+    Optional<Embedding> findByOwnerTypeAndOwnerIdAndModel(
+            Embedding.OwnerType ownerType, Long ownerId, String model);
+
+    /** (ownerId, textHash) of every vector of {@code model} at {@code version}. */
+    @Query("""
+            select e.ownerId, e.textHash from Embedding e
+             where e.ownerType = :type and e.model = :model and e.modelVersion = :version""")
+    List<Object[]> findOwnerHashes(@Param("type") Embedding.OwnerType ownerType,
+                            @Param("model") String model, @Param("version") String modelVersion);
+
+    List<Embedding> findByOwnerTypeAndModelAndModelVersionAndOwnerIdIn(
+            Embedding.OwnerType ownerType, String model, String modelVersion, Collection<Long> ownerIds);
+
+    /**
+     * Inserts the owner's vector for {@code model}, or overwrites the row another request
+     * inserted first – concurrent encodings of the same text race here harmlessly.
+     */
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            insert into embeddings (owner_type, owner_id, model, model_version, dim, text_hash, vector, created_at)
+            values (:type, :ownerId, :model, :version, :dim, :hash, :vector, now())
+            on conflict (owner_type, owner_id, model) do update
+               set model_version = excluded.model_version,
+                   dim           = excluded.dim,
+                   text_hash     = excluded.text_hash,
+                   vector        = excluded.vector,
+                   created_at    = excluded.created_at""")
+    int upsert(@Param("type") String ownerType, @Param("ownerId") Long ownerId,
+               @Param("model") String model, @Param("version") String modelVersion,
+               @Param("dim") int dim, @Param("hash") String textHash, @Param("vector") byte[] vector);
+
+    @Modifying
+    @Query("delete from Embedding e where e.ownerType = :type and e.ownerId = :id")
+    int deleteByOwner(@Param("type") Embedding.OwnerType ownerType, @Param("id") Long ownerId);
+}
@@ -0,0 +1,38 @@
+package com.yourname.backend.repositories;
+
+import com.yourname.backend.entities.LlmCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface LlmCacheRepository extends JpaRepository<LlmCacheEntry, String> {
+
+    Optional<LlmCacheEntry> findByCacheKeyAndExpiresAtAfter(String cacheKey, LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from LlmCacheEntry e where e.cacheKey = :key")
+    int deleteByKey(@Param("key") String cacheKey);
+
+    @Transactional
+    @Modifying
+    @Query("delete from LlmCacheEntry e where e.model = :model")
+    int deleteByModel(@Param("model") String model);
+
+    @Transactional
+    @Modifying
+    @Query("delete from LlmCacheEntry e")
+    int deleteAllEntries();
+
+    @Transactional
+    @Modifying
+    @Query("delete from LlmCacheEntry e where e.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
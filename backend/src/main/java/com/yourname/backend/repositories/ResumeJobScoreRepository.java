@@ -0,0 +1,40 @@
+package com.yourname.backend.repositories;
+
+import com.yourname.backend.entities.ResumeJobScore;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ResumeJobScoreRepository extends JpaRepository<ResumeJobScore, Long> {
+
+    Optional<ResumeJobScore> findByResumeIdAndJobId(Long resumeId, Long jobId);
+
+    Optional<ResumeJobScore> findFirstByResumeIdOrderByScoredAtDesc(Long resumeId);
+
+    List<ResumeJobScore> findByJobId(Long jobId);
+
+    /** Best-first scores for a job (served by idx_resume_job_scores_job_final). */
+    List<ResumeJobScore> findByJobIdOrderByFinalScoreDesc(Long jobId, Pageable page);
+
+    /** Most recent score of every resume, whichever job it was for. */
+    @Query(value = """
+            select distinct on (resume_id) *
+              from resume_job_scores
+             order by resume_id, scored_at desc""", nativeQuery = true)
+    List<ResumeJobScore> findLatestPerResume();
+
+    @Modifying
+    @Query("delete from ResumeJobScore s where s.resumeId = :id")
+    int deleteByResume(@Param("id") Long resumeId);
+
+    @Modifying
+    @Query("delete from ResumeJobScore s where s.jobId = :id")
+    int deleteByJob(@Param("id") Long jobId);
+}
@@ -1,9 +1,49 @@
 package com.yourname.backend.repositories;
 
 import com.yourname.backend.entities.Resume;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface ResumeRepository extends JpaRepository<Resume, Long> {
+
+    @Modifying
+    @Query("update Resume r set r.plainText = :text where r.id = :id")
+    int updatePlainText(@Param("id") Long id, @Param("text") String text);
+
+    @Modifying
+    @Query("""
+            update Resume r
+               set r.parsedJson = :json, r.contentHash = :hash, r.parserVersion = :version
+             where r.id = :id""")
+    int updateParsedJson(@Param("id") Long id, @Param("hash") String contentHash,
+                         @Param("version") String parserVersion, @Param("json") String parsedJson);
+
+    List<Resume> findByProcessingStatusIn(List<Resume.ProcessingStatus> statuses);
+
+    @Query("select r.id from Resume r")
+    List<Long> findAllIds();
+
+    /** (id, status) of every resume, streamed for the skill index; needs a transaction. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("select r.id, r.status from Resume r")
+    Stream<Object[]> streamStatuses();
+
+    /** (resume_id, skill_id) of every skill link, streamed for the skill index; needs a transaction. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query(value = "select resume_id, skill_id from resume_skills", nativeQuery = true)
+    Stream<Object[]> streamSkillLinks();
+
+    Optional<Resume> findFirstByContentHashAndParserVersionAndParsedJsonIsNotNull(
+            String contentHash, String parserVersion);
 }
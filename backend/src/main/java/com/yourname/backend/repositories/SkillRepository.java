@@ -2,8 +2,38 @@ package com.yourname.backend.repositories;
 
 import com.yourname.backend.entities.Skill;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface SkillRepository extends JpaRepository<Skill, Long> {
     Optional<Skill> findByName(String name);
+
+    /**
+     * Skills whose name is one of {@code keys} ignoring case and spacing (keys as from
+     * SkillVocabulary.normalize), lowest id first; served by idx_skills_name_key.
+     */
+    @Query(value = """
+            select * from skills
+             where lower(btrim(regexp_replace(name, '\\s+', ' ', 'g'))) in (:keys)
+             order by id""", nativeQuery = true)
+    List<Skill> findByNameKeyIn(@Param("keys") Collection<String> keys);
+
+    /**
+     * Inserts the names in one statement and returns how many rows it created.  Names some
+     * other transaction or node holds already are skipped, not failed – look all of them up
+     * afterwards.  Relies on idx_skills_name_key (see SkillNameKeyIndex).
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            insert into skills (name)
+            select unnest(array[:names])
+            on conflict do nothing""", nativeQuery = true)
+    int insertMissing(@Param("names") Collection<String> names);
 }
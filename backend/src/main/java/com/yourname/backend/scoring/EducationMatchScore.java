@@ -0,0 +1,66 @@
+package com.yourname.backend.scoring;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalDouble;
+
+/**
+ * Deterministic education score: the resume's highest degree against the level the job's
+ * requirements name (meeting it = 100, one level short = 60, two = 30, more = 0), and –
+ * when the job names fields of study – 75 / 25 with whether the resume's field matches
+ * (100), is related (70) or not (40).  A job silent on education scores any degree 100,
+ * none 70.
+ */
+@Component
+public class EducationMatchScore implements ScoreComponent {
+
+    @Override
+    public String name() {
+        return "education-local";
+    }
+
+    @Override
+    public OptionalDouble score(ScoreInputs in) {
+        EducationParser.Education have = EducationParser.parse(text(in.resume(), "education"));
+        EducationParser.Education want = EducationParser.required(lines(in.job(), "Requirements"));
+
+        double level;
+        if (want.level() == EducationParser.NONE) {
+            level = have.level() > EducationParser.NONE ? 100 : 70;
+        } else {
+            int gap = want.level() - have.level();
+            level = gap <= 0 ? 100 : gap == 1 ? 60 : gap == 2 ? 30 : 0;
+        }
+        if (want.fields().isEmpty()) return OptionalDouble.of(level);
+
+        double field = 40;
+        for (String f : have.fields()) {
+            if (want.fields().contains(f)) {
+                field = 100;
+                break;
+            }
+            for (String w : want.fields()) {
+                if (EducationParser.related(f, w)) field = Math.max(field, 70);
+            }
+        }
+        return OptionalDouble.of(0.75 * level + 0.25 * field);
+    }
+
+    static String text(JsonNode parsed, String key) {
+        JsonNode n = parsed == null ? null : parsed.path(key);
+        return n == null || n.isMissingNode() || n.isNull() ? "" : n.asText();
+    }
+
+    /** A parser field that is normally a list of strings but may come back as one string. */
+    static List<String> lines(JsonNode parsed, String key) {
+        JsonNode n = parsed == null ? null : parsed.path(key);
+        if (n == null || n.isMissingNode() || n.isNull()) return List.of();
+        if (!n.isArray()) return List.of(n.asText());
+        List<String> out = new ArrayList<>();
+        n.forEach(e -> out.add(e.asText()));
+        return out;
+    }
+}
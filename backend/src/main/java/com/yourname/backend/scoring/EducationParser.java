@@ -0,0 +1,87 @@
+package com.yourname.backend.scoring;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Degree level and field of study from free text – the resume's {@code education}
+ * ("Degree in Major, School (Year)") or a job requirement line.
+ */
+public final class EducationParser {
+    private EducationParser() {}          // utility class
+
+    public static final int NONE = 0, HIGH_SCHOOL = 1, ASSOCIATE = 2, BACHELOR = 3, MASTER = 4, DOCTORATE = 5;
+
+    /** @param level  highest degree mentioned, {@link #NONE} … {@link #DOCTORATE} */
+    public record Education(int level, Set<String> fields) { }
+
+    private static final Map<String, String> FIELD_WORDS = Map.of(
+            "computing",   "computer|computing|software|informatics|information (technology|systems)|data science|cs",
+            "engineering", "engineering|electrical|mechanical|electronics?",
+            "math",        "math(ematics)?|statistics|physics|applied science",
+            "business",    "business|mba|finance|accounting|economics|marketing|management|commerce",
+            "design",      "design|arts?|graphic|architecture",
+            "health",      "nursing|medicine|medical|health|pharmacy|biology",
+            "humanities",  "english|communications?|journalism|history|psychology|sociology|law");
+
+    private static final Map<String, Pattern> FIELDS = FIELD_WORDS.entrySet().stream().collect(
+            Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> Pattern.compile("\\b(" + e.getValue() + ")\\b")));
+
+    /*
+     * Undotted two-letter abbreviations are ordinary words ("as a developer", "MS Office"),
+     * so they count only before "in/of <field>"; dotted ones ("m.s.", "a.s.") always do.
+     */
+    private static final String IN_FIELD = "(?=\\s+(in|of)\\s+(" + String.join("|", FIELD_WORDS.values()) + ")\\b)";
+
+    // highest first: the first match is the level
+    private static final List<Map.Entry<Integer, Pattern>> LEVELS = List.of(
+            Map.entry(DOCTORATE, Pattern.compile("\\b(ph\\.?\\s?d|doctor(ate|al)?|d\\.?phil)\\b")),
+            Map.entry(MASTER,    Pattern.compile("\\b(masters?|m\\.\\s?sc?|msc|mba|m\\.?eng|m\\.\\s?a|m\\.?tech|graduate degree"
+                                                 + "|(ms|ma)" + IN_FIELD + ")\\b")),
+            Map.entry(BACHELOR,  Pattern.compile("\\b(bachelors?|b\\.\\s?sc?|bsc|b\\.\\s?a|b\\.?eng|b\\.?tech|undergraduate"
+                                                 + "|(4|four)[- ]year degree|college degree|(bs|ba)" + IN_FIELD + ")\\b")),
+            Map.entry(ASSOCIATE, Pattern.compile("\\b(associates?|a\\.\\s?a\\.?(\\s?s)?|aas|a\\.\\s?s|(aa|as)" + IN_FIELD + ")\\b")),
+            Map.entry(HIGH_SCHOOL, Pattern.compile("\\b(high school|ged|secondary school|diploma)\\b")));
+
+    /** Fields close enough that a degree in one half-counts for the other. */
+    private static final Set<Set<String>> RELATED = Set.of(
+            Set.of("computing", "engineering"), Set.of("computing", "math"), Set.of("engineering", "math"),
+            Set.of("business", "math"));
+
+    public static Education parse(String text) {
+        if (text == null || text.isBlank()) return new Education(NONE, Set.of());
+        String t = text.toLowerCase(Locale.ROOT);
+        int level = NONE;
+        for (var e : LEVELS) {
+            if (e.getValue().matcher(t).find()) {
+                level = e.getKey();
+                break;
+            }
+        }
+        Set<String> fields = new LinkedHashSet<>();
+        FIELDS.forEach((field, p) -> { if (p.matcher(t).find()) fields.add(field); });
+        return new Education(level, fields);
+    }
+
+    /** What a job asks for: the highest level and every field named in lines that talk about education. */
+    public static Education required(List<String> requirements) {
+        int level = NONE;
+        Set<String> fields = new LinkedHashSet<>();
+        for (String line : requirements) {
+            Education e = parse(line);
+            if (e.level() == NONE && !line.toLowerCase(Locale.ROOT).contains("degree")) continue;
+            level = Math.max(level, e.level());
+            fields.addAll(e.fields());
+        }
+        return new Education(level, fields);
+    }
+
+    public static boolean related(String a, String b) {
+        return RELATED.contains(Set.of(a, b));
+    }
+}
@@ -0,0 +1,51 @@
+package com.yourname.backend.scoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.OptionalDouble;
+import java.util.regex.Pattern;
+
+/**
+ * Deterministic experience score: 70 % years (total of the merged date ranges in
+ * {@code work_experience} against the most the job's requirements ask for, or
+ * {@code scoring.experience.default-required-years} if they name none) and 30 %
+ * relevance (share of the job's skills the experience text mentions).
+ */
+@Component
+public class ExperienceMatchScore implements ScoreComponent {
+
+    @Value("${scoring.experience.default-required-years:3}")
+    private double defaultRequiredYears;
+
+    @Override
+    public String name() {
+        return "experience-local";
+    }
+
+    @Override
+    public OptionalDouble score(ScoreInputs in) {
+        String text = EducationMatchScore.text(in.resume(), "work_experience");
+        ExperienceParser.Experience have = ExperienceParser.parse(text, in.asOf());
+
+        List<String> asks = new ArrayList<>(EducationMatchScore.lines(in.job(), "Requirements"));
+        asks.add(EducationMatchScore.text(in.job(), "Job Description"));
+        double want = ExperienceParser.requiredYears(asks);
+        if (want == 0) want = defaultRequiredYears;
+        double years = want <= 0 ? 100 : 100 * Math.min(1, have.years() / want);
+
+        List<String> skills = SkillOverlapScore.skills(in.job());
+        if (skills.isEmpty()) return OptionalDouble.of(years);
+        String t = text.toLowerCase(Locale.ROOT);
+        long mentioned = skills.stream()
+                .filter(s -> !s.isBlank())
+                .filter(s -> Pattern.compile("(?<![\\w])" + Pattern.quote(s.strip().toLowerCase(Locale.ROOT)) + "(?![\\w])")
+                        .matcher(t).find())
+                .count();
+        double relevance = 100.0 * mentioned / skills.size();
+        return OptionalDouble.of(0.7 * years + 0.3 * relevance);
+    }
+}
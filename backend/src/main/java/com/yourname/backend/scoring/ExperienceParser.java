@@ -0,0 +1,101 @@
+package com.yourname.backend.scoring;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Date ranges and total years from the resume's {@code work_experience}
+ * ("Role at Company (month/year started - present or month/year finished)"),
+ * and the years of experience a job asks for.
+ */
+public final class ExperienceParser {
+    private ExperienceParser() {}         // utility class
+
+    /** Months since year 0, end exclusive. */
+    public record Range(int from, int to) { }
+
+    public record Experience(List<Range> ranges, double years) { }
+
+    private static final String DATE =
+            "(?:(\\d{1,2})\\s*/\\s*(\\d{4})|([a-z]{3,9})\\.?\\s+(\\d{4})|(\\d{4}))";
+    private static final Pattern RANGE = Pattern.compile(
+            DATE + "\\s*(?:-|–|—|to|until)\\s*(?:" + DATE + "|(present|current|now|today|ongoing))");
+    private static final Pattern YEARS = Pattern.compile(
+            "(\\d+(?:\\.\\d+)?)\\s*\\+?\\s*(?:(?:-|–|to)\\s*\\d+\\s*)?(?:years?|yrs?)");
+    private static final List<String> MONTHS = List.of(
+            "jan", "feb", "mar", "apr", "may", "jun", "jul", "aug", "sep", "oct", "nov", "dec");
+
+    public static Experience parse(String text, YearMonth now) {
+        if (text == null || text.isBlank()) return new Experience(List.of(), 0);
+        int current = now.getYear() * 12 + now.getMonthValue() - 1;
+
+        List<Range> ranges = new ArrayList<>();
+        Matcher m = RANGE.matcher(text.toLowerCase(Locale.ROOT));
+        while (m.find()) {
+            int from = month(m, 1, false);
+            int to = m.group(11) != null ? current + 1 : month(m, 6, true);
+            if (from < 0 || to < 0) continue;
+            to = Math.min(to, current + 1);
+            if (to > from) ranges.add(new Range(from, to));
+        }
+        return new Experience(ranges, merged(ranges) / 12.0);
+    }
+
+    /** Largest "N years" / "N+ yrs" / "N-M years" minimum in the lines, or 0 if none says. */
+    public static double requiredYears(List<String> lines) {
+        double years = 0;
+        for (String line : lines) {
+            Matcher m = YEARS.matcher(line.toLowerCase(Locale.ROOT));
+            while (m.find()) {
+                double y = Double.parseDouble(m.group(1));
+                if (y <= 40) years = Math.max(years, y);       // not a year like "2020 years"
+            }
+        }
+        return years;
+    }
+
+    /** Months covered by the ranges, overlaps counted once. */
+    private static int merged(List<Range> ranges) {
+        List<Range> sorted = new ArrayList<>(ranges);
+        sorted.sort(Comparator.comparingInt(Range::from));
+        int total = 0, start = -1, end = -1;
+        for (Range r : sorted) {
+            if (r.from() > end) {
+                total += end - start;
+                start = r.from();
+                end = r.to();
+            } else {
+                end = Math.max(end, r.to());
+            }
+        }
+        return total + end - start;
+    }
+
+    /**
+     * The date in groups {@code g .. g+4}; a bare year starts in January and ends after December
+     * (end exclusive), a month/year after that month.  -1 if unreadable.
+     */
+    private static int month(Matcher m, int g, boolean end) {
+        int year, month;
+        if (m.group(g) != null) {
+            year = Integer.parseInt(m.group(g + 1));
+            month = Integer.parseInt(m.group(g)) - 1;
+            if (month < 0 || month > 11) return -1;
+        } else if (m.group(g + 2) != null) {
+            year = Integer.parseInt(m.group(g + 3));
+            month = MONTHS.indexOf(m.group(g + 2).substring(0, 3));
+            if (month < 0) return -1;
+        } else if (m.group(g + 4) != null) {
+            year = Integer.parseInt(m.group(g + 4));
+            month = end ? 11 : 0;
+        } else {
+            return -1;
+        }
+        return year * 12 + month + (end ? 1 : 0);
+    }
+}
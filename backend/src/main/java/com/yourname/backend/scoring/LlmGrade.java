@@ -0,0 +1,33 @@
+package com.yourname.backend.scoring;
+
+import com.yourname.backend.services.OpenAiHelper;
+
+import java.util.OptionalDouble;
+import java.util.function.ToDoubleFunction;
+
+/** One of the grades from the combined LLM call; see ScoringConfig for the beans. */
+public class LlmGrade implements ScoreComponent {
+
+    private final String name;
+    private final ToDoubleFunction<OpenAiHelper.Grades> grade;
+
+    public LlmGrade(String name, ToDoubleFunction<OpenAiHelper.Grades> grade) {
+        this.name = name;
+        this.grade = grade;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public OptionalDouble score(ScoreInputs in) {
+        return in.llm() == null ? OptionalDouble.empty() : OptionalDouble.of(grade.applyAsDouble(in.llm()));
+    }
+
+    @Override
+    public boolean usesLlm() {
+        return true;
+    }
+}
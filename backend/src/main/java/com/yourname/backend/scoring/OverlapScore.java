@@ -0,0 +1,20 @@
+package com.yourname.backend.scoring;
+
+import org.springframework.stereotype.Component;
+
+import java.util.OptionalDouble;
+
+/** The embedding overlap computed by EmbeddingService, passed through. */
+@Component
+public class OverlapScore implements ScoreComponent {
+
+    @Override
+    public String name() {
+        return "overlap";
+    }
+
+    @Override
+    public OptionalDouble score(ScoreInputs in) {
+        return OptionalDouble.of(in.overlap());
+    }
+}
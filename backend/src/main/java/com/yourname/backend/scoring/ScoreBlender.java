@@ -0,0 +1,125 @@
+package com.yourname.backend.scoring;
+
+import com.yourname.backend.util.HashUtils;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.TreeMap;
+
+/**
+ * Blends the {@link ScoreComponent}s into the final score:
+ * {@code Σ weight·score} with weights from {@code scoring.weights.<name>}.
+ * <p>
+ * A component that can't score is replaced by {@code scoring.fallback.<name>} if that
+ * names another component; otherwise its weight is dropped and the others are rescaled
+ * to the same total.  Only an LLM component coming back empty means something failed,
+ * so only that marks the blend partial (returned but not stored as the pair's score);
+ * a deterministic one is empty because it doesn't apply, e.g. a job listing no skills.
+ */
+@Service
+public class ScoreBlender {
+
+    private static final Logger log = LoggerFactory.getLogger(ScoreBlender.class);
+
+    private final Map<String, ScoreComponent> components = new LinkedHashMap<>();
+    private final Map<String, Double> weights = new LinkedHashMap<>();
+    private final Map<String, String> fallbacks = new LinkedHashMap<>();
+    private final Environment env;
+    private boolean needsLlm;
+    private String version;
+
+    public ScoreBlender(List<ScoreComponent> components, Environment env) {
+        for (ScoreComponent c : components) {
+            if (this.components.putIfAbsent(c.name(), c) != null)
+                throw new IllegalStateException("Two score components are named " + c.name());
+        }
+        this.env = env;
+    }
+
+    /** Final score (0–100, one decimal) and every component's value, fallbacks applied. */
+    public record Blend(double finalScore, Map<String, Double> components, boolean partial) {
+        public double get(String name) {
+            return components.getOrDefault(name, 0.0);
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        double total = 0;
+        for (String name : components.keySet()) {
+            double w = env.getProperty("scoring.weights." + name, Double.class, 0.0);
+            if (w < 0) throw new IllegalStateException("scoring.weights." + name + " is negative");
+            weights.put(name, w);
+            total += w;
+            if (w > 0 && components.get(name).usesLlm()) needsLlm = true;
+
+            String fallback = env.getProperty("scoring.fallback." + name);
+            if (fallback != null && !fallback.isBlank()) {
+                if (!components.containsKey(fallback.trim()))
+                    throw new IllegalStateException("scoring.fallback." + name + " names unknown component " + fallback);
+                fallbacks.put(name, fallback.trim());
+            }
+        }
+        if (total <= 0) throw new IllegalStateException("No scoring.weights.* is positive");
+
+        // only weighted components shape a stored score: fallbacks only ever feed partial blends
+        Map<String, Double> weighted = new TreeMap<>(weights);
+        weighted.values().removeIf(w -> w == 0);
+        version = HashUtils.sha256(weighted.toString()).substring(0, 12);
+        log.info("Score blend {} (fallbacks {}), LLM {}", weights, fallbacks, needsLlm ? "on" : "off");
+    }
+
+    /** True if a weighted component reads the LLM's grades – otherwise it need not be called. */
+    public boolean needsLlm() {
+        return needsLlm;
+    }
+
+    /** Changes whenever a component is weighted differently. */
+    public String version() {
+        return version;
+    }
+
+    public Blend blend(ScoreInputs in) {
+        Map<String, OptionalDouble> own = new LinkedHashMap<>();
+        for (ScoreComponent c : components.values()) {
+            own.put(c.name(), c.usesLlm() && in.llm() == null ? OptionalDouble.empty() : c.score(in));
+        }
+
+        Map<String, Double> values = new LinkedHashMap<>();
+        double total = 0, counted = 0, sum = 0;
+        boolean partial = false;
+        for (String name : components.keySet()) {
+            OptionalDouble v = resolve(name, own);
+            if (v.isPresent()) values.put(name, v.getAsDouble());
+
+            double w = weights.get(name);
+            if (w == 0) continue;
+            total += w;
+            if (own.get(name).isEmpty() && components.get(name).usesLlm()) partial = true;
+            if (v.isPresent()) {
+                sum += w * v.getAsDouble();
+                counted += w;
+            }
+        }
+        double blended = counted == 0 ? 0 : sum * total / counted;
+        return new Blend(Math.round(blended * 10) / 10.0, values, partial);
+    }
+
+    /** The component's own value, or the first one down its fallback chain. */
+    private OptionalDouble resolve(String name, Map<String, OptionalDouble> own) {
+        String n = name;
+        for (int hops = 0; n != null && hops <= components.size(); hops++) {
+            OptionalDouble v = own.get(n);
+            if (v.isPresent()) return v;
+            n = fallbacks.get(n);
+        }
+        return OptionalDouble.empty();
+    }
+}
@@ -0,0 +1,25 @@
+package com.yourname.backend.scoring;
+
+import java.util.OptionalDouble;
+
+/**
+ * One input to the blended score.  Every bean is picked up by {@link ScoreBlender} and
+ * weighted by {@code scoring.weights.<name>}; without a weight it is still computed
+ * (so it can stand in for another one) but does not count towards the final score.
+ */
+public interface ScoreComponent {
+
+    /** Key for its weight and fallback; semantic, skills, education, experience, overlap and llm fill the ScoreBundle. */
+    String name();
+
+    /**
+     * 0–100, or empty when these inputs can't be scored: the LLM call failed, or the
+     * component doesn't apply to them (a job listing no skills).
+     */
+    OptionalDouble score(ScoreInputs in);
+
+    /** True if {@link #score} reads {@link ScoreInputs#llm()}; the LLM is only called when such a component is weighted. */
+    default boolean usesLlm() {
+        return false;
+    }
+}
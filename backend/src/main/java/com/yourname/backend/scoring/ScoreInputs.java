@@ -0,0 +1,32 @@
+package com.yourname.backend.scoring;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.yourname.backend.services.OpenAiHelper;
+
+import java.time.YearMonth;
+
+/**
+ * Everything a {@link ScoreComponent} may look at for one resume / job pair.
+ *
+ * @param resumeText    plain-text resume
+ * @param jobText       job description, whitespace collapsed
+ * @param resume        JSON from ResumeParser.py
+ * @param job           JSON from JobDescriptionParser.py
+ * @param resumeVector  stored resume embedding
+ * @param jobVector     stored job embedding
+ * @param overlap       % semantic overlap of the two embeddings
+ * @param llm           the LLM's grades; null when it was not asked or failed
+ * @param asOf          month an open-ended job ("– present") ends in: the resume's upload
+ *                      month, so a pair scores the same however often it is rescored
+ */
+public record ScoreInputs(
+        String resumeText,
+        String jobText,
+        JsonNode resume,
+        JsonNode job,
+        float[] resumeVector,
+        float[] jobVector,
+        double overlap,
+        OpenAiHelper.Grades llm,
+        YearMonth asOf
+) { }
@@ -0,0 +1,22 @@
+package com.yourname.backend.scoring;
+
+import com.yourname.backend.util.VectorMath;
+import org.springframework.stereotype.Component;
+
+import java.util.OptionalDouble;
+
+/** Cosine similarity of the stored embeddings, clamped to 0–100. */
+@Component
+public class SemanticScore implements ScoreComponent {
+
+    @Override
+    public String name() {
+        return "semantic";
+    }
+
+    @Override
+    public OptionalDouble score(ScoreInputs in) {
+        double cos = VectorMath.cosine(in.resumeVector(), in.jobVector());
+        return OptionalDouble.of(Math.max(0.0, Math.min(1.0, cos)) * 100.0);
+    }
+}
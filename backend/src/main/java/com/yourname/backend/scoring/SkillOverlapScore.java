@@ -0,0 +1,64 @@
+package com.yourname.backend.scoring;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.yourname.backend.services.SkillTagger;
+import com.yourname.backend.util.TextUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalDouble;
+
+/**
+ * Deterministic skills score from the same skill sets the resume_skills / job_skills links
+ * hold – each side's parsed list plus the skills {@link SkillTagger} finds in its text, as
+ * upload and re-tagging link them – looked up in {@link SkillVocabulary}:
+ * {@code 100 · (c·coverage + (1−c)·jaccard)}, where coverage is the share of the job's
+ * skills the resume has and c is {@code scoring.skills.coverage-weight}.
+ * Empty when the job lists no skills.
+ */
+@Component
+public class SkillOverlapScore implements ScoreComponent {
+
+    private final SkillVocabulary vocabulary;
+    private final SkillTagger tagger;
+
+    @Value("${scoring.skills.coverage-weight:0.7}")
+    private double coverageWeight;
+
+    public SkillOverlapScore(SkillVocabulary vocabulary, SkillTagger tagger) {
+        this.vocabulary = vocabulary;
+        this.tagger = tagger;
+    }
+
+    @Override
+    public String name() {
+        return "skills-local";
+    }
+
+    @Override
+    public OptionalDouble score(ScoreInputs in) {
+        SkillVocabulary.SkillSet job = vocabulary.of(tagger.withTagged(skills(in.job()), in.jobText()));
+        int wanted = job.size();
+        if (wanted == 0) return OptionalDouble.empty();
+        SkillVocabulary.SkillSet resume = vocabulary.of(tagger.withTagged(skills(in.resume()), in.resumeText()));
+
+        double shared = resume.shared(job);
+        double coverage = shared / wanted;
+        double jaccard = shared / (resume.size() + wanted - shared);
+        return OptionalDouble.of(100.0 * (coverageWeight * coverage + (1 - coverageWeight) * jaccard));
+    }
+
+    /** The parsers return skills as a comma-separated string; older rows may hold an array. */
+    static List<String> skills(JsonNode parsed) {
+        JsonNode n = parsed == null ? null : parsed.path("skills");
+        if (n == null || n.isMissingNode() || n.isNull()) return List.of();
+        if (n.isArray()) {
+            List<String> out = new ArrayList<>();
+            n.forEach(e -> out.add(e.asText()));
+            return out;
+        }
+        return TextUtils.csvToList(n.asText());
+    }
+}
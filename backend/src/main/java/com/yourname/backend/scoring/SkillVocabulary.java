@@ -0,0 +1,67 @@
+package com.yourname.backend.scoring;
+
+import com.yourname.backend.entities.Skill;
+import com.yourname.backend.util.TextUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dense bit index per skill, so a skill set is a {@link BitSet} and overlap is a few
+ * long-word ANDs.  Seeded from the {@code skills} table by SkillService; names that
+ * differ only in case or spacing share one index.  Only saved skills get an index:
+ * names the table doesn't hold yet (a resume scored before its skills are saved, or
+ * parser noise) are kept aside per call, so scoring never grows the vocabulary.
+ */
+@Component
+public class SkillVocabulary {
+
+    private final ConcurrentHashMap<String, Integer> byName = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    /** One skill list: saved skills as bits, the rest as normalized names. */
+    public record SkillSet(BitSet known, Set<String> unseen) {
+
+        public int size() {
+            return known.cardinality() + unseen.size();
+        }
+
+        public int shared(SkillSet other) {
+            BitSet common = (BitSet) known.clone();
+            common.and(other.known);
+            int n = common.cardinality();
+            for (String s : unseen) if (other.unseen.contains(s)) n++;
+            return n;
+        }
+    }
+
+    /** Registers saved skills as SkillService loads or creates them. */
+    public void add(Collection<Skill> skills) {
+        for (Skill s : skills) byName.computeIfAbsent(normalize(s.getName()), k -> next.getAndIncrement());
+    }
+
+    /** Looks {@code names} up without registering the ones it doesn't know. */
+    public SkillSet of(Collection<String> names) {
+        BitSet known = new BitSet(next.get());
+        Set<String> unseen = new HashSet<>();
+        for (String n : names) {
+            if (n == null || n.isBlank()) continue;
+            String key = normalize(n);
+            Integer i = byName.get(key);
+            if (i != null) known.set(i);
+            else unseen.add(key);
+        }
+        return new SkillSet(known, unseen);
+    }
+
+    /** "  Spring   Boot " → "spring boot"; same as the expression behind idx_skills_name_key. */
+    public static String normalize(String name) {
+        return TextUtils.collapseWhitespace(name).toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,15 +1,19 @@
 package com.yourname.backend.services;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.yourname.backend.exceptions.OpenAiException;
+import com.yourname.backend.scoring.ScoreBlender;
+import com.yourname.backend.scoring.ScoreInputs;
+import com.yourname.backend.util.Futures;
+import com.yourname.backend.util.HashUtils;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.*;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class AiService {
@@ -17,94 +21,96 @@ public class AiService {
     private static final Logger log = LoggerFactory.getLogger(AiService.class);
     private final ObjectMapper mapper = new ObjectMapper();
 
-    @Value("${ai.python-executable:python3}")
-    private String PYTHON;
-
-    @Value("${python.scorer}")
-    private String SCORER_SCRIPT;
-
     @Autowired
     private OpenAiHelper openAiHelper;
 
+    @Autowired
+    private ScoreBlender blender;
+
+    private String scorerVersion;
+
+    /** {@code partial}: a component could not score (LLM down), so this is not kept as the pair's score. */
     public static record ScoreBundle(
             double finalScore,
             double semanticScore,
             double skillsScore,
             double educationScore,
             double experienceScore,
-            double overlap,   // ← NEW: raw semantic-matcher overlap %
-            double llmScore   // ← NEW: OpenAI score
+            double overlap,   // ← NEW: raw embedding overlap %
+            double llmScore,  // ← NEW: OpenAI score
+            boolean partial
     ) { }
 
+    @PostConstruct
+    void init() {
+        String llm = blender.needsLlm() ? openAiHelper.model() + "|" + OpenAiHelper.PROMPT_VERSION : "no-llm";
+        scorerVersion = HashUtils.sha256(blender.version() + "|" + llm).substring(0, 12);
+        log.info("Scorer version {}", scorerVersion);
+    }
+
+    /** Changes whenever a weight, the LLM model or its prompt changes; stored with every score. */
+    public String scorerVersion() {
+        return scorerVersion;
+    }
+
     /**
-     * Runs the scorer pipeline and returns all component scores.
+     * Starts the LLM grading; it only needs the two parsed JSONs.  Completes with null
+     * straight away when no weighted component uses it.
+     */
+    public CompletableFuture<OpenAiHelper.Grades> llmGrades(String parsedResumeJson, String parsedJobJson) {
+        if (!blender.needsLlm()) return CompletableFuture.completedFuture(null);
+        return openAiHelper.grade(parsedResumeJson, parsedJobJson);
+    }
+
+    /**
+     * Blends the score components once the LLM grades (computed concurrently) are in.
+     * If the LLM failed the blend goes on without it and the bundle is partial.
      *
      * @param resumePlainTxt   plain-text resume
      * @param jobPlainTxt      plain-text JD
      * @param parsedResumeJson JSON from ResumeParser.py
      * @param parsedJobJson    JSON from JobDescriptionParser.py
-     * @param overlapScore     % overlap already produced by semantic_matcher.py
+     * @param overlapScore     % semantic overlap from the stored embeddings
+     * @param resumeEmbedding  stored resume vector
+     * @param jobEmbedding     stored job vector
+     * @param llmGrades        pending result of {@link #llmGrades}
+     * @param asOf             month "present" means in the work history – the resume's upload month
      */
     public ScoreBundle scoreResume(
             String resumePlainTxt,
             String jobPlainTxt,
             String parsedResumeJson,
             String parsedJobJson,
-            double overlapScore
+            double overlapScore,
+            float[] resumeEmbedding,
+            float[] jobEmbedding,
+            CompletableFuture<OpenAiHelper.Grades> llmGrades,
+            YearMonth asOf
     ) throws IOException, InterruptedException {
 
-        double llmScore = openAiHelper.compareResumeAndJob(parsedResumeJson, parsedJobJson);
-        log.debug("OpenAI returned LLMscore={}", llmScore);
-        ObjectNode root = mapper.createObjectNode();
-        root.put("Overlap",   overlapScore);
-        root.put("LLMscore",  llmScore);
-        root.put("resume_text", resumePlainTxt);
-        root.put("job_text",    jobPlainTxt);
-        root.set("resume_json", mapper.readTree(parsedResumeJson));
-        root.set("job_json",    mapper.readTree(parsedJobJson));
-        String input = mapper.writeValueAsString(root);
-
-        ProcessBuilder pb = new ProcessBuilder(PYTHON, SCORER_SCRIPT);
-        pb.redirectErrorStream(true);
-        Process p = pb.start();
-
-        try (BufferedWriter w = new BufferedWriter(
-                new OutputStreamWriter(p.getOutputStream(), StandardCharsets.UTF_8))) {
-            w.write(input);
-        }
-
-        String lastLine = null;
-        try (BufferedReader r = new BufferedReader(
-                new InputStreamReader(p.getInputStream(), StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = r.readLine()) != null) lastLine = line;
-        }
-        if (lastLine == null) lastLine = "{}";
-
-        int exit = p.waitFor();
-        log.debug("score_resumes.py exited with code {}", exit);
-        if (exit != 0) {
-            log.error("Scorer failed. Output was:\n{}", lastLine);
-            throw new RuntimeException("Scorer script failed – see logs.");
+        OpenAiHelper.Grades grades = null;
+        try {
+            grades = Futures.join(llmGrades);
+        } catch (OpenAiException e) {
+            log.warn("LLM grades unavailable, blending without them: {}", e.getMessage());
         }
 
-        JsonNode n = mapper.readTree(lastLine);
-        double finalScore      = n.get("FinalScore").asDouble();
-        double semanticScore   = n.get("SemanticScore").asDouble();
-        double skillsScore     = n.get("SkillsScore").asDouble();
-        double educationScore  = n.get("EducationScore").asDouble();
-        double experienceScore = n.get("ExperienceScore").asDouble();
+        ScoreBlender.Blend b = blender.blend(new ScoreInputs(
+                resumePlainTxt, jobPlainTxt,
+                mapper.readTree(parsedResumeJson), mapper.readTree(parsedJobJson),
+                resumeEmbedding, jobEmbedding, overlapScore, grades, asOf));
 
-        log.info("Final blended score returned: {}", finalScore);
+        log.info("Final blended score returned: {}{}", b.finalScore(), b.partial() ? " (partial)" : "");
 
         return new ScoreBundle(
-                finalScore,
-                semanticScore,
-                skillsScore,
-                educationScore,
-                experienceScore,
-                overlapScore,
-                llmScore
+                b.finalScore(),
+                b.get("semantic"),
+                b.get("skills"),
+                b.get("education"),
+                b.get("experience"),
+                b.get("overlap"),
+                b.get("llm"),
+                b.partial()
         );
     }
 }
@@ -0,0 +1,252 @@
+package com.yourname.backend.services;
+
+import com.yourname.backend.dto.BulkUploadEventDto;
+import com.yourname.backend.entities.JobDescription;
+import com.yourname.backend.storage.StorageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * {@code POST /resume/bulk}: many resumes in one request, as separate parts and/or ZIPs.
+ * <p>
+ * One reader walks the parts and ZIP entries in order, streaming each file straight to
+ * {@link StorageService} (an archive is never unpacked in memory or on disk as a whole),
+ * and hands it to {@link IngestionService#ingest}.  At most {@code bulk.parallelism} files
+ * are in flight per request; the reader waits for a slot before it reads the next entry,
+ * so a large archive never gets far ahead of the parser.
+ */
+@Service
+public class BulkUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkUploadService.class);
+    private static final String PDF  = "application/pdf";
+    private static final String DOCX = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+
+    private final StorageService storageService;
+    private final IngestionService ingestion;
+    private final ExecutorService stages;
+
+    @Value("${bulk.parallelism:4}")
+    private int parallelism;
+
+    @Value("${bulk.max-files:500}")
+    private int maxFiles;
+
+    @Value("${upload.max-resume-size:10MB}")
+    private DataSize maxResumeSize;
+
+    public BulkUploadService(StorageService storageService,
+                             IngestionService ingestion,
+                             @Qualifier("stageExecutor") ExecutorService stages) {
+        this.storageService = storageService;
+        this.ingestion = ingestion;
+        this.stages = stages;
+    }
+
+    public record Summary(int total, int succeeded, int failed, int skipped, long elapsedMs) { }
+
+    /**
+     * Reads and ingests every file in {@code parts} in the background, scoring each against
+     * all of {@code jobs}.  {@code events} is called from several threads as files progress;
+     * once {@code cancelled} is set no further files are read.
+     */
+    public CompletableFuture<Summary> upload(List<MultipartFile> parts, List<JobDescription> jobs,
+                                             AtomicBoolean cancelled, Consumer<BulkUploadEventDto> events) {
+        Run run = new Run(jobs, cancelled, events);
+        return CompletableFuture.supplyAsync(() -> run.all(parts), stages);
+    }
+
+    /** State of one bulk request. */
+    private final class Run {
+        final List<JobDescription> jobs;
+        final AtomicBoolean cancelled;
+        final Consumer<BulkUploadEventDto> events;
+        final Semaphore permits = new Semaphore(parallelism);
+        final List<CompletableFuture<Void>> inFlight = new ArrayList<>();
+        final AtomicInteger succeeded = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final AtomicInteger skipped = new AtomicInteger();
+        final long t0 = System.currentTimeMillis();
+        int next;                       // reader thread only
+
+        Run(List<JobDescription> jobs, AtomicBoolean cancelled, Consumer<BulkUploadEventDto> events) {
+            this.jobs = jobs;
+            this.cancelled = cancelled;
+            this.events = events;
+        }
+
+        Summary all(List<MultipartFile> parts) {
+            try {
+                for (MultipartFile part : parts) {
+                    if (cancelled.get()) break;
+                    String name = part.getOriginalFilename();
+                    try (InputStream in = part.getInputStream()) {
+                        if (isZip(name, part.getContentType())) zip(name, in);
+                        else file(name, contentType(name, part.getContentType()), in);
+                    } catch (IOException e) {
+                        // unreadable part or corrupt archive: report it and go on with the next part
+                        failed.incrementAndGet();
+                        events.accept(new BulkUploadEventDto(next++, name, "failed", null, null,
+                                "Could not read upload: " + e.getMessage(), 0));
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelled.set(true);
+            }
+            CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+            return new Summary(next, succeeded.get(), failed.get(), skipped.get(), System.currentTimeMillis() - t0);
+        }
+
+        void zip(String archive, InputStream in) throws IOException, InterruptedException {
+            ZipInputStream zin = new ZipInputStream(in);
+            ZipEntry entry;
+            while (!cancelled.get() && (entry = zin.getNextEntry()) != null) {
+                String path = entry.getName();
+                String name = path.substring(path.lastIndexOf('/') + 1);
+                // folders and the metadata macOS adds to archives are not resumes
+                if (entry.isDirectory() || name.isEmpty() || name.startsWith(".") || path.startsWith("__MACOSX/")) continue;
+                file(name, contentType(name, null), zin);
+            }
+            log.debug("Read archive {}", archive);
+        }
+
+        /** Stores one file from {@code in} (left open) and queues its ingestion. */
+        void file(String name, String contentType, InputStream in) throws InterruptedException {
+            int index = next++;
+            if (index >= maxFiles) {
+                skipped(index, name, "Only " + maxFiles + " files are accepted per request");
+                return;
+            }
+            if (contentType == null) {
+                skipped(index, name, "Only PDF or DOCX allowed");
+                return;
+            }
+
+            permits.acquire();          // back-pressure: don't read ahead of the ingest slots
+            long t = System.currentTimeMillis();
+            String stored;
+            long size;
+            try {
+                stored = storageService.store(new Limited(in, maxResumeSize.toBytes()), name);
+                size = Files.size(Path.of(stored));
+            } catch (IOException | IllegalArgumentException e) {
+                permits.release();
+                failed(index, name, e.getMessage(), t);
+                return;
+            }
+            events.accept(new BulkUploadEventDto(index, name, "stored", null, null, null,
+                    System.currentTimeMillis() - t));
+
+            inFlight.add(CompletableFuture
+                    .runAsync(() -> ingest(index, name, contentType, stored, size, t), stages)
+                    .whenComplete((v, e) -> permits.release()));
+        }
+
+        void ingest(int index, String name, String contentType, String stored, long size, long t) {
+            try {
+                IngestionService.Ingested in = ingestion.ingest(stored, name, contentType, size, candidateName(name), jobs);
+                List<BulkUploadEventDto.JobScore> scores = in.scores().entrySet().stream()
+                        .map(e -> new BulkUploadEventDto.JobScore(e.getKey(), e.getValue().finalScore()))
+                        .toList();
+                succeeded.incrementAndGet();
+                events.accept(new BulkUploadEventDto(index, name, "done", in.resume().getId(), scores, null,
+                        System.currentTimeMillis() - t));
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+                log.warn("Bulk upload of {} failed: {}", name, e.getMessage());
+                failed(index, name, e.getMessage(), t);
+            }
+        }
+
+        void skipped(int index, String name, String why) {
+            skipped.incrementAndGet();
+            events.accept(new BulkUploadEventDto(index, name, "skipped", null, null, why, 0));
+        }
+
+        void failed(int index, String name, String why, long t) {
+            failed.incrementAndGet();
+            events.accept(new BulkUploadEventDto(index, name, "failed", null, null, why,
+                    System.currentTimeMillis() - t));
+        }
+    }
+
+    /** "jane_doe-cv.pdf" → "jane doe cv": bulk uploads carry no candidate name of their own. */
+    static String candidateName(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        String base = dot > 0 ? fileName.substring(0, dot) : fileName;
+        return base.replaceAll("[_\\-.]+", " ").strip();
+    }
+
+    private static boolean isZip(String name, String contentType) {
+        return "application/zip".equals(contentType) || "application/x-zip-compressed".equals(contentType)
+                || (name != null && name.toLowerCase(Locale.ROOT).endsWith(".zip"));
+    }
+
+    /** PDF or DOCX by declared type or extension; null for anything else. */
+    private static String contentType(String name, String declared) {
+        if (PDF.equals(declared) || DOCX.equals(declared)) return declared;
+        String n = name == null ? "" : name.toLowerCase(Locale.ROOT);
+        if (n.endsWith(".pdf"))  return PDF;
+        if (n.endsWith(".docx")) return DOCX;
+        return null;
+    }
+
+    /** Fails the copy once more than {@code max} bytes were read; leaves the underlying stream open. */
+    private static final class Limited extends FilterInputStream {
+        private final long max;
+        private long left;
+
+        Limited(InputStream in, long max) {
+            super(in);
+            this.max = max;
+            this.left = max;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count(n);
+            return n;
+        }
+
+        @Override
+        public void close() {
+            // the ZIP stream or part stream belongs to the caller
+        }
+
+        private void count(int n) throws IOException {
+            left -= n;
+            if (left < 0) throw new IOException("File is larger than " + DataSize.ofBytes(max).toMegabytes() + "MB");
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.yourname.backend.services;
+
+import com.yourname.backend.embedding.EmbeddingEngine;
+import com.yourname.backend.embedding.HnswIndex;
+import com.yourname.backend.entities.Embedding;
+import com.yourname.backend.entities.Embedding.OwnerType;
+import com.yourname.backend.repositories.EmbeddingRepository;
+import com.yourname.backend.repositories.ResumeRepository;
+import com.yourname.backend.util.VectorMath;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory HNSW index over resume embeddings, used to shortlist candidates
+ * for a job without scoring every resume.
+ * <p>
+ * On start-up the index is read from its snapshot file (if it was written for the
+ * current model version) and reconciled with the {@code embeddings} table; resumes
+ * that have no embedding yet are encoded in the background.  Uploads and deletes
+ * update it incrementally, and it is snapshotted to disk periodically and on shutdown.
+ */
+@Service
+public class CandidateIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(CandidateIndexService.class);
+    private static final int LOAD_CHUNK = 500;
+
+    private final EmbeddingRepository embeddingRepo;
+    private final EmbeddingEngine engine;
+    private final EmbeddingService embeddings;
+    private final ResumeRepository resumeRepo;
+    private final ResumeArtifactService resumeArtifacts;
+
+    @Value("${candidates.index.path:data/resume-hnsw.bin}")
+    private String indexPath;
+
+    @Value("${candidates.index.m:16}")
+    private int m;
+
+    @Value("${candidates.index.ef-construction:200}")
+    private int efConstruction;
+
+    @Value("${candidates.index.ef-search:100}")
+    private int efSearch;
+
+    @Value("${candidates.index.snapshot-interval-seconds:300}")
+    private long snapshotIntervalSeconds;
+
+    @Value("${candidates.index.backfill:true}")
+    private boolean backfill;
+
+    private volatile HnswIndex index;
+    private final Map<Long, String> hashes = new ConcurrentHashMap<>();    // text hash of each indexed vector
+    private Map<Long, float[]> replay;      // adds (removes as null) made during a rebuild; guarded by this
+    private volatile boolean ready;
+    private volatile boolean complete;      // ready, and resumes without an embedding have been encoded
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private ScheduledExecutorService scheduler;
+
+    public CandidateIndexService(EmbeddingRepository embeddingRepo,
+                                 EmbeddingEngine engine,
+                                 EmbeddingService embeddings,
+                                 ResumeRepository resumeRepo,
+                                 ResumeArtifactService resumeArtifacts) {
+        this.embeddingRepo = embeddingRepo;
+        this.engine = engine;
+        this.embeddings = embeddings;
+        this.resumeRepo = resumeRepo;
+        this.resumeArtifacts = resumeArtifacts;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "candidate-index");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.execute(this::load);
+        scheduler.scheduleWithFixedDelay(this::snapshotIfDirty,
+                snapshotIntervalSeconds, snapshotIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) scheduler.shutdownNow();
+        snapshotIfDirty();
+    }
+
+    /** False until the snapshot has been loaded and reconciled with the database. */
+    public boolean isReady() { return ready; }
+
+    /** True once every resume is in the index – false while the backfill still encodes old ones. */
+    public boolean isComplete() { return complete; }
+
+    public void add(Long resumeId, EmbeddingService.Vector v) {
+        synchronized (this) {
+            if (replay != null) replay.put(resumeId, v.values());
+            indexFor(v.values().length).add(resumeId, v.values());
+        }
+        hashes.put(resumeId, v.textHash());      // after the vector: see snapshotIfDirty
+        dirty.set(true);
+    }
+
+    public void remove(Long resumeId) {
+        boolean removed;
+        synchronized (this) {
+            if (replay != null) replay.put(resumeId, null);
+            removed = index != null && index.remove(resumeId);
+        }
+        hashes.remove(resumeId);
+        if (removed) dirty.set(true);
+    }
+
+    /** Up to {@code k} resume ids closest to {@code query}, best first. */
+    public List<HnswIndex.Hit> search(float[] query, int k) {
+        HnswIndex idx = index;
+        if (idx == null || idx.dim() != query.length) return List.of();
+        return idx.search(query, k, Math.max(efSearch, k));
+    }
+
+    private synchronized HnswIndex indexFor(int dim) {
+        if (index == null || index.dim() != dim) {
+            if (index != null) log.warn("Embedding dimension changed {} → {}, starting a new index", index.dim(), dim);
+            index = new HnswIndex(dim, m, efConstruction);
+        }
+        return index;
+    }
+
+    private void load() {
+        long t0 = System.currentTimeMillis();
+        try {
+            HnswIndex snap = readSnapshot();
+            if (snap != null) {
+                synchronized (this) { index = snap; }
+            }
+
+            Map<Long, String> stored = new HashMap<>();
+            for (Object[] row : embeddingRepo.findOwnerHashes(OwnerType.RESUME, engine.model(), engine.version()))
+                stored.put((Long) row[0], (String) row[1]);
+            Set<Long> indexed = index == null ? Set.of() : index.ids();
+            indexed.stream().filter(id -> !stored.containsKey(id)).forEach(this::remove);
+            // missing, or indexed with a vector of text that has since been re-embedded
+            List<Long> missing = stored.keySet().stream()
+                    .filter(id -> !indexed.contains(id) || !stored.get(id).equals(hashes.get(id)))
+                    .toList();
+            for (int i = 0; i < missing.size(); i += LOAD_CHUNK) {
+                List<Long> chunk = missing.subList(i, Math.min(i + LOAD_CHUNK, missing.size()));
+                for (Embedding e : embeddingRepo.findByOwnerTypeAndModelAndModelVersionAndOwnerIdIn(
+                        OwnerType.RESUME, engine.model(), engine.version(), chunk)) {
+                    add(e.getOwnerId(), new EmbeddingService.Vector(e.getTextHash(), VectorMath.fromBytes(e.getVector())));
+                }
+                dirty.set(true);
+            }
+            if (index != null && index.deletedRatio() > 0.3) rebuild();
+
+            ready = true;
+            log.info("Candidate index ready: {} resumes ({} from snapshot, {} loaded) in {} ms",
+                    index == null ? 0 : index.size(), indexed.size(), missing.size(), System.currentTimeMillis() - t0);
+
+            if (backfill) backfill(stored.keySet());
+            complete = true;
+            snapshotIfDirty();
+        } catch (Exception e) {
+            log.error("Could not load candidate index", e);
+            ready = true;   // serve whatever was loaded; uploads keep adding to it
+            complete = true;
+        }
+    }
+
+    /** Encodes resumes uploaded before embeddings were stored (or under an older model). */
+    private void backfill(Set<Long> stored) {
+        List<Long> todo = resumeRepo.findAllIds().stream().filter(id -> !stored.contains(id)).toList();
+        if (todo.isEmpty()) return;
+        log.info("Encoding {} resumes without a current embedding", todo.size());
+        for (Long id : todo) {
+            if (Thread.currentThread().isInterrupted()) return;
+            try {
+                resumeRepo.findById(id).ifPresent(r -> {
+                    try {
+                        add(id, embeddings.vectorFor(OwnerType.RESUME, id, resumeArtifacts.plainText(r)));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.warn("Could not embed resume {}: {}", id, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Drops tombstones by re-inserting the live vectors from the database.  Adds and removes
+     * made meanwhile go to the old index and are replayed onto the new one before the swap.
+     */
+    private void rebuild() {
+        HnswIndex old;
+        List<Long> ids;
+        synchronized (this) {
+            old = index;
+            ids = new ArrayList<>(old.ids());
+            replay = new HashMap<>();
+        }
+        HnswIndex fresh = new HnswIndex(old.dim(), m, efConstruction);
+        for (int i = 0; i < ids.size(); i += LOAD_CHUNK) {
+            for (Embedding e : embeddingRepo.findByOwnerTypeAndModelAndModelVersionAndOwnerIdIn(
+                    OwnerType.RESUME, engine.model(), engine.version(), ids.subList(i, Math.min(i + LOAD_CHUNK, ids.size())))) {
+                fresh.add(e.getOwnerId(), VectorMath.fromBytes(e.getVector()));
+            }
+        }
+        synchronized (this) {
+            replay.forEach((id, v) -> {
+                if (v == null) fresh.remove(id);
+                else if (v.length == fresh.dim()) fresh.add(id, v);
+            });
+            replay = null;
+            index = fresh;
+        }
+        dirty.set(true);
+        log.info("Candidate index compacted: {} live entries", fresh.size());
+    }
+
+    private String header() {
+        return engine.model() + "@" + engine.version();
+    }
+
+    private HnswIndex readSnapshot() {
+        Path file = Path.of(indexPath);
+        if (!Files.isRegularFile(file)) return null;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            String header = HnswIndex.readHeader(in);
+            if (!header().equals(header)) {
+                log.info("Candidate index snapshot is for {}, current model is {} – rebuilding", header, header());
+                return null;
+            }
+            HnswIndex idx = HnswIndex.read(in);
+            readHashes(in);
+            return idx;
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable candidate index snapshot {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /** Text hashes follow the graph; snapshots written before they were added have none. */
+    private void readHashes(DataInputStream in) throws IOException {
+        hashes.clear();
+        try {
+            for (int n = in.readInt(); n > 0; n--) hashes.put(in.readLong(), in.readUTF());
+        } catch (EOFException e) {
+            hashes.clear();             // every vector is reloaded from the embeddings table
+        }
+    }
+
+    private void snapshotIfDirty() {
+        HnswIndex idx = index;
+        if (idx == null || !dirty.getAndSet(false)) return;
+        // hashes are copied before the graph and updated after it, so an add racing the
+        // snapshot leaves at worst a hash older than its vector – reloaded on the next start
+        Map<Long, String> hashCopy = new HashMap<>(hashes);
+        Path file = Path.of(indexPath).toAbsolutePath();
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(), "resume-hnsw-", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                idx.write(out, header());
+                out.writeInt(hashCopy.size());
+                for (Map.Entry<Long, String> h : hashCopy.entrySet()) {
+                    out.writeLong(h.getKey());
+                    out.writeUTF(h.getValue());
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Candidate index snapshot written: {} entries", idx.size());
+        } catch (IOException e) {
+            dirty.set(true);
+            log.warn("Could not write candidate index snapshot {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.yourname.backend.services;
+
+import com.yourname.backend.embedding.EmbeddingEngine;
+import com.yourname.backend.entities.Embedding;
+import com.yourname.backend.entities.Embedding.OwnerType;
+import com.yourname.backend.repositories.EmbeddingRepository;
+import com.yourname.backend.util.HashUtils;
+import com.yourname.backend.util.TextUtils;
+import com.yourname.backend.util.VectorMath;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+
+/**
+ * Sentence embeddings of resumes and jobs, encoded once and kept in the
+ * {@code embeddings} table.  A stored vector is reused as long as the text
+ * hash, model and model version still match, so rescoring encodes nothing.
+ */
+@Service
+public class EmbeddingService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddingService.class);
+
+    private final EmbeddingRepository embeddingRepo;
+    private final EmbeddingEngine engine;
+
+    public EmbeddingService(EmbeddingRepository embeddingRepo, EmbeddingEngine engine) {
+        this.embeddingRepo = embeddingRepo;
+        this.engine = engine;
+    }
+
+    /** An embedding together with the hash of the text it was computed from. */
+    public record Vector(String textHash, float[] values) { }
+
+    /** Encodes {@code text} without storing it – for rows that have no id yet. */
+    public Vector embed(String text) throws IOException, InterruptedException {
+        String clean = TextUtils.collapseWhitespace(text);
+        return new Vector(HashUtils.sha256(clean), engine.embed(clean));
+    }
+
+    /**
+     * Stored vector for the owner's current text, encoding and saving it if missing or stale.
+     * Runs outside a transaction so no connection is held while encoding.
+     */
+    public Vector vectorFor(OwnerType type, Long ownerId, String text) throws IOException, InterruptedException {
+        String clean = TextUtils.collapseWhitespace(text);
+        String hash = HashUtils.sha256(clean);
+        Embedding e = embeddingRepo.findByOwnerTypeAndOwnerIdAndModel(type, ownerId, engine.model()).orElse(null);
+        if (e != null && hash.equals(e.getTextHash()) && engine.version().equals(e.getModelVersion()))
+            return new Vector(hash, VectorMath.fromBytes(e.getVector()));
+
+        log.debug("Encoding {} {} with {} {}", type, ownerId, engine.model(), engine.version());
+        Vector v = new Vector(hash, engine.embed(clean));
+        store(type, ownerId, v);
+        return v;
+    }
+
+    /** Saves {@code v} as the owner's vector; safe against concurrent inserts of the same owner. */
+    public void store(OwnerType type, Long ownerId, Vector v) {
+        embeddingRepo.upsert(type.name(), ownerId, engine.model(), engine.version(),
+                v.values().length, v.textHash(), VectorMath.toBytes(v.values()));
+    }
+
+    @Transactional
+    public void delete(OwnerType type, Long ownerId) {
+        embeddingRepo.deleteByOwner(type, ownerId);
+    }
+
+    /** Cosine similarity clamped to 0…100, the scale of the other score components. */
+    public static double similarity(Vector a, Vector b) {
+        double cos = VectorMath.cosine(a.values(), b.values());
+        return Math.max(0.0, Math.min(1.0, cos)) * 100.0;
+    }
+}
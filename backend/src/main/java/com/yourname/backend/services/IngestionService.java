@@ -0,0 +1,430 @@
+package com.yourname.backend.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.backend.entities.Embedding.OwnerType;
+import com.yourname.backend.entities.Experience;
+import com.yourname.backend.entities.JobDescription;
+import com.yourname.backend.entities.Resume;
+import com.yourname.backend.entities.Resume.ProcessingStatus;
+import com.yourname.backend.entities.Skill;
+import com.yourname.backend.repositories.JobDescriptionRepository;
+import com.yourname.backend.repositories.ResumeRepository;
+import com.yourname.backend.storage.StorageService;
+import com.yourname.backend.util.Futures;
+import com.yourname.backend.util.TextUtils;
+import com.yourname.backend.util.Threads;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+import static com.yourname.backend.util.CitationCleaner.strip;
+
+/**
+ * Resume ingestion: the synchronous path shared by {@code POST /resume/upload} and
+ * {@code /resume/bulk}, and the background pipeline behind {@code ?async=true}.
+ * <p>
+ * The request thread only stores the file and inserts the row (STORED); the rest
+ * runs on one executor per stage so a slow LLM stage cannot starve the cheap ones:
+ * <pre>
+ *   extract  – plain text + embedding          → EXTRACTED
+ *   parse    – ResumeParser.py, skills, fields → PARSED
+ *   score    – only if a job was given         → SCORED
+ * </pre>
+ * Any failure marks the resume FAILED with the error.  Rows left mid-pipeline by a
+ * restart are picked up again on start-up.
+ */
+@Service
+public class IngestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestionService.class);
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final ResumeRepository resumeRepo;
+    private final JobDescriptionRepository jobRepo;
+    private final StorageService storageService;
+    private final TextExtractionService textExtraction;
+    private final ResumeArtifactService resumeArtifacts;
+    private final EmbeddingService embeddings;
+    private final CandidateIndexService candidateIndex;
+    private final SkillService skillService;
+    private final SkillTagger skillTagger;
+    private final SkillIndexService skillIndex;
+    private final TextIndexService textIndex;
+    private final ScoringService scoring;
+    private final TransactionTemplate tx;
+    private final MeterRegistry meters;
+    private final ExecutorService stages;
+
+    @Value("${ingest.extract.threads:4}")
+    private int extractThreads;
+
+    @Value("${ingest.parse.threads:2}")
+    private int parseThreads;
+
+    @Value("${ingest.score.threads:2}")
+    private int scoreThreads;
+
+    @Value("${ingest.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value(Threads.VIRTUAL)
+    private boolean virtualThreads;
+
+    private ThreadPoolExecutor extractPool;
+    private ThreadPoolExecutor parsePool;
+    private ThreadPoolExecutor scorePool;
+
+    public IngestionService(ResumeRepository resumeRepo,
+                            JobDescriptionRepository jobRepo,
+                            StorageService storageService,
+                            TextExtractionService textExtraction,
+                            ResumeArtifactService resumeArtifacts,
+                            EmbeddingService embeddings,
+                            CandidateIndexService candidateIndex,
+                            SkillService skillService,
+                            SkillTagger skillTagger,
+                            SkillIndexService skillIndex,
+                            TextIndexService textIndex,
+                            ScoringService scoring,
+                            PlatformTransactionManager txManager,
+                            MeterRegistry meters,
+                            @Qualifier("stageExecutor") ExecutorService stages) {
+        this.resumeRepo = resumeRepo;
+        this.jobRepo = jobRepo;
+        this.storageService = storageService;
+        this.textExtraction = textExtraction;
+        this.resumeArtifacts = resumeArtifacts;
+        this.embeddings = embeddings;
+        this.candidateIndex = candidateIndex;
+        this.skillService = skillService;
+        this.skillTagger = skillTagger;
+        this.skillIndex = skillIndex;
+        this.textIndex = textIndex;
+        this.scoring = scoring;
+        this.tx = new TransactionTemplate(txManager);
+        this.meters = meters;
+        this.stages = stages;
+    }
+
+    /** A synchronously ingested resume and its score for each requested job. */
+    public record Ingested(Resume resume, Map<Long, AiService.ScoreBundle> scores) { }
+
+    @PostConstruct
+    void init() {
+        // only the first stage is bounded: once accepted, an upload must be able to finish
+        extractPool = stage("extract", extractThreads, new ArrayBlockingQueue<>(queueCapacity));
+        parsePool   = stage("parse",   parseThreads,   new LinkedBlockingQueue<>());
+        scorePool   = stage("score",   scoreThreads,   new LinkedBlockingQueue<>());
+    }
+
+    @PreDestroy
+    void stop() {
+        extractPool.shutdownNow();
+        parsePool.shutdownNow();
+        scorePool.shutdownNow();
+    }
+
+    /**
+     * Parses, embeds and saves an already stored resume file, scoring it against every
+     * job in {@code jobs}.  Parse, extract→embed and each job's inputs run concurrently;
+     * the resume-side results are shared by all jobs.
+     */
+    public Ingested ingest(String resumePath, String fileName, String contentType, long size,
+                           String candidateName, List<JobDescription> jobs)
+            throws IOException, InterruptedException {
+        LocalDateTime uploaded = LocalDateTime.now();
+        CompletableFuture<ResumeArtifactService.ParsedResume> parsedF =
+                Futures.supply(() -> resumeArtifacts.parse(resumePath), stages);
+        CompletableFuture<String> textF = Futures.supply(() -> textExtraction.extract(resumePath), stages);
+        CompletableFuture<EmbeddingService.Vector> vecF = Futures.then(textF, embeddings::embed, stages);
+        CompletableFuture<String> jsonF = parsedF.thenApply(ResumeArtifactService.ParsedResume::json);
+
+        Map<Long, CompletableFuture<ScoringService.JobInputs>> jobF = new LinkedHashMap<>();
+        Map<Long, CompletableFuture<AiService.ScoreBundle>> scoresF = new LinkedHashMap<>();
+        for (JobDescription jd : jobs) {
+            CompletableFuture<ScoringService.JobInputs> job = scoring.jobInputs(jd);
+            jobF.put(jd.getId(), job);
+            scoresF.put(jd.getId(), scoring.score(textF, jsonF, vecF, job, YearMonth.from(uploaded)));
+        }
+
+        ResumeArtifactService.ParsedResume parsed = Futures.join(parsedF);
+        String resumePlainTxt = Futures.join(textF);
+        EmbeddingService.Vector resumeVec = Futures.join(vecF);
+        Map<Long, AiService.ScoreBundle> scores = new LinkedHashMap<>();
+        for (var e : scoresF.entrySet()) scores.put(e.getKey(), Futures.join(e.getValue()));
+
+        // one transaction, so the skills are still managed when save() cascades to them –
+        // bulk uploads run here on stage threads, without the request's open session
+        Resume saved = tx.execute(s -> {
+            Resume r = new Resume(fileName, candidateName, resumePath);
+            r.setUploadDate(uploaded);   // the month the scores above counted "present" up to
+            r.setContentType(contentType);
+            r.setSize(size);
+            r.setPlainText(resumePlainTxt);
+            ResumeArtifactService.apply(r, parsed);
+            try {
+                populate(r, parsed.json());
+            } catch (IOException e) {
+                throw new IllegalStateException("ResumeParser.py returned invalid JSON: " + e.getMessage(), e);
+            }
+            r.setStatus("New");
+            r.setProcessingStatus(scores.isEmpty() ? ProcessingStatus.PARSED : ProcessingStatus.SCORED);
+            return resumeRepo.save(r);
+        });
+        skillIndex.put(saved);
+        textIndex.put(saved);
+        embeddings.store(OwnerType.RESUME, saved.getId(), resumeVec);
+        candidateIndex.add(saved.getId(), resumeVec);
+        scores.forEach((jobId, s) ->
+                scoring.record(saved.getId(), saved.getContentHash(), jobF.get(jobId).join().artifacts(), s));
+        return new Ingested(saved, scores);
+    }
+
+    /**
+     * Stores the file, inserts the resume as STORED and queues the remaining stages.
+     *
+     * @throws ResponseStatusException 503 when the extract queue is full
+     */
+    public Resume accept(MultipartFile file, String candidateName, Long jobId) throws IOException {
+        if (extractPool.getQueue().remainingCapacity() == 0)
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many uploads in progress – try again later");
+        if (jobId != null && !jobRepo.existsById(jobId))
+            throw new IllegalArgumentException("Invalid jobId " + jobId);
+
+        String resumePath = storageService.store(file);
+        Resume r = new Resume(file.getOriginalFilename(), candidateName, resumePath);
+        r.setContentType(file.getContentType());
+        r.setSize(file.getSize());
+        r.setProcessingStatus(ProcessingStatus.STORED);
+        r.setScoreJobId(jobId);
+        Resume saved = resumeRepo.save(r);
+        skillIndex.put(saved);
+        try {
+            submit(extractPool, saved.getId(), this::extract);
+        } catch (RejectedExecutionException e) {
+            // the queue filled up since the check above
+            update(saved.getId(), x -> {
+                x.setProcessingStatus(ProcessingStatus.FAILED);
+                x.setProcessingError("Too many uploads in progress");
+            });
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many uploads in progress – try again later");
+        }
+        return saved;
+    }
+
+    /** True once the resume will not change any further: scored, parsed with no job, failed, or pre-pipeline. */
+    public static boolean isDone(Resume r) {
+        ProcessingStatus s = r.getProcessingStatus();
+        return s == null || s == ProcessingStatus.SCORED || s == ProcessingStatus.FAILED
+                || (s == ProcessingStatus.PARSED && r.getScoreJobId() == null);
+    }
+
+    /** Copies the ResumeParser.py fields, skills (plus those tagged in the text) and experience onto {@code r}. */
+    private void populate(Resume r, String parsedJson) throws IOException {
+        ParsedResume parsedRes = JSON.readValue(parsedJson, ParsedResume.class);
+        r.setEmail(strip(parsedRes.email));
+        r.setPhone(strip(parsedRes.phone_number));
+        r.setSummary(strip(parsedRes.summary));
+        r.setEducation(strip(parsedRes.education));
+
+        List<String> skills = skillTagger.withTagged(TextUtils.csvToList(parsedRes.skills), r.getPlainText());
+        r.setSkills(skillService.fetchOrCreateSkills(new HashSet<>(skills)));
+        Experience exp = new Experience(); exp.setDescription(parsedRes.work_experience); exp.setResume(r);
+        r.getExperiences().add(exp);
+    }
+
+    /** Outcome of {@link #retagAll}. */
+    public record Retagged(int resumes, int changed, int linksAdded) { }
+
+    /**
+     * Links every extracted resume to the skills the tagger now finds in its text, e.g. after
+     * the skill dictionary or the aliases grew.  Only adds links; the parser's stay.
+     */
+    public Retagged retagAll() {
+        int resumes = 0, changed = 0, added = 0;
+        for (Long id : resumeRepo.findAllIds()) {
+            Integer n = tx.execute(s -> retag(id));
+            resumes++;
+            if (n != null && n > 0) { changed++; added += n; }
+        }
+        log.info("Re-tagged {} resumes: {} gained {} skill links", resumes, changed, added);
+        return new Retagged(resumes, changed, added);
+    }
+
+    private int retag(Long id) {
+        Resume r = resumeRepo.findById(id).orElse(null);
+        if (r == null || r.getPlainText() == null) return 0;      // deleted, or not extracted yet
+        Set<String> tagged = skillTagger.tag(r.getPlainText());
+        if (tagged.isEmpty()) return 0;
+        Set<Long> have = new HashSet<>();
+        for (Skill s : r.getSkills()) have.add(s.getId());
+        int n = 0;
+        for (Skill s : skillService.fetchOrCreateSkills(tagged)) {
+            if (have.add(s.getId())) { r.getSkills().add(s); n++; }
+        }
+        if (n > 0) afterCommit(() -> skillIndex.put(r));
+        return n;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void resumeInterrupted() {
+        List<Resume> pending = resumeRepo.findByProcessingStatusIn(
+                List.of(ProcessingStatus.STORED, ProcessingStatus.EXTRACTED, ProcessingStatus.PARSED));
+        int n = 0;
+        for (Resume r : pending) {
+            switch (r.getProcessingStatus()) {
+                case STORED    -> submit(extractPool, r.getId(), this::extract);
+                case EXTRACTED -> submit(parsePool, r.getId(), this::parse);
+                default        -> {
+                    if (r.getScoreJobId() == null) continue;
+                    submit(scorePool, r.getId(), this::score);
+                }
+            }
+            n++;
+        }
+        if (n > 0) log.info("Re-queued {} resumes interrupted mid-ingestion", n);
+    }
+
+    /* --------------------------------------------------------------- stages */
+
+    private interface Stage {
+        void run(Long resumeId) throws Exception;
+    }
+
+    private void extract(Long id) throws Exception {
+        Resume r = load(id);
+        String text = textExtraction.extract(r.getFilePath());
+        EmbeddingService.Vector vec = embeddings.vectorFor(OwnerType.RESUME, id, text);
+        update(id, x -> {
+            x.setPlainText(text);
+            x.setProcessingStatus(ProcessingStatus.EXTRACTED);
+            afterCommit(() -> textIndex.put(x));
+        });
+        candidateIndex.add(id, vec);
+        // a delete that committed after the update already ran its candidateIndex.remove
+        if (!resumeRepo.existsById(id)) {
+            candidateIndex.remove(id);
+            return;
+        }
+        submit(parsePool, id, this::parse);
+    }
+
+    private void parse(Long id) throws Exception {
+        Resume r = load(id);
+        ResumeArtifactService.ParsedResume parsed = resumeArtifacts.parse(r.getFilePath());
+        tx.executeWithoutResult(s -> {
+            Resume x = load(id);
+            ResumeArtifactService.apply(x, parsed);
+            try {
+                populate(x, parsed.json());
+            } catch (IOException e) {
+                throw new IllegalStateException("ResumeParser.py returned invalid JSON: " + e.getMessage(), e);
+            }
+            x.setProcessingStatus(ProcessingStatus.PARSED);
+            afterCommit(() -> {
+                skillIndex.put(x);
+                textIndex.put(x);
+            });
+        });
+        if (r.getScoreJobId() != null) submit(scorePool, id, this::score);
+    }
+
+    private void score(Long id) throws Exception {
+        Resume r = load(id);
+        JobDescription jd = jobRepo.findById(r.getScoreJobId())
+                .orElseThrow(() -> new IllegalArgumentException("Job " + r.getScoreJobId() + " no longer exists"));
+        scoring.score(r, jd, false);
+        update(id, x -> x.setProcessingStatus(ProcessingStatus.SCORED));
+    }
+
+    private void submit(ExecutorService pool, Long id, Stage stage) {
+        pool.execute(() -> {
+            try {
+                stage.run(id);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("Ingestion of resume {} failed", id, e);
+                try {
+                    update(id, x -> {
+                        x.setProcessingStatus(ProcessingStatus.FAILED);
+                        x.setProcessingError(e.getMessage());
+                    });
+                } catch (RuntimeException ignored) {
+                    // resume was deleted while it was being processed
+                }
+            }
+        });
+    }
+
+    private Resume load(Long id) {
+        return resumeRepo.findById(id)
+                .orElseThrow(() -> new IllegalStateException("Resume " + id + " was deleted"));
+    }
+
+    private void update(Long id, Consumer<Resume> change) {
+        tx.executeWithoutResult(s -> change.accept(load(id)));
+    }
+
+    /**
+     * Runs {@code action} once the current transaction has committed, so the in-memory
+     * indexes never show a change that was rolled back.  The persistence context is still
+     * open then, so lazy collections of the resume can be read.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private ThreadPoolExecutor stage(String name, int threads, BlockingQueue<Runnable> queue) {
+        // the thread count is the stage's concurrency limit in either mode
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, queue,
+                Threads.factory("ingest-" + name, virtualThreads));
+        Gauge.builder("ingest.queued", pool, p -> p.getQueue().size()).tag("stage", name).register(meters);
+        Gauge.builder("ingest.active", pool, ThreadPoolExecutor::getActiveCount).tag("stage", name).register(meters);
+        return pool;
+    }
+
+    private static class ParsedResume {
+        public String email;
+        public String phone_number;
+        public String summary;
+        public String skills;
+        public String work_experience;
+        public String education;
+    }
+}
@@ -0,0 +1,175 @@
+package com.yourname.backend.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.backend.entities.JobDescription;
+import com.yourname.backend.python.PythonBridge;
+import com.yourname.backend.repositories.JobDescriptionRepository;
+import com.yourname.backend.util.HashUtils;
+import com.yourname.backend.util.SingleFlight;
+import com.yourname.backend.util.TextUtils;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.StreamSupport;
+
+/**
+ * Everything the scorers need from a job, computed once per job version.
+ * <p>
+ * The parsed JSON lives in {@code job_descriptions.parsed_json}; it is only rebuilt
+ * (one JobDescriptionParser.py run) when the description text changes or the parser
+ * script itself changes.  The derived pieces are cached in memory per job id.
+ */
+@Service
+public class JobArtifactService {
+
+    private static final Logger log = LoggerFactory.getLogger(JobArtifactService.class);
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final JobDescriptionRepository jobRepo;
+    private final PythonBridge python;
+    private final Map<Long, JobArtifacts> cache = new ConcurrentHashMap<>();
+    private final SingleFlight<Version, JobArtifacts> building = new SingleFlight<>();
+
+    private record Version(Long jobId, String descriptionHash) { }
+
+    @Value("${python.job-parser}")
+    private String JOB_PARSER;
+
+    private String parserVersion;
+
+    public JobArtifactService(JobDescriptionRepository jobRepo, PythonBridge python, MeterRegistry meters) {
+        this.jobRepo = jobRepo;
+        this.python = python;
+        FunctionCounter.builder("coalesced.calls", building, SingleFlight::joined).tag("stage", "job-parse").register(meters);
+    }
+
+    /**
+     * @param parsedJson       output of JobDescriptionParser.py for this version of the job
+     * @param cleanText        description with whitespace collapsed, as the scripts expect it
+     */
+    public record JobArtifacts(
+            Long jobId,
+            String descriptionHash,
+            String parserVersion,
+            String parsedJson,
+            String cleanText,
+            List<String> skills,
+            List<String> requirements,
+            List<String> responsibilities
+    ) { }
+
+    @PostConstruct
+    void init() {
+        parserVersion = HashUtils.scriptVersion(JOB_PARSER);
+        log.info("Job parser version {}", parserVersion);
+    }
+
+    /** Version tag stamped on every parsed job, derived from the parser script's content. */
+    public String parserVersion() {
+        return parserVersion;
+    }
+
+    /** Records which description text and parser version {@code jd.parsedJson} came from. */
+    public void stamp(JobDescription jd) {
+        jd.setDescriptionHash(HashUtils.sha256(jd.getDescriptionText()));
+        jd.setParserVersion(parserVersion);
+    }
+
+    /**
+     * Returns the job's artifacts, re-parsing only if the description or the parser
+     * changed since {@code parsedJson} was stored.  Concurrent callers for the same
+     * job version share one build.
+     */
+    public JobArtifacts artifacts(JobDescription jd) throws IOException, InterruptedException {
+        String hash = HashUtils.sha256(jd.getDescriptionText());
+        JobArtifacts cached = cache.get(jd.getId());
+        if (cached != null && cached.descriptionHash().equals(hash)
+                && cached.parserVersion().equals(parserVersion)) {
+            return cached;
+        }
+        return building.call(new Version(jd.getId(), hash), () -> build(jd, hash));
+    }
+
+    private JobArtifacts build(JobDescription jd, String hash) throws IOException, InterruptedException {
+        if (needsParse(jd, hash)) {
+            log.info("Re-parsing job {} (hash {} → {}, parser {} → {})", jd.getId(),
+                    jd.getDescriptionHash(), hash, jd.getParserVersion(), parserVersion);
+            Path tmp = writeText(jd.getDescriptionText());
+            try {
+                jd.setParsedJson(python.run(JOB_PARSER, tmp.toString()));
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        }
+        if (!hash.equals(jd.getDescriptionHash()) || !parserVersion.equals(jd.getParserVersion())) {
+            stamp(jd);
+            jobRepo.save(jd);
+        }
+
+        JobArtifacts built = fromJson(jd, hash);
+        cache.put(jd.getId(), built);
+        return built;
+    }
+
+    public void evict(Long jobId) {
+        cache.remove(jobId);
+    }
+
+    /**
+     * Rows created before versioning have parsedJson but no hash/version; their JSON is
+     * adopted as-is.  Otherwise a changed text or parser version forces a new parse.
+     */
+    private boolean needsParse(JobDescription jd, String hash) {
+        if (jd.getParsedJson() == null || jd.getParsedJson().isBlank()) return true;
+        if (jd.getDescriptionHash() != null && !jd.getDescriptionHash().equals(hash)) return true;
+        return jd.getParserVersion() != null && !Objects.equals(jd.getParserVersion(), parserVersion);
+    }
+
+    private JobArtifacts fromJson(JobDescription jd, String hash) throws IOException {
+        JsonNode n = JSON.readTree(jd.getParsedJson());
+        String clean = TextUtils.collapseWhitespace(jd.getDescriptionText());
+        return new JobArtifacts(
+                jd.getId(), hash, parserVersion, jd.getParsedJson(), clean,
+                toStringList(n.path("skills")),
+                toStringList(n.path("Requirements")),
+                toStringList(n.path("Responsibilities")));
+    }
+
+    private static Path writeText(String text) throws IOException {
+        Path tmp = Files.createTempFile("job-", ".txt");
+        Files.writeString(tmp, text, StandardCharsets.UTF_8);
+        return tmp;
+    }
+
+    private static List<String> toStringList(JsonNode node) {
+        if (node == null || node.isMissingNode() || node.isNull()) return List.of();
+        if (node.isArray()) {
+            return StreamSupport.stream(node.spliterator(), false)
+                    .map(JsonNode::asText)
+                    .map(String::trim)
+                    .filter(s -> !s.isBlank())
+                    .toList();
+        }
+        if (node.isTextual()) {
+            return Arrays.stream(node.asText().split("\\s*,\\s*"))
+                    .filter(s -> !s.isBlank())
+                    .toList();
+        }
+        return List.of();
+    }
+}
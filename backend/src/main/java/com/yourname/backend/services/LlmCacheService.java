@@ -0,0 +1,202 @@
+package com.yourname.backend.services;
+
+import com.yourname.backend.entities.LlmCacheEntry;
+import com.yourname.backend.repositories.LlmCacheRepository;
+import com.yourname.backend.util.HashUtils;
+import com.yourname.backend.util.SingleFlight;
+import com.yourname.backend.util.Threads;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cache of LLM replies keyed by SHA-256 of (model, prompt template version, prompt inputs),
+ * so an identical prompt never leaves the box twice.
+ * <p>
+ * An in-memory LRU sits in front of the {@code llm_cache} table; both honour {@code llm.cache.ttl}.
+ * Concurrent misses for the same key share one call.  Only replies the caller has accepted are
+ * stored – a failed or unparseable call leaves no entry.  Metrics: {@code llm.cache.requests}
+ * by {@code result} (memory / db / shared / miss) and {@code llm.cache.memory.size}.
+ */
+@Service
+public class LlmCacheService {
+
+    private static final Logger log = LoggerFactory.getLogger(LlmCacheService.class);
+
+    private final LlmCacheRepository repo;
+    private final MeterRegistry meters;
+    private final ExecutorService stages;
+
+    @Value("${llm.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${llm.cache.memory-entries:10000}")
+    private int memoryEntries;
+
+    @Value("${llm.cache.ttl:30d}")
+    private Duration ttl;
+
+    @Value("${llm.cache.purge-interval-minutes:60}")
+    private long purgeIntervalMinutes;
+
+    private record Entry(String response, LocalDateTime expiresAt) { }
+
+    private Map<String, Entry> memory;          // access-ordered LRU, guarded by itself
+    private final SingleFlight<String, String> inFlight = new SingleFlight<>();
+    private ScheduledExecutorService purger;
+
+    public LlmCacheService(LlmCacheRepository repo, MeterRegistry meters,
+                           @Qualifier("stageExecutor") ExecutorService stages) {
+        this.repo = repo;
+        this.meters = meters;
+        this.stages = stages;
+    }
+
+    @PostConstruct
+    void init() {
+        memory = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > memoryEntries;
+            }
+        };
+        meters.gauge("llm.cache.memory.size", memory, m -> { synchronized (m) { return m.size(); } });
+        FunctionCounter.builder("llm.cache.requests", inFlight, SingleFlight::joined)
+                .tag("result", "shared").register(meters);
+        if (!enabled) {
+            log.info("LLM cache disabled");
+            return;
+        }
+        purger = Executors.newSingleThreadScheduledExecutor(Threads.factory("llm-cache-purge", false));
+        purger.scheduleWithFixedDelay(this::purgeExpired, 1, purgeIntervalMinutes, TimeUnit.MINUTES);
+        log.info("LLM cache: {} entries in memory, ttl {}", memoryEntries, ttl);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (purger != null) purger.shutdownNow();
+    }
+
+    /** Cache key of one prompt: inputs are joined with NUL so their boundaries count. */
+    public static String key(String model, String promptVersion, List<String> inputs) {
+        StringBuilder sb = new StringBuilder(model).append('\0').append(promptVersion);
+        for (String in : inputs) sb.append('\0').append(in);
+        return HashUtils.sha256(sb.toString());
+    }
+
+    /**
+     * The cached reply for this prompt, or the result of {@code call}, which is stored once it
+     * completes normally.  {@code call} should fail for replies that must not be cached.
+     */
+    public CompletableFuture<String> get(String model, String promptVersion, List<String> inputs,
+                                         Supplier<CompletableFuture<String>> call) {
+        if (!enabled) return call.get();
+        String key = key(model, promptVersion, inputs);
+
+        Entry hit = fromMemory(key);
+        if (hit != null) {
+            count("memory");
+            return CompletableFuture.completedFuture(hit.response());
+        }
+
+        return inFlight.run(key, () -> CompletableFuture.supplyAsync(() -> fromDb(key), stages)
+                .thenCompose(stored -> {
+                    if (stored != null) {
+                        count("db");
+                        remember(key, stored);
+                        return CompletableFuture.completedFuture(stored.response());
+                    }
+                    count("miss");
+                    return call.get().thenApply(response -> {
+                        store(key, model, promptVersion, response);
+                        return response;
+                    });
+                }));
+    }
+
+    /** Drops one entry; true if it existed in either tier. */
+    public boolean invalidate(String key) {
+        boolean inMemory;
+        synchronized (memory) { inMemory = memory.remove(key) != null; }
+        return repo.deleteByKey(key) > 0 || inMemory;
+    }
+
+    /** Drops every entry of one model, e.g. after it was retired or misbehaved. */
+    public int invalidateModel(String model) {
+        synchronized (memory) { memory.clear(); }   // memory entries don't know their model; refilled from the db
+        return repo.deleteByModel(model);
+    }
+
+    public int invalidateAll() {
+        synchronized (memory) { memory.clear(); }
+        return repo.deleteAllEntries();
+    }
+
+    private Entry fromMemory(String key) {
+        synchronized (memory) {
+            Entry e = memory.get(key);
+            if (e == null) return null;
+            if (e.expiresAt().isAfter(LocalDateTime.now())) return e;
+            memory.remove(key);
+            return null;
+        }
+    }
+
+    private Entry fromDb(String key) {
+        try {
+            return repo.findByCacheKeyAndExpiresAtAfter(key, LocalDateTime.now())
+                    .map(e -> new Entry(e.getResponse(), e.getExpiresAt()))
+                    .orElse(null);
+        } catch (DataAccessException e) {
+            log.warn("LLM cache lookup failed, calling the model: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void remember(String key, Entry e) {
+        synchronized (memory) { memory.put(key, e); }
+    }
+
+    private void store(String key, String model, String promptVersion, String response) {
+        LocalDateTime expires = LocalDateTime.now().plus(ttl);
+        remember(key, new Entry(response, expires));
+        try {
+            repo.save(new LlmCacheEntry(key, model, promptVersion, response, expires));
+        } catch (DataAccessException e) {
+            // another node stored the same key first, or the db is away – the memory tier still has it
+            log.debug("LLM cache write skipped for {}: {}", key, e.getMessage());
+        }
+    }
+
+    private void purgeExpired() {
+        try {
+            int n = repo.deleteExpired(LocalDateTime.now());
+            if (n > 0) log.info("Purged {} expired LLM cache entries", n);
+        } catch (DataAccessException e) {
+            log.warn("LLM cache purge failed: {}", e.getMessage());
+        }
+    }
+
+    private void count(String result) {
+        meters.counter("llm.cache.requests", "result", result).increment();
+    }
+}
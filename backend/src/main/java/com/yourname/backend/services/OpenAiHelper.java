@@ -1,18 +1,48 @@
 package com.yourname.backend.services;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.backend.exceptions.OpenAiException;
+import com.yourname.backend.util.HashUtils;
+import com.yourname.backend.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.net.http.*;
+import java.io.IOException;
 import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Thin wrapper around the OpenAI Chat Completion API that returns
- * a single 0‑100 score comparing a résumé and a job description.
+ * Thin wrapper around the OpenAI Chat Completion API that grades a résumé
+ * against a job description: an overall 0‑100 match plus skills, education
+ * and experience sub-scores, all from one call.
+ * <p>
+ * Replies are cached by {@link LlmCacheService}, keyed by model, prompt version
+ * and the two parsed JSONs, so rescoring an unchanged pair costs no API call.
+ * <p>
+ * One HTTP/2 client is shared by all calls, so connections and TLS sessions are
+ * reused.  Calls are paced by request- and token-per-minute buckets matching the
+ * account's tier, and 429 / 5xx / network errors are retried with exponential
+ * backoff and full jitter (or the server's Retry-After).  Metrics:
+ * {@code openai.requests} (per attempt, by status), {@code openai.calls} (end to end,
+ * by outcome; cache hits are not calls), {@code openai.retries} and {@code openai.ratelimit.wait}.
  *
  * No external libraries required – uses java.net.http.
  */
@@ -25,70 +55,237 @@ public class OpenAiHelper {
     @Value("${OPENAI_API_KEY}")
     private String apiKey;   // make sure this env var / property is set
 
-    // You can move the model name to application.properties if you wish
-    private static final String MODEL = "gpt-3.5-turbo";
+    @Value("${openai.base-url:https://api.openai.com/v1}")
+    private String baseUrl;
+
+    @Value("${openai.timeout-seconds:60}")
+    private long timeoutSeconds;
+
+    @Value("${openai.rate-limit.requests-per-minute:500}")
+    private long requestsPerMinute;
+
+    @Value("${openai.rate-limit.tokens-per-minute:200000}")
+    private long tokensPerMinute;
+
+    @Value("${openai.retry.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${openai.retry.initial-backoff-ms:500}")
+    private long initialBackoffMs;
+
+    @Value("${openai.retry.max-backoff-ms:30000}")
+    private long maxBackoffMs;
+
+    @Value("${openai.model:o4-mini}")
+    private String model;
+
+    private static final String PROMPT =
+            "You are an ATS scoring engine. "
+            + "Using the parsed JSON for a RESUME and a JOB DESCRIPTION, "
+            + "output STRICT JSON with *exactly* four numeric keys "
+            + "MatchScore, SkillsScore, EducationScore, ExperienceScore (each 0‑100, floats). "
+            + "• MatchScore ‑ how well the résumé matches the job overall, focusing on "
+            + "skills, education, and years of experience. "
+            + "• SkillsScore ‑ percentage fit of resume skills to job skills. "
+            + "• EducationScore ‑ how well education meets/ exceeds requirements "
+            + "(higher degree that satisfies requirement ⇒ higher score). "
+            + "• ExperienceScore ‑ relevance & years vs. JD responsibilities.\n\n"
+            + "RESUME_JSON:\n%s\n\n"
+            + "JOB_JSON:\n%s";
+
+    /* budget for the reply, reasoning included – the request sets no max_tokens */
+    private static final int OUTPUT_TOKENS = 1000;
+
+    /** Prompt template version: part of every cache key, so editing the prompt misses the old replies. */
+    public static final String PROMPT_VERSION = HashUtils.sha256(PROMPT + "|json_object").substring(0, 12);
+
+    /** The LLM's grades for one resume / job pair, each 0‑100. */
+    public record Grades(double match, double skills, double education, double experience) { }
+
+    private final MeterRegistry meters;
+    private final LlmCacheService cache;
+    private final ExecutorService stages;
+    private HttpClient client;
+    private URI completions;
+    private TokenBucket requestBucket;
+    private TokenBucket tokenBucket;
+    private Timer rateLimitWait;
+
+    public OpenAiHelper(MeterRegistry meters, LlmCacheService cache,
+                        @Qualifier("stageExecutor") ExecutorService stages) {
+        this.meters = meters;
+        this.cache = cache;
+        this.stages = stages;
+    }
+
+    @PostConstruct
+    void init() {
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(stages)
+                .build();
+        completions = URI.create(baseUrl.replaceAll("/+$", "") + "/chat/completions");
+        requestBucket = new TokenBucket(requestsPerMinute);
+        tokenBucket = new TokenBucket(tokensPerMinute);
+        rateLimitWait = meters.timer("openai.ratelimit.wait");
+        log.info("OpenAI client → {} ({} req/min, {} tokens/min)", completions, requestsPerMinute, tokensPerMinute);
+    }
+
+    /** Model every grade comes from; part of the scorer version. */
+    public String model() {
+        return model;
+    }
 
     /**
+     * One call for the overall match and the skills / education / experience grades.
+     * Answered from {@link LlmCacheService} when this prompt was seen before; a reply is
+     * only cached once it parses, so a malformed answer is asked again next time.
+     *
      * @param resumeJson  JSON string from ResumeParser.py
      * @param jobJson     JSON string from JobDescriptionParser.py
-     * @return            score 0‑100, or 0 if the call fails
+     * @return            completes with {@link OpenAiException} once retries are exhausted
      */
-    public double compareResumeAndJob(String resumeJson, String jobJson) {
+    public CompletableFuture<Grades> grade(String resumeJson, String jobJson) {
+        return cache.get(model, PROMPT_VERSION, List.of(resumeJson, jobJson), () -> {
+            String prompt = PROMPT.formatted(resumeJson, jobJson);
+            String body;
+            try {
+                body = """
+                    {
+                      "model": "%s",
+                      "response_format": {"type": "json_object"},
+                      "messages": [
+                        {"role": "system", "content": "You output only JSON with the keys requested."},
+                        {"role": "user", "content": %s}
+                      ]
+                    }
+                    """.formatted(model, JSON.writeValueAsString(prompt));     // escapes nicely
+            } catch (JsonProcessingException e) {
+                return CompletableFuture.failedFuture(new OpenAiException("Could not encode prompt", e));
+            }
+
+            // ~4 characters per token is close enough for budgeting
+            long t0 = System.nanoTime();
+            return attempt(body, prompt.length() / 4 + OUTPUT_TOKENS, 1)
+                    .thenApply(OpenAiHelper::content)
+                    .thenApply(content -> {
+                        grades(content);
+                        return content;
+                    })
+                    .whenComplete((c, e) -> meters.timer("openai.calls", "outcome", e == null ? "ok" : "failed")
+                            .record(System.nanoTime() - t0, TimeUnit.NANOSECONDS));
+        }).thenApply(OpenAiHelper::grades);
+    }
+
+    private CompletableFuture<String> attempt(String body, long tokens, int attempt) {
+        long wait = Math.max(requestBucket.reserve(1), tokenBucket.reserve(tokens));
+        if (wait > 0) rateLimitWait.record(wait, TimeUnit.NANOSECONDS);
+
+        return after(wait, TimeUnit.NANOSECONDS)
+                .thenCompose(v -> send(body))
+                .handle((resp, err) -> {
+                    if (err == null && resp.statusCode() / 100 == 2) return CompletableFuture.completedFuture(resp.body());
+
+                    Throwable cause = err instanceof CompletionException && err.getCause() != null ? err.getCause() : err;
+                    boolean retryable = cause != null
+                            ? cause instanceof IOException
+                            : resp.statusCode() == 429 || resp.statusCode() >= 500;
+                    String why = cause != null ? cause.getClass().getSimpleName() : "HTTP " + resp.statusCode();
+                    if (!retryable || attempt >= maxAttempts) {
+                        String detail = resp == null ? String.valueOf(cause.getMessage()) : truncate(resp.body());
+                        return CompletableFuture.<String>failedFuture(new OpenAiException(
+                                "OpenAI call failed after " + attempt + " attempt(s): " + why + " – " + detail, cause));
+                    }
+
+                    long backoff = backoffMs(attempt, resp);
+                    meters.counter("openai.retries", "reason", cause != null ? "io" : String.valueOf(resp.statusCode()))
+                            .increment();
+                    log.warn("OpenAI {} – retry {}/{} in {} ms", why, attempt, maxAttempts - 1, backoff);
+                    return after(backoff, TimeUnit.MILLISECONDS).thenCompose(v -> attempt(body, tokens, attempt + 1));
+                })
+                .thenCompose(f -> f);
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(String body) {
+        HttpRequest req = HttpRequest.newBuilder()
+                .uri(completions)
+                .timeout(Duration.ofSeconds(timeoutSeconds))
+                .header("Authorization", "Bearer " + apiKey)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        long t0 = System.nanoTime();
+        return client.sendAsync(req, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((resp, e) -> meters.timer("openai.requests",
+                                "status", resp != null ? String.valueOf(resp.statusCode()) : "io-error")
+                        .record(System.nanoTime() - t0, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Full-jitter exponential backoff: uniform in [0, min(max, initial·2^(attempt-1))],
+     * but never shorter than the server's {@code retry-after-ms} / {@code retry-after}.
+     */
+    private long backoffMs(int attempt, HttpResponse<String> resp) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        long backoff = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        if (resp != null) {
+            long hinted = resp.headers().firstValue("retry-after-ms").map(OpenAiHelper::parseLong)
+                    .orElseGet(() -> resp.headers().firstValue("retry-after")
+                            .map(s -> parseLong(s) * 1000).orElse(0L));
+            backoff = Math.max(backoff, Math.min(hinted, maxBackoffMs));
+        }
+        return backoff;
+    }
+
+    /** The assistant's message from a Chat Completions response body. */
+    private static String content(String responseBody) {
         try {
-            /* 1) Build a concise user prompt */
-            String prompt = """
-                Give ONE number from 0 to 100 (higher = better) that reflects
-                how well this résumé matches this job description, focusing on
-                skills, education, and years of experience.
-
-                Return ONLY the number, nothing else.
-
-                RESUME_JSON:
-                %s
-
-                JOB_JSON:
-                %s
-                """.formatted(resumeJson, jobJson);
-
-            /* 2) Craft the JSON payload for Chat Completions */
-            String bodyJson = """
-                {
-                  "model": "%s",
-                  "messages": [
-                    {"role": "user", "content": %s}
-                  ],
-                  "temperature": 0.2,
-                  "max_tokens": 4
-                }
-                """.formatted(
-                    MODEL,
-                    JSON.writeValueAsString(prompt)      // escapes nicely
-            );
-
-            /* 3) Send the HTTPS request */
-            HttpRequest req = HttpRequest.newBuilder()
-                    .uri(URI.create("https://api.openai.com/v1/chat/completions"))
-                    .header("Authorization", "Bearer " + apiKey)
-                    .header("Content-Type", "application/json")
-                    .POST(HttpRequest.BodyPublishers.ofString(bodyJson))
-                    .build();
-
-            String resp = HttpClient.newHttpClient()
-                    .send(req, HttpResponse.BodyHandlers.ofString())
-                    .body();
-
-            /* 4) Extract the assistant’s reply (should be a number) */
-            String content = JSON.readTree(resp)
-                    .path("choices").get(0)
+            return JSON.readTree(responseBody)
+                    .path("choices").path(0)
                     .path("message").path("content").asText().trim();
+        } catch (JsonProcessingException e) {
+            throw new OpenAiException("OpenAI returned invalid JSON: " + truncate(responseBody), e);
+        }
+    }
+
+    private static Grades grades(String content) {
+        JsonNode n;
+        try {
+            n = JSON.readTree(content);
+        } catch (JsonProcessingException e) {
+            throw new OpenAiException("OpenAI grades are not JSON: " + truncate(content), e);
+        }
+        if (!n.isObject() || !n.path("MatchScore").isNumber())
+            throw new OpenAiException("OpenAI reply has no MatchScore: " + truncate(content));
+        Grades g = new Grades(
+                clamp(n.path("MatchScore").asDouble()),
+                clamp(n.path("SkillsScore").asDouble()),
+                clamp(n.path("EducationScore").asDouble()),
+                clamp(n.path("ExperienceScore").asDouble()));
+        log.debug("OpenAI returned {}", g);
+        return g;
+    }
 
-            double score = Double.parseDouble(content);
-            log.debug("OpenAI returned LLMscore={}", score);
-            return score;
+    private static double clamp(double score) {
+        return Math.max(0, Math.min(100, score));
+    }
 
-        } catch (Exception e) {
-            log.error("OpenAI call failed – returning 0. Error: {}", e.getMessage());
-            return 0.0;
+    private static CompletableFuture<Void> after(long delay, TimeUnit unit) {
+        return delay <= 0
+                ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(delay, unit));
+    }
+
+    private static long parseLong(String s) {
+        try {
+            return (long) Double.parseDouble(s.trim());
+        } catch (NumberFormatException e) {
+            return 0;   // an HTTP-date Retry-After – fall back to our own backoff
         }
     }
+
+    private static String truncate(String s) {
+        return s == null || s.length() <= 300 ? s : s.substring(0, 300) + "…";
+    }
 }
@@ -0,0 +1,111 @@
+package com.yourname.backend.services;
+
+import com.yourname.backend.entities.Resume;
+import com.yourname.backend.python.PythonBridge;
+import com.yourname.backend.repositories.ResumeRepository;
+import com.yourname.backend.util.HashUtils;
+import com.yourname.backend.util.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Per-resume artifacts that are expensive to produce and never change for a
+ * given file. They are computed once and kept on the resume row so every
+ * scoring path reads them instead of redoing the work.
+ */
+@Service
+public class ResumeArtifactService {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumeArtifactService.class);
+
+    private final ResumeRepository resumeRepo;
+    private final TextExtractionService textExtraction;
+    private final PythonBridge python;
+
+    @Value("${python.resume-parser}")
+    private String RESUME_PARSER;
+
+    private String parserVersion;
+    private final SingleFlight<String, String> parsing = new SingleFlight<>();
+
+    public ResumeArtifactService(ResumeRepository resumeRepo,
+                                 TextExtractionService textExtraction,
+                                 PythonBridge python,
+                                 MeterRegistry meters) {
+        this.resumeRepo = resumeRepo;
+        this.textExtraction = textExtraction;
+        this.python = python;
+        FunctionCounter.builder("coalesced.calls", parsing, SingleFlight::joined).tag("stage", "resume-parse").register(meters);
+    }
+
+    /** Output of ResumeParser.py together with the key it is cached under. */
+    public record ParsedResume(String contentHash, String parserVersion, String json) { }
+
+    @PostConstruct
+    void init() {
+        parserVersion = HashUtils.scriptVersion(RESUME_PARSER);
+        log.info("Resume parser version {}", parserVersion);
+    }
+
+    /**
+     * Plain text of the resume file. Rows uploaded before the text was stored
+     * are backfilled here, the first time they are needed.
+     */
+    @Transactional
+    public String plainText(Resume r) throws IOException, InterruptedException {
+        if (r.getPlainText() != null) return r.getPlainText();
+
+        log.debug("Backfilling plain text for resume {}", r.getId());
+        String text = textExtraction.extract(r.getFilePath());
+        r.setPlainText(text);
+        if (r.getId() != null) resumeRepo.updatePlainText(r.getId(), text);
+        return text;
+    }
+
+    /**
+     * Parses a freshly stored file. If a resume with identical bytes was already
+     * parsed by this parser version its JSON is reused and the LLM is not called;
+     * if the same bytes are being parsed right now, that parse is awaited instead.
+     */
+    public ParsedResume parse(String filePath) throws IOException, InterruptedException {
+        String hash = HashUtils.sha256(Path.of(filePath));
+        String json = resumeRepo.findFirstByContentHashAndParserVersionAndParsedJsonIsNotNull(hash, parserVersion)
+                .map(Resume::getParsedJson)
+                .orElse(null);
+        if (json != null) {
+            log.debug("Reusing parsed JSON for content {}", hash);
+            return new ParsedResume(hash, parserVersion, json);
+        }
+        return new ParsedResume(hash, parserVersion, parsing.call(hash, () -> python.run(RESUME_PARSER, filePath)));
+    }
+
+    /**
+     * Parsed JSON for an existing resume, parsing (and storing) it only if the row has
+     * none yet or it came from an older parser version.
+     */
+    @Transactional
+    public String parsedJson(Resume r) throws IOException, InterruptedException {
+        if (r.getParsedJson() != null && parserVersion.equals(r.getParserVersion())) return r.getParsedJson();
+
+        ParsedResume parsed = parse(r.getFilePath());
+        apply(r, parsed);
+        if (r.getId() != null)
+            resumeRepo.updateParsedJson(r.getId(), parsed.contentHash(), parsed.parserVersion(), parsed.json());
+        return parsed.json();
+    }
+
+    public static void apply(Resume r, ParsedResume parsed) {
+        r.setContentHash(parsed.contentHash());
+        r.setParserVersion(parsed.parserVersion());
+        r.setParsedJson(parsed.json());
+    }
+}
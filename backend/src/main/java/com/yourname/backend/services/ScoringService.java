@@ -0,0 +1,288 @@
+package com.yourname.backend.services;
+
+import com.yourname.backend.entities.Embedding.OwnerType;
+import com.yourname.backend.entities.JobDescription;
+import com.yourname.backend.entities.Resume;
+import com.yourname.backend.entities.ResumeJobScore;
+import com.yourname.backend.repositories.ResumeJobScoreRepository;
+import com.yourname.backend.util.Futures;
+import com.yourname.backend.util.HashUtils;
+import com.yourname.backend.util.SingleFlight;
+import com.yourname.backend.util.Threads;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Scores resumes against a job: the single-resume path behind /resume/score and
+ * the parallel batch behind /job/{id}/rank.  Job-side artifacts (parsed JSON,
+ * clean text, embedding) are built once per call and shared by every resume.
+ * <p>
+ * Every result is kept in {@code resume_job_scores}; a stored score is reused as long
+ * as the resume content, the job description and the scorer version are unchanged.
+ */
+@Service
+public class ScoringService {
+
+    private static final Logger log = LoggerFactory.getLogger(ScoringService.class);
+
+    private final ResumeJobScoreRepository scoreRepo;
+    private final AiService aiService;
+    private final ResumeArtifactService resumeArtifacts;
+    private final JobArtifactService jobArtifacts;
+    private final EmbeddingService embeddings;
+    private final ExecutorService stages;
+
+    @Value("${ranking.parallelism:4}")
+    private int parallelism;
+
+    @Value(Threads.VIRTUAL)
+    private boolean virtualThreads;
+
+    private ExecutorService rankPool;
+    private final SingleFlight<Pair, AiService.ScoreBundle> inFlight = new SingleFlight<>();
+
+    public ScoringService(ResumeJobScoreRepository scoreRepo,
+                          AiService aiService,
+                          ResumeArtifactService resumeArtifacts,
+                          JobArtifactService jobArtifacts,
+                          EmbeddingService embeddings,
+                          MeterRegistry meters,
+                          @Qualifier("stageExecutor") ExecutorService stages) {
+        this.scoreRepo = scoreRepo;
+        this.aiService = aiService;
+        this.resumeArtifacts = resumeArtifacts;
+        this.jobArtifacts = jobArtifacts;
+        this.embeddings = embeddings;
+        this.stages = stages;
+        FunctionCounter.builder("coalesced.calls", inFlight, SingleFlight::joined).tag("stage", "score").register(meters);
+    }
+
+    /**
+     * Outcome of scoring one resume in a batch; {@code scores} is null when {@code error} is set,
+     * {@code cached} means a stored score was reused.
+     */
+    public record RankResult(Resume resume, AiService.ScoreBundle scores, boolean cached,
+                             String error, long elapsedMs) { }
+
+    private record Outcome(AiService.ScoreBundle scores, boolean cached) { }
+
+    private record Pair(Long resumeId, Long jobId) { }
+
+    /** Job-side scoring inputs: parsed artifacts and the job embedding. */
+    public record JobInputs(JobArtifactService.JobArtifacts artifacts, EmbeddingService.Vector vector) { }
+
+    @PostConstruct
+    void init() {
+        rankPool = Executors.newFixedThreadPool(parallelism, Threads.factory("rank", virtualThreads));
+    }
+
+    @PreDestroy
+    void stop() {
+        rankPool.shutdownNow();
+    }
+
+    /**
+     * Scores one resume against a job, reusing the stored score unless it is stale
+     * or {@code rescore} is set.  The job side and the resume side are prepared
+     * concurrently.
+     */
+    public AiService.ScoreBundle score(Resume r, JobDescription jd, boolean rescore)
+            throws IOException, InterruptedException {
+        if (!rescore) {
+            // the description hash is all the freshness check needs – no parse yet
+            Optional<ResumeJobScore> stored = freshScore(r, jd.getId(), HashUtils.sha256(jd.getDescriptionText()));
+            if (stored.isPresent()) return toBundle(stored.get());
+        }
+        return Futures.join(scoreOnce(r, jd.getId(), () -> jobInputs(jd)));
+    }
+
+    /** Parses the job (if needed) and then embeds it, off the calling thread. */
+    public CompletableFuture<JobInputs> jobInputs(JobDescription jd) {
+        return Futures.then(Futures.supply(() -> jobArtifacts.artifacts(jd), stages),
+                job -> new JobInputs(job, embeddings.vectorFor(OwnerType.JOB, jd.getId(), job.cleanText())), stages);
+    }
+
+    /**
+     * Scores once its inputs are ready.  The LLM call starts as soon as both
+     * parsed JSONs exist and runs alongside the embedding:
+     * <pre>
+     *   parsed resume ─┬──── LLM (cached) ────┐
+     *   job inputs ────┤                      ├─ blend
+     *   text → vector ─┴────── overlap ───────┘
+     * </pre>
+     * {@code asOf} is the resume's upload month, which an open-ended job ("– present") runs up to.
+     */
+    public CompletableFuture<AiService.ScoreBundle> score(CompletableFuture<String> plainText,
+                                                          CompletableFuture<String> parsedJson,
+                                                          CompletableFuture<EmbeddingService.Vector> resumeVec,
+                                                          CompletableFuture<JobInputs> job,
+                                                          YearMonth asOf) {
+        CompletableFuture<OpenAiHelper.Grades> llm = parsedJson
+                .thenCombine(job, (p, j) -> aiService.llmGrades(p, j.artifacts().parsedJson()))
+                .thenCompose(f -> f);
+        return Futures.then(CompletableFuture.allOf(plainText, parsedJson, resumeVec, job), x -> {
+            JobInputs j = job.join();
+            EmbeddingService.Vector rv = resumeVec.join();
+            return aiService.scoreResume(plainText.join(), j.artifacts().cleanText(), parsedJson.join(),
+                    j.artifacts().parsedJson(), EmbeddingService.similarity(rv, j.vector()),
+                    rv.values(), j.vector().values(), llm, asOf);
+        }, stages);
+    }
+
+    /**
+     * {@link #scoreStored}, unless the same pair is already being scored – a second recruiter
+     * opening it or a UI retry then waits for that run instead of paying for another.
+     */
+    private CompletableFuture<AiService.ScoreBundle> scoreOnce(Resume r, Long jobId,
+                                                               Supplier<CompletableFuture<JobInputs>> job) {
+        return inFlight.run(new Pair(r.getId(), jobId), () -> scoreStored(r, job.get()));
+    }
+
+    /** Scores a saved resume, loading (or backfilling) its text, parse and vector concurrently, and stores the result. */
+    private CompletableFuture<AiService.ScoreBundle> scoreStored(Resume r, CompletableFuture<JobInputs> job) {
+        CompletableFuture<String> text   = Futures.supply(() -> resumeArtifacts.plainText(r), stages);
+        CompletableFuture<String> parsed = Futures.supply(() -> resumeArtifacts.parsedJson(r), stages);
+        CompletableFuture<EmbeddingService.Vector> vec =
+                Futures.then(text, t -> embeddings.vectorFor(OwnerType.RESUME, r.getId(), t), stages);
+        return score(text, parsed, vec, job, uploadMonth(r)).thenApply(scores -> {
+            record(r.getId(), r.getContentHash(), job.join().artifacts(), scores);
+            return scores;
+        });
+    }
+
+    /** Rows from before upload dates were kept fall back to the current month. */
+    private static YearMonth uploadMonth(Resume r) {
+        return r.getUploadDate() == null ? YearMonth.now() : YearMonth.from(r.getUploadDate());
+    }
+
+    /**
+     * Scores every resume in {@code resumes} on the shared rank pool
+     * ({@code ranking.parallelism} at a time).  Each future completes – never
+     * exceptionally – as soon as its resume is done; resumes still queued when
+     * {@code cancelled} is set are skipped.
+     */
+    public List<CompletableFuture<RankResult>> rank(JobDescription jd, List<Resume> resumes, boolean rescore,
+                                                    AtomicBoolean cancelled)
+            throws IOException, InterruptedException {
+        CompletableFuture<JobInputs> job = CompletableFuture.completedFuture(Futures.join(jobInputs(jd)));
+        log.info("Ranking {} resumes for job {} ({} in parallel)", resumes.size(), jd.getId(), parallelism);
+
+        return resumes.stream()
+                .map(r -> CompletableFuture.supplyAsync(() -> rankOne(r, job, rescore, cancelled), rankPool))
+                .toList();
+    }
+
+    private RankResult rankOne(Resume r, CompletableFuture<JobInputs> job, boolean rescore, AtomicBoolean cancelled) {
+        if (cancelled.get()) return new RankResult(r, null, false, "cancelled", 0);
+        long t0 = System.currentTimeMillis();
+        try {
+            Outcome o = score(r, job, rescore);
+            return new RankResult(r, o.scores(), o.cached(), null, System.currentTimeMillis() - t0);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new RankResult(r, null, false, "interrupted", System.currentTimeMillis() - t0);
+        } catch (Exception e) {
+            log.warn("Scoring resume {} for job {} failed: {}", r.getId(), job.join().artifacts().jobId(), e.getMessage());
+            return new RankResult(r, null, false, e.getMessage(), System.currentTimeMillis() - t0);
+        }
+    }
+
+    private Outcome score(Resume r, CompletableFuture<JobInputs> job, boolean rescore)
+            throws IOException, InterruptedException {
+        if (!rescore) {
+            JobArtifactService.JobArtifacts a = job.join().artifacts();
+            Optional<ResumeJobScore> stored = freshScore(r, a.jobId(), a.descriptionHash());
+            if (stored.isPresent()) return new Outcome(toBundle(stored.get()), true);
+        }
+        return new Outcome(Futures.join(scoreOnce(r, job.join().artifacts().jobId(), () -> job)), false);
+    }
+
+    /** Stored score for this pair if it was computed from the same inputs by the current scorer. */
+    private Optional<ResumeJobScore> freshScore(Resume r, Long jobId, String jobHash) {
+        if (r.getId() == null || r.getContentHash() == null) return Optional.empty();
+        return scoreRepo.findByResumeIdAndJobId(r.getId(), jobId)
+                .filter(s -> aiService.scorerVersion().equals(s.getScorerVersion())
+                        && Objects.equals(r.getContentHash(), s.getResumeHash())
+                        && Objects.equals(jobHash, s.getJobHash()));
+    }
+
+    /** Upserts the (resume, job) row; a partial score is not kept, so the next request computes it again. */
+    public void record(Long resumeId, String resumeHash, JobArtifactService.JobArtifacts job, AiService.ScoreBundle s) {
+        if (s.partial()) {
+            log.info("Not storing partial score of resume {} for job {}", resumeId, job.jobId());
+            return;
+        }
+        ResumeJobScore row = scoreRepo.findByResumeIdAndJobId(resumeId, job.jobId())
+                .orElseGet(() -> new ResumeJobScore(resumeId, job.jobId()));
+        fill(row, s, resumeHash, job.descriptionHash());
+        try {
+            scoreRepo.save(row);
+        } catch (DataIntegrityViolationException e) {
+            // another request inserted the same pair first – overwrite its row
+            ResumeJobScore existing = scoreRepo.findByResumeIdAndJobId(resumeId, job.jobId()).orElseThrow(() -> e);
+            fill(existing, s, resumeHash, job.descriptionHash());
+            scoreRepo.save(existing);
+        }
+    }
+
+    @Transactional
+    public void forgetResume(Long resumeId) {
+        scoreRepo.deleteByResume(resumeId);
+    }
+
+    @Transactional
+    public void forgetJob(Long jobId) {
+        scoreRepo.deleteByJob(jobId);
+    }
+
+    private void fill(ResumeJobScore row, AiService.ScoreBundle s, String resumeHash, String jobHash) {
+        row.setFinalScore(s.finalScore());
+        row.setSemanticScore(s.semanticScore());
+        row.setSkillsScore(s.skillsScore());
+        row.setEducationScore(s.educationScore());
+        row.setExperienceScore(s.experienceScore());
+        row.setOverlap(s.overlap());
+        row.setLlmScore(s.llmScore());
+        row.setScorerVersion(aiService.scorerVersion());
+        row.setResumeHash(resumeHash);
+        row.setJobHash(jobHash);
+        row.setScoredAt(LocalDateTime.now());
+    }
+
+    public static AiService.ScoreBundle toBundle(ResumeJobScore s) {
+        return new AiService.ScoreBundle(s.getFinalScore(), s.getSemanticScore(), s.getSkillsScore(),
+                s.getEducationScore(), s.getExperienceScore(), s.getOverlap(), s.getLlmScore(), false);
+    }
+
+    /** Copies a stored score onto the resume's transient score fields for list / analysis payloads. */
+    public static void applyScores(Resume r, ResumeJobScore s) {
+        if (s == null) return;   // not scored yet
+        r.setMatchScore     (s.getFinalScore());
+        r.setSemanticScore  (s.getSemanticScore());
+        r.setSkillsScore    (s.getSkillsScore());
+        r.setEducationScore (s.getEducationScore());
+        r.setExperienceScore(s.getExperienceScore());
+        r.setOverlapScore   (s.getOverlap());
+        r.setLlmmScore      (s.getLlmScore());
+        r.setScoredJobId    (s.getJobId());
+    }
+}
@@ -0,0 +1,245 @@
+package com.yourname.backend.services;
+
+import com.yourname.backend.entities.Resume;
+import com.yourname.backend.entities.Skill;
+import com.yourname.backend.repositories.ResumeRepository;
+import com.yourname.backend.util.CompressedBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index for boolean candidate search: one compressed bitmap of resume ids
+ * per skill and per status, so "has all of these, any of those, in this status" is a few
+ * bitmap ANDs / ORs instead of a scan over {@code resumes}.
+ * <p>
+ * Rebuilt from {@code resume_skills} on start-up in the background (searches get 503 until
+ * it is done); uploads, re-tags, status changes and deletes update it as they happen.
+ * Updates made while the rebuild runs are applied on top of it, so none are lost.
+ */
+@Service
+public class SkillIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillIndexService.class);
+
+    private final ResumeRepository resumeRepo;
+    private final SkillService skills;
+    private final TransactionTemplate readTx;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, CompressedBitmap> bySkill = new HashMap<>();
+    private final Map<String, CompressedBitmap> byStatus = new HashMap<>();
+    private final Map<Integer, long[]> skillsOf = new HashMap<>();      // what each resume is in, so
+    private final Map<Integer, String> statusOf = new HashMap<>();      // unlink touches only those
+    private CompressedBitmap indexed = new CompressedBitmap();
+    private CompressedBitmap touched = new CompressedBitmap();     // ids put / removed while loading
+    private volatile boolean ready;
+
+    /** One page of matches, newest resume first, and how many match in total. */
+    public record Result(int total, List<Long> resumeIds) { }
+
+    public SkillIndexService(ResumeRepository resumeRepo, SkillService skills, PlatformTransactionManager txManager) {
+        this.resumeRepo = resumeRepo;
+        this.skills = skills;
+        this.readTx = new TransactionTemplate(txManager);
+        this.readTx.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        Thread t = new Thread(this::load, "skill-index");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    public boolean isReady() { return ready; }
+
+    /** Indexes {@code r} with its current skills and status, replacing what was indexed for it. */
+    public void put(Resume r) {
+        List<Long> skillIds = new ArrayList<>(r.getSkills().size());
+        for (Skill s : r.getSkills()) skillIds.add(s.getId());
+        put(r.getId(), skillIds, r.getStatus());
+    }
+
+    public void put(Long resumeId, Collection<Long> skillIds, String status) {
+        int id = Math.toIntExact(resumeId);
+        lock.writeLock().lock();
+        try {
+            unlink(id);
+            long[] linked = skillIds.stream().mapToLong(Long::longValue).distinct().toArray();
+            for (long s : linked) bySkill.computeIfAbsent(s, k -> new CompressedBitmap()).add(id);
+            skillsOf.put(id, linked);
+            if (status != null) {
+                byStatus.computeIfAbsent(key(status), k -> new CompressedBitmap()).add(id);
+                statusOf.put(id, key(status));
+            }
+            indexed.add(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long resumeId) {
+        int id = Math.toIntExact(resumeId);
+        lock.writeLock().lock();
+        try {
+            unlink(id);
+            indexed.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Resumes having every skill in {@code all}, at least one in {@code any} (if given) and
+     * status {@code status} (if given, any case).  Skill names match in any case or spacing;
+     * an unknown name in {@code all} matches nothing, unknown names in {@code any} are ignored.
+     *
+     * @throws ResponseStatusException 400 if {@code page · size} overflows an int, 503 while
+     *                                  the index is still being built
+     */
+    public Result search(List<String> all, List<String> any, String status, int page, int size) {
+        if (!ready) throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Search index is still loading");
+        int from;
+        try {
+            from = Math.multiplyExact(page, size);
+        } catch (ArithmeticException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "page is too large");
+        }
+        List<Long> allIds = new ArrayList<>();
+        for (String name : all) {
+            Long id = skills.idOf(name);
+            if (id == null) return new Result(0, List.of());
+            allIds.add(id);
+        }
+        List<Long> anyIds = new ArrayList<>();
+        for (String name : any) {
+            Long id = skills.idOf(name);
+            if (id != null) anyIds.add(id);
+        }
+        if (!any.isEmpty() && anyIds.isEmpty()) return new Result(0, List.of());
+
+        lock.readLock().lock();
+        try {
+            List<CompressedBitmap> required = new ArrayList<>();
+            for (Long id : allIds) required.add(bySkill.getOrDefault(id, new CompressedBitmap()));
+            if (status != null) required.add(byStatus.getOrDefault(key(status), new CompressedBitmap()));
+            if (!anyIds.isEmpty()) {
+                CompressedBitmap union = new CompressedBitmap();
+                for (Long id : anyIds) {
+                    CompressedBitmap b = bySkill.get(id);
+                    if (b != null) union = CompressedBitmap.or(union, b);
+                }
+                required.add(union);
+            }
+
+            CompressedBitmap hits;
+            if (required.isEmpty()) {
+                hits = indexed;
+            } else {
+                required.sort((a, b) -> Integer.compare(a.cardinality(), b.cardinality()));  // smallest first
+                hits = required.get(0);
+                for (int i = 1; i < required.size() && !hits.isEmpty(); i++) hits = CompressedBitmap.and(hits, required.get(i));
+            }
+
+            int[] ids = hits.pageDescending(from, size);
+            List<Long> out = new ArrayList<>(ids.length);
+            for (int id : ids) out.add((long) id);
+            return new Result(hits.cardinality(), out);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void load() {
+        long t0 = System.currentTimeMillis();
+        Map<Long, CompressedBitmap> skillMaps = new HashMap<>();
+        Map<String, CompressedBitmap> statusMaps = new HashMap<>();
+        Map<Integer, List<Long>> skillLists = new HashMap<>();
+        Map<Integer, String> statuses = new HashMap<>();
+        CompressedBitmap ids = new CompressedBitmap();
+        try {
+            readTx.executeWithoutResult(s -> {
+                try (Stream<Object[]> rows = resumeRepo.streamStatuses()) {
+                    rows.forEach(r -> {
+                        int id = ((Number) r[0]).intValue();
+                        ids.add(id);
+                        if (r[1] != null) {
+                            statusMaps.computeIfAbsent(key((String) r[1]), k -> new CompressedBitmap()).add(id);
+                            statuses.put(id, key((String) r[1]));
+                        }
+                    });
+                }
+                try (Stream<Object[]> rows = resumeRepo.streamSkillLinks()) {
+                    rows.forEach(r -> {
+                        int id = ((Number) r[0]).intValue();
+                        long skill = ((Number) r[1]).longValue();
+                        skillMaps.computeIfAbsent(skill, k -> new CompressedBitmap()).add(id);
+                        skillLists.computeIfAbsent(id, k -> new ArrayList<>()).add(skill);
+                    });
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Could not build the skill index, search stays unavailable", e);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // ids put or removed while loading are newer than the rows just read: the maps hold
+            // exactly those puts, so drop the touched ids from the loaded bitmaps and add them back
+            skillMaps.replaceAll((k, b) -> CompressedBitmap.andNot(b, touched));
+            statusMaps.replaceAll((k, b) -> CompressedBitmap.andNot(b, touched));
+            bySkill.forEach((k, b) -> skillMaps.merge(k, b, CompressedBitmap::or));
+            byStatus.forEach((k, b) -> statusMaps.merge(k, b, CompressedBitmap::or));
+            bySkill.clear();
+            bySkill.putAll(skillMaps);
+            byStatus.clear();
+            byStatus.putAll(statusMaps);
+            skillLists.forEach((id, l) -> {
+                if (!touched.contains(id)) skillsOf.putIfAbsent(id, l.stream().mapToLong(Long::longValue).toArray());
+            });
+            statuses.forEach((id, st) -> {
+                if (!touched.contains(id)) statusOf.putIfAbsent(id, st);
+            });
+            indexed = CompressedBitmap.or(CompressedBitmap.andNot(ids, touched), indexed);
+            touched = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Skill index ready: {} resumes, {} skills in {} ms",
+                ids.cardinality(), skillMaps.size(), System.currentTimeMillis() - t0);
+    }
+
+    /** Takes {@code id} out of the skill and status bitmaps it is in; caller holds the write lock. */
+    private void unlink(int id) {
+        long[] linked = skillsOf.remove(id);
+        if (linked != null) {
+            for (long s : linked) bySkill.get(s).remove(id);
+        }
+        String status = statusOf.remove(id);
+        if (status != null) byStatus.get(status).remove(id);
+        if (touched != null) touched.add(id);
+    }
+
+    private static String key(String status) {
+        return status.strip().toLowerCase(Locale.ROOT);
+    }
+}
@@ -2,27 +2,122 @@ package com.yourname.backend.services;
 
 import com.yourname.backend.entities.Skill;
 import com.yourname.backend.repositories.SkillRepository;
+import com.yourname.backend.scoring.SkillVocabulary;
+import com.yourname.backend.util.TextUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Skill names to rows, through a warm in-memory name → id dictionary keyed by the name ignoring
+ * case and spacing ({@link SkillVocabulary#normalize}).  Names it doesn't know cost one {@code IN}
+ * lookup, one {@code INSERT ... ON CONFLICT DO NOTHING} for those still missing and one lookup
+ * of what that added, however many there are.  Another node creating the same skill
+ * concurrently just makes ours a no-op that the follow-up lookup resolves, so every node maps
+ * a name to the same id.  Skills are never deleted, hence entries never go stale.
+ */
 @Service
 public class SkillService {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillService.class);
+
     private final SkillRepository skillRepo;
+    private final SkillVocabulary vocabulary;
+    private final SkillTagger tagger;
+    private final ConcurrentHashMap<String, Long> known = new ConcurrentHashMap<>();
 
-    public SkillService(SkillRepository skillRepo) {
+    public SkillService(SkillRepository skillRepo, SkillVocabulary vocabulary, SkillTagger tagger) {
         this.skillRepo = skillRepo;
+        this.vocabulary = vocabulary;
+        this.tagger = tagger;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void load() {
+        List<Skill> all = skillRepo.findAll();
+        all.sort((a, b) -> Long.compare(a.getId(), b.getId()));  // lowest id wins, as in V10
+        remember(all);
+        log.info("Skill dictionary: {} skills, {} distinct", all.size(), known.size());
     }
 
     /**
      * Given a set of skill names, fetch existing Skill entities or create new ones.
+     * Names differing only in case or spacing resolve to the same skill.  The skills are
+     * loaded in the caller's persistence context (one query by id for the known ones),
+     * as the PERSIST / MERGE cascade of Resume and JobDescription needs.
      */
     @Transactional
     public Set<Skill> fetchOrCreateSkills(Set<String> names) {
-        return names.stream().map(name ->
-                skillRepo.findByName(name)
-                        .orElseGet(() -> skillRepo.save(new Skill(name)))
-        ).collect(Collectors.toSet());
+        Map<String, String> wanted = new LinkedHashMap<>();     // key → name to create it under
+        for (String name : names) {
+            String clean = TextUtils.collapseWhitespace(name);
+            if (!clean.isEmpty()) wanted.putIfAbsent(SkillVocabulary.normalize(clean), clean);
+        }
+
+        List<Long> ids = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (String key : wanted.keySet()) {
+            Long id = known.get(key);
+            if (id != null) ids.add(id);
+            else missing.add(key);
+        }
+
+        Set<Skill> skills = new HashSet<>();
+        if (!ids.isEmpty()) skills.addAll(skillRepo.findAllById(ids));
+        if (!missing.isEmpty()) skills.addAll(resolve(missing, wanted));
+        return skills;
+    }
+
+    /** Id of the skill named {@code name} in any case or spacing, or null if there is none. */
+    public Long idOf(String name) {
+        return known.get(SkillVocabulary.normalize(name));
+    }
+
+    private Collection<Skill> resolve(List<String> missing, Map<String, String> wanted) {
+        Map<String, Skill> found = new LinkedHashMap<>();
+        remember(skillRepo.findByNameKeyIn(missing), found);
+
+        List<String> create = new ArrayList<>();
+        for (String key : missing) {
+            if (!found.containsKey(key)) create.add(wanted.get(key));
+        }
+        if (create.isEmpty()) return found.values();
+        int created = skillRepo.insertMissing(create);
+
+        List<String> added = new ArrayList<>();                 // by us, or elsewhere in the meantime
+        for (String key : missing) {
+            if (!found.containsKey(key)) added.add(key);
+        }
+        remember(skillRepo.findByNameKeyIn(added), found);
+        for (String key : added) {
+            if (!found.containsKey(key)) throw new IllegalStateException("Skill not found after insert: " + wanted.get(key));
+        }
+        log.debug("Skills: {} looked up, {} created, {} created concurrently elsewhere",
+                missing.size() - create.size(), created, create.size() - created);
+        return found.values();
+    }
+
+    /** Rows come lowest id first, so a key spelled several ways (pre-V10 data) keeps the oldest. */
+    private void remember(List<Skill> rows, Map<String, Skill> found) {
+        for (Skill s : rows) found.putIfAbsent(SkillVocabulary.normalize(s.getName()), s);
+        remember(rows);
+    }
+
+    private void remember(Collection<Skill> rows) {
+        for (Skill s : rows) known.putIfAbsent(SkillVocabulary.normalize(s.getName()), s.getId());
+        vocabulary.add(rows);
+        tagger.add(rows);
     }
 }
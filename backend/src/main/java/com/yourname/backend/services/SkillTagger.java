@@ -0,0 +1,176 @@
+package com.yourname.backend.services;
+
+import com.yourname.backend.entities.Skill;
+import com.yourname.backend.scoring.SkillVocabulary;
+import com.yourname.backend.util.AhoCorasick;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Finds known skills in plain text: every name in the {@code skills} table and every alias
+ * from {@code skills.tagging.aliases}, as whole words in any case and spacing, in one
+ * Aho-Corasick pass.  Complements the LLM parsers, whose skill lists vary from call to call.
+ * <p>
+ * Skills are registered by SkillService as they are loaded or created; the automaton is
+ * rebuilt on the next {@link #tag} after the dictionary grew, searches in flight keep the
+ * previous one.
+ */
+@Service
+public class SkillTagger {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillTagger.class);
+
+    @Value("${skills.tagging.enabled:true}")
+    private boolean enabled;
+
+    @Value("${skills.tagging.aliases:classpath:skill-aliases.txt}")
+    private Resource aliasFile;
+
+    @Value("${skills.tagging.ignore:}")
+    private String ignore;
+
+    private record Automaton(AhoCorasick matcher, String[] patterns, String[] names) { }
+
+    private final ConcurrentHashMap<String, String> names = new ConcurrentHashMap<>();   // folded pattern → skill name
+    private final Set<String> ignored = new HashSet<>();
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    private volatile Automaton automaton;
+
+    @PostConstruct
+    void init() throws IOException {
+        for (String s : ignore.split(",")) {
+            if (!s.isBlank()) ignored.add(fold(s));
+        }
+        if (!enabled) {
+            log.info("Skill tagging disabled");
+            return;
+        }
+        if (!aliasFile.exists()) {
+            log.warn("Skill alias file {} not found, tagging skill names only", aliasFile);
+            return;
+        }
+        int n = 0;
+        try (BufferedReader in = new BufferedReader(
+                new InputStreamReader(aliasFile.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.strip();
+                int colon = line.indexOf(':');
+                if (line.isEmpty() || line.startsWith("#") || colon < 1) continue;
+                String skill = line.substring(0, colon).strip();
+                alias(skill, skill);
+                for (String alias : line.substring(colon + 1).split(",")) {
+                    if (alias(alias, skill)) n++;
+                }
+            }
+        }
+        log.info("Skill tagger: {} aliases from {}", n, aliasFile);
+    }
+
+    /** Aliases win over the spellings in the table. */
+    private boolean alias(String alias, String skill) {
+        String key = fold(alias);
+        if (key.isEmpty() || ignored.contains(key)) return false;
+        names.put(key, skill);
+        return true;
+    }
+
+    /** Registers skill names as SkillService loads or creates them. */
+    public void add(Collection<Skill> skills) {
+        if (!enabled) return;
+        for (Skill s : skills) {
+            String key = fold(s.getName());
+            if (key.isEmpty() || ignored.contains(key)) continue;
+            if (names.putIfAbsent(key, s.getName()) == null) dirty.set(true);
+        }
+    }
+
+    /** Names of the known skills mentioned in {@code text}, in order of first mention. */
+    public Set<String> tag(String text) {
+        Set<String> found = new LinkedHashSet<>();
+        if (!enabled || text == null || text.isEmpty()) return found;
+        Automaton a = current();
+        char[] buf = new char[text.length()];
+        int len = fold(text, buf);
+        a.matcher().search(buf, len, (p, start, end) -> {
+            String pattern = a.patterns()[p];
+            if (isWord(pattern.charAt(0)) && start > 0 && isWord(buf[start - 1])) return;
+            if (isWord(pattern.charAt(pattern.length() - 1)) && end < len && isWord(buf[end])) return;
+            found.add(a.names()[p]);
+        });
+        return found;
+    }
+
+    /** {@code parsed} plus the skills tagged in {@code text} it doesn't name yet (in any spelling). */
+    public List<String> withTagged(List<String> parsed, String text) {
+        Map<String, String> all = new LinkedHashMap<>();
+        for (String s : parsed) all.putIfAbsent(SkillVocabulary.normalize(s), s);
+        for (String s : tag(text)) all.putIfAbsent(SkillVocabulary.normalize(s), s);
+        return new ArrayList<>(all.values());
+    }
+
+    private Automaton current() {
+        // a caller arriving while the first build runs sees dirty reset but no automaton yet: it waits
+        if (dirty.get() || automaton == null) {
+            synchronized (this) {
+                // reset first: a skill added during the build marks it again
+                if (dirty.getAndSet(false) || automaton == null) {
+                    long t0 = System.nanoTime();
+                    List<String> patterns = new ArrayList<>(names.size());
+                    List<String> skills = new ArrayList<>(names.size());
+                    names.forEach((pattern, skill) -> { patterns.add(pattern); skills.add(skill); });
+                    AhoCorasick matcher = new AhoCorasick(patterns);
+                    automaton = new Automaton(matcher, patterns.toArray(String[]::new), skills.toArray(String[]::new));
+                    log.debug("Skill tagger rebuilt: {} patterns, {} states in {} µs",
+                            patterns.size(), matcher.states(), (System.nanoTime() - t0) / 1000);
+                }
+            }
+        }
+        return automaton;
+    }
+
+    private static boolean isWord(char c) {
+        return Character.isLetterOrDigit(c);
+    }
+
+    /** Lower-cases and collapses whitespace runs to one space, the same way for patterns and text. */
+    private static int fold(String text, char[] buf) {
+        int n = 0;
+        boolean space = true;                      // drops leading whitespace
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                if (!space) buf[n++] = ' ';
+                space = true;
+            } else {
+                buf[n++] = Character.toLowerCase(c);
+                space = false;
+            }
+        }
+        return n > 0 && buf[n - 1] == ' ' ? n - 1 : n;
+    }
+
+    private static String fold(String s) {
+        char[] buf = new char[s.length()];
+        return new String(buf, 0, fold(s, buf));
+    }
+}
@@ -0,0 +1,114 @@
+package com.yourname.backend.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.backend.python.PythonBridge;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Turns an uploaded PDF / DOCX / TXT into clean plain text.
+ * <p>
+ * {@code text-extraction.mode=java} (default) reads the file in-process with PDFBox / POI,
+ * one PDF page at a time.  {@code text-extraction.mode=python} keeps the old
+ * text_extractor.py path for teams that rely on pdfplumber's layout handling.
+ */
+@Service
+public class TextExtractionService {
+
+    private static final Logger log = LoggerFactory.getLogger(TextExtractionService.class);
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final Pattern CONTROL     = Pattern.compile("[\\p{Cntrl}&&[^\\n\\t]]");
+    private static final Pattern INLINE_WS   = Pattern.compile("[ \\t\\u00A0]+");
+    private static final Pattern BLANK_LINES = Pattern.compile("\\n{3,}");
+
+    private final PythonBridge python;
+
+    @Value("${text-extraction.mode:java}")
+    private String mode;
+
+    @Value("${python.text-extractor}")
+    private String TEXT_EXTRACTOR;
+
+    public TextExtractionService(PythonBridge python) {
+        this.python = python;
+    }
+
+    /**
+     * @param path absolute path of a stored .pdf, .docx or .txt file
+     * @return the document's text with whitespace normalised, never null
+     */
+    public String extract(String path) throws IOException, InterruptedException {
+        long t0 = System.currentTimeMillis();
+        String raw = "python".equalsIgnoreCase(mode) ? extractWithPython(path) : extractInJvm(Path.of(path));
+        String text = clean(raw);
+        log.debug("Extracted {} chars from {} in {} ms ({})",
+                text.length(), path, System.currentTimeMillis() - t0, mode);
+        return text;
+    }
+
+    private String extractInJvm(Path file) throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".pdf"))  return pdf(file.toFile());
+        if (name.endsWith(".docx")) return docx(file);
+        if (name.endsWith(".txt"))  return Files.readString(file, StandardCharsets.UTF_8);
+        throw new IllegalArgumentException("Unsupported file type: " + file.getFileName());
+    }
+
+    private static String pdf(File file) throws IOException {
+        try (PDDocument doc = Loader.loadPDF(file)) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setSortByPosition(true);
+            StringBuilder sb = new StringBuilder();
+            for (int page = 1; page <= doc.getNumberOfPages(); page++) {
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                sb.append(stripper.getText(doc)).append('\n');
+            }
+            return sb.toString();
+        }
+    }
+
+    private static String docx(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file);
+             XWPFDocument doc = new XWPFDocument(in);
+             XWPFWordExtractor extractor = new XWPFWordExtractor(doc)) {
+            return extractor.getText();
+        }
+    }
+
+    /** text_extractor.py prints {"text": "..."} – unwrap it so we never store the JSON envelope. */
+    private String extractWithPython(String path) throws IOException, InterruptedException {
+        String out = python.runLastLine(TEXT_EXTRACTOR, path);
+        if (out.isBlank()) return "";
+        JsonNode n = JSON.readTree(out);
+        return n.path("text").asText("");
+    }
+
+    static String clean(String raw) {
+        if (raw == null) return "";
+        String s = raw.replace("\r\n", "\n").replace('\r', '\n');
+        s = CONTROL.matcher(s).replaceAll("");
+        s = INLINE_WS.matcher(s).replaceAll(" ");
+        s = s.lines().map(String::strip).collect(Collectors.joining("\n"));
+        return BLANK_LINES.matcher(s).replaceAll("\n\n").strip();
+    }
+}
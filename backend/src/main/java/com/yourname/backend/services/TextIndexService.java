@@ -0,0 +1,420 @@
+package com.yourname.backend.services;
+
+import com.yourname.backend.entities.Embedding.OwnerType;
+import com.yourname.backend.entities.Experience;
+import com.yourname.backend.entities.JobDescription;
+import com.yourname.backend.entities.Resume;
+import com.yourname.backend.repositories.JobDescriptionRepository;
+import com.yourname.backend.repositories.ResumeRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexOptions;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.MultiTerms;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.uhighlight.DefaultPassageFormatter;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Embedded Lucene index for keyword search ({@code kubernetes AND fintech}) over resume text,
+ * summary, education and experience, and over job title, summary, requirements,
+ * responsibilities and description.  BM25 ranking, highlighted snippets.
+ * <p>
+ * The index lives on local disk.  Uploads and deletes update it as they happen and become
+ * searchable within {@code text-search.refresh-ms} (near-real-time reader); changes are
+ * committed every {@code text-search.commit-interval-seconds} and on shutdown.  When the
+ * index is missing, or holds a different number of resumes or jobs than the database
+ * (e.g. after a crash lost the last interval), it is rebuilt in the background and searches
+ * get 503 until that is done.
+ */
+@Service
+public class TextIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(TextIndexService.class);
+    private static final int LOAD_CHUNK = 500;
+    private static final int SNIPPETS = 2;
+
+    /* stored, with offsets in the postings so highlighting needn't re-analyze the text */
+    private static final FieldType TEXT = new FieldType(TextField.TYPE_STORED);
+    static {
+        TEXT.setIndexOptions(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS_AND_OFFSETS);
+        TEXT.freeze();
+    }
+
+    /** Searched fields per kind of document and their boosts; also the highlighted fields. */
+    private static final Map<OwnerType, Map<String, Float>> FIELDS = Map.of(
+            OwnerType.RESUME, orderedBoosts("summary", 2f, "experience", 1.5f, "education", 1f, "text", 1f),
+            OwnerType.JOB,    orderedBoosts("title", 3f, "summary", 2f, "requirements", 1.5f,
+                                            "responsibilities", 1.5f, "text", 1f));
+
+    private final ResumeRepository resumeRepo;
+    private final JobDescriptionRepository jobRepo;
+    private final TransactionTemplate readTx;
+    private final Analyzer analyzer = new StandardAnalyzer();
+
+    @Value("${text-search.index.path:data/text-index}")
+    private String indexPath;
+
+    @Value("${text-search.refresh-ms:1000}")
+    private long refreshMs;
+
+    @Value("${text-search.commit-interval-seconds:30}")
+    private long commitIntervalSeconds;
+
+    private Directory dir;
+    private IndexWriter writer;
+    private SearcherManager searchers;
+    private ScheduledExecutorService scheduler;
+    private boolean existed;
+    private volatile boolean ready;
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private Set<String> touched = new HashSet<>();     // keys written live while rebuilding; guarded by this
+
+    /** One match: the resume or job id, its BM25 score and a snippet per field that matched. */
+    public record Hit(Long id, float score, Map<String, String> highlights) { }
+
+    /** One page of matches, best first, and how many match in total. */
+    public record Result(long total, List<Hit> hits) { }
+
+    public TextIndexService(ResumeRepository resumeRepo,
+                            JobDescriptionRepository jobRepo,
+                            PlatformTransactionManager txManager) {
+        this.resumeRepo = resumeRepo;
+        this.jobRepo = jobRepo;
+        this.readTx = new TransactionTemplate(txManager);
+        this.readTx.setReadOnly(true);
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        Path path = Path.of(indexPath);
+        Files.createDirectories(path);
+        dir = FSDirectory.open(path);
+        existed = DirectoryReader.indexExists(dir);
+        writer = new IndexWriter(dir, new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searchers = new SearcherManager(writer, null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        // two threads, so a slow commit (fsync) or the rebuild doesn't hold up the NRT refresh
+        scheduler = Executors.newScheduledThreadPool(2, r -> {
+            Thread t = new Thread(r, "text-index");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.execute(this::load);
+        scheduler.scheduleWithFixedDelay(this::refresh, refreshMs, refreshMs, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::commitIfDirty,
+                commitIntervalSeconds, commitIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        if (scheduler != null) scheduler.shutdownNow();
+        commitIfDirty();
+        searchers.close();
+        writer.close();
+        dir.close();
+    }
+
+    /** False while the index is being rebuilt from the database. */
+    public boolean isReady() { return ready; }
+
+    /** Indexes {@code r}'s text as it is now; needs its experiences loaded or a transaction. */
+    public void put(Resume r) {
+        write(OwnerType.RESUME, r.getId(), document(r));
+    }
+
+    public void put(JobDescription jd) {
+        write(OwnerType.JOB, jd.getId(), document(jd));
+    }
+
+    public void remove(OwnerType type, Long id) {
+        write(type, id, null);
+    }
+
+    /**
+     * Resumes or jobs matching {@code q} in Lucene query syntax ({@code AND}, {@code OR},
+     * {@code NOT}, {@code "phrases"}, {@code field:term}, {@code prefix*}); bare terms are
+     * all required.  Best first, with up to two highlighted snippets per matching field.
+     *
+     * @throws ResponseStatusException 400 for a malformed query or a page past int range,
+     *                                  503 while rebuilding
+     */
+    public Result search(OwnerType type, String q, int page, int size) {
+        if (!ready) throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Text index is being rebuilt");
+        Map<String, Float> boosts = FIELDS.get(type);
+        String[] fields = boosts.keySet().toArray(String[]::new);
+        Query query;
+        try {
+            MultiFieldQueryParser parser = new MultiFieldQueryParser(fields, analyzer, boosts);
+            parser.setDefaultOperator(QueryParser.Operator.AND);
+            query = new BooleanQuery.Builder()
+                    .add(parser.parse(q), BooleanClause.Occur.MUST)
+                    .add(new TermQuery(new Term("type", type.name())), BooleanClause.Occur.FILTER)
+                    .build();
+        } catch (ParseException | IllegalArgumentException e) {
+            String why = String.valueOf(e.getMessage()).lines().findFirst().orElse("");
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid query: " + why);
+        }
+        int from, want;
+        try {
+            from = Math.multiplyExact(page, size);
+            want = Math.addExact(from, size);
+        } catch (ArithmeticException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "page is too large");
+        }
+
+        IndexSearcher searcher;
+        try {
+            searcher = searchers.acquire();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            TopDocs top = searcher.search(query, want);
+            int total = searcher.count(query);
+            if (from >= top.scoreDocs.length) return new Result(total, List.of());
+            ScoreDoc[] docs = Arrays.copyOfRange(top.scoreDocs, from, top.scoreDocs.length);
+            TopDocs pageDocs = new TopDocs(top.totalHits, docs);
+
+            UnifiedHighlighter highlighter = UnifiedHighlighter.builder(searcher, analyzer)
+                    .withFormatter(new DefaultPassageFormatter("<mark>", "</mark>", " … ", true))
+                    .withMaxNoHighlightPassages(0)             // fields without a match get no snippet
+                    .build();
+            int[] passages = new int[fields.length];
+            Arrays.fill(passages, SNIPPETS);
+            Map<String, String[]> snippets = highlighter.highlightFields(fields, query, pageDocs, passages);
+
+            List<Hit> hits = new ArrayList<>(docs.length);
+            for (int i = 0; i < docs.length; i++) {
+                Map<String, String> h = new LinkedHashMap<>();
+                for (String f : fields) {
+                    String s = snippets.get(f)[i];
+                    if (s != null) h.put(f, s);
+                }
+                long id = searcher.storedFields().document(docs[i].doc).getField("id").numericValue().longValue();
+                hits.add(new Hit(id, docs[i].score, h));
+            }
+            return new Result(total, hits);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    /* ------------------------------------------------------------ writing */
+
+    /** Replaces (or with a null {@code doc}, deletes) the document of {@code type} {@code id}. */
+    private synchronized void write(OwnerType type, Long id, Document doc) {
+        String key = key(type, id);
+        if (touched != null) touched.add(key);
+        try {
+            if (doc == null) writer.deleteDocuments(new Term("key", key));
+            else writer.updateDocument(new Term("key", key), identify(doc, type, id));
+            dirty.set(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Rebuild writes: skipped for keys written live since the rebuild started, they are newer. */
+    private synchronized void rebuilt(OwnerType type, Long id, Document doc) throws IOException {
+        String key = key(type, id);
+        if (touched.contains(key)) return;
+        writer.updateDocument(new Term("key", key), identify(doc, type, id));
+    }
+
+    private void load() {
+        long t0 = System.currentTimeMillis();
+        try {
+            long resumes = resumeRepo.count(), jobs = jobRepo.count();
+            long indexedResumes = count(OwnerType.RESUME), indexedJobs = count(OwnerType.JOB);
+            if (existed && resumes == indexedResumes && jobs == indexedJobs) {
+                synchronized (this) { touched = null; }
+                ready = true;
+                log.info("Text index ready: {} resumes, {} jobs", resumes, jobs);
+                return;
+            }
+            log.info("Text index {} – rebuilding ({} resumes, {} jobs in the database)",
+                    existed ? "out of date (" + indexedResumes + " resumes, " + indexedJobs + " jobs)" : "missing",
+                    resumes, jobs);
+            rebuild();
+            searchers.maybeRefreshBlocking();
+            ready = true;
+            log.info("Text index rebuilt in {} ms", System.currentTimeMillis() - t0);
+        } catch (Exception e) {
+            log.error("Could not build the text index, keyword search stays unavailable", e);
+        }
+    }
+
+    private void rebuild() throws IOException {
+        Set<String> live = new HashSet<>();
+        List<Long> ids = resumeRepo.findAllIds();
+        for (int i = 0; i < ids.size(); i += LOAD_CHUNK) {
+            List<Long> chunk = ids.subList(i, Math.min(i + LOAD_CHUNK, ids.size()));
+            readTx.executeWithoutResult(s -> {
+                for (Resume r : resumeRepo.findAllById(chunk)) {
+                    live.add(key(OwnerType.RESUME, r.getId()));
+                    try {
+                        rebuilt(OwnerType.RESUME, r.getId(), document(r));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        }
+        for (JobDescription jd : jobRepo.findAll()) {
+            live.add(key(OwnerType.JOB, jd.getId()));
+            rebuilt(OwnerType.JOB, jd.getId(), document(jd));
+        }
+
+        // documents of rows deleted while the index wasn't running
+        int stale = 0;
+        synchronized (this) {
+            try (DirectoryReader reader = DirectoryReader.open(writer)) {
+                Terms keys = MultiTerms.getTerms(reader, "key");
+                if (keys != null) {
+                    TermsEnum it = keys.iterator();
+                    for (BytesRef k = it.next(); k != null; k = it.next()) {
+                        String key = k.utf8ToString();
+                        if (live.contains(key) || touched.contains(key)) continue;
+                        writer.deleteDocuments(new Term("key", key));
+                        stale++;
+                    }
+                }
+            }
+            touched = null;
+        }
+        writer.commit();
+        log.info("Text index: {} resumes and {} jobs indexed, {} stale documents dropped",
+                ids.size(), live.size() - ids.size(), stale);
+    }
+
+    private long count(OwnerType type) throws IOException {
+        IndexSearcher s = searchers.acquire();
+        try {
+            return s.count(new TermQuery(new Term("type", type.name())));
+        } finally {
+            release(s);
+        }
+    }
+
+    private void refresh() {
+        try {
+            searchers.maybeRefresh();
+        } catch (IOException e) {
+            log.warn("Could not refresh the text index reader: {}", e.getMessage());
+        }
+    }
+
+    private void commitIfDirty() {
+        if (!dirty.getAndSet(false)) return;
+        try {
+            writer.commit();
+        } catch (IOException | IllegalStateException e) {       // ISE: writer already closed
+            dirty.set(true);
+            log.warn("Could not commit the text index: {}", e.getMessage());
+        }
+    }
+
+    private void release(IndexSearcher s) {
+        try {
+            searchers.release(s);
+        } catch (IOException e) {
+            log.warn("Could not release a text index searcher: {}", e.getMessage());
+        }
+    }
+
+    private static Document document(Resume r) {
+        Document doc = new Document();
+        text(doc, "text", r.getPlainText());
+        text(doc, "summary", r.getSummary());
+        text(doc, "education", r.getEducation());
+        StringJoiner exp = new StringJoiner("\n");
+        for (Experience e : r.getExperiences()) {
+            if (e.getDescription() != null) exp.add(e.getDescription());
+        }
+        text(doc, "experience", exp.toString());
+        return doc;
+    }
+
+    private static Document document(JobDescription jd) {
+        Document doc = new Document();
+        text(doc, "title", jd.getTitle());
+        text(doc, "summary", jd.getSummary());
+        text(doc, "requirements", jd.getRequirements());
+        text(doc, "responsibilities", jd.getResponsibilities());
+        text(doc, "text", jd.getDescriptionText());
+        return doc;
+    }
+
+    private static Document identify(Document doc, OwnerType type, Long id) {
+        doc.add(new StringField("key", key(type, id), Field.Store.NO));
+        doc.add(new StringField("type", type.name(), Field.Store.NO));
+        doc.add(new StoredField("id", id));
+        return doc;
+    }
+
+    private static void text(Document doc, String field, String value) {
+        if (value != null && !value.isBlank()) doc.add(new Field(field, value, TEXT));
+    }
+
+    private static String key(OwnerType type, Long id) {
+        return type.name() + ":" + id;
+    }
+
+    private static Map<String, Float> orderedBoosts(Object... fieldBoost) {
+        Map<String, Float> m = new LinkedHashMap<>();
+        for (int i = 0; i < fieldBoost.length; i += 2) m.put((String) fieldBoost[i], (Float) fieldBoost[i + 1]);
+        return Collections.unmodifiableMap(m);
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -34,8 +35,21 @@ public class StorageService {
      * @throws IllegalArgumentException If the filename is invalid.
      */
     public String store(MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return store(in, file.getOriginalFilename());
+        }
+    }
+
+    /**
+     * Stores a stream – e.g. one entry of an uploaded ZIP – the same way, without
+     * buffering it in memory.  {@code in} is read to the end but not closed.
+     *
+     * @param originalName name the content was uploaded under; only its extension is kept
+     * @return The absolute path string of the stored file.
+     */
+    public String store(InputStream in, String originalName) throws IOException {
         // Clean the path and get the original filename
-        String originalFilename = StringUtils.cleanPath(file.getOriginalFilename());
+        String originalFilename = StringUtils.cleanPath(originalName == null ? "" : originalName);
 
         // Basic validation for filename
         if (originalFilename.isEmpty()) {
@@ -58,7 +72,12 @@ public class StorageService {
 
         // Resolve the destination path against the root upload directory
         Path destinationPath = this.uploadRoot.resolve(uniqueFilename);
-        Files.copy(file.getInputStream(), destinationPath, StandardCopyOption.REPLACE_EXISTING);
+        try {
+            Files.copy(in, destinationPath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(destinationPath);   // don't leave half-written files behind
+            throw e;
+        }
         return destinationPath.toAbsolutePath().toString();
     }
 
@@ -0,0 +1,145 @@
+package com.yourname.backend.util;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Aho-Corasick automaton: finds every occurrence of any of a fixed set of patterns in one
+ * pass over the text, however many patterns there are.  Matching is exact on chars –
+ * callers fold case and spacing of patterns and text alike.  Immutable once built, so
+ * any number of threads can search it.
+ */
+public final class AhoCorasick {
+
+    /** Called for every match, {@code text[start, end)} equals pattern {@code pattern}. */
+    @FunctionalInterface
+    public interface Hit {
+        void at(int pattern, int start, int end);
+    }
+
+    private static final int[] NONE = new int[0];
+    private static final char[] NO_LABELS = new char[0];
+
+    private final char[][] labels;   // per state, sorted
+    private final int[][] targets;   // per state, parallel to labels
+    private final int[] fail;
+    private final int[][] out;       // patterns ending in a state, own and via its fail chain
+    private final int[] lengths;
+
+    public AhoCorasick(List<String> patterns) {
+        // trie as singly linked edge lists in flat arrays; frozen into sorted per-state arrays below
+        int max = 1;
+        for (String p : patterns) max += p.length();
+        int[] firstEdge = filled(max), edgeNext = new int[max], edgeTarget = new int[max], firstEnd = filled(max);
+        char[] edgeChar = new char[max];
+        int[] degree = new int[max];
+        int[] endNext = new int[patterns.size()];
+        int n = 1, edges = 0;
+        lengths = new int[patterns.size()];
+
+        for (int p = 0; p < patterns.size(); p++) {
+            String pattern = patterns.get(p);
+            lengths[p] = pattern.length();
+            if (pattern.isEmpty()) continue;
+            int s = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                int e = firstEdge[s];
+                while (e >= 0 && edgeChar[e] != c) e = edgeNext[e];
+                if (e < 0) {
+                    e = edges++;
+                    edgeChar[e] = c;
+                    edgeTarget[e] = n++;
+                    edgeNext[e] = firstEdge[s];
+                    firstEdge[s] = e;
+                    degree[s]++;
+                }
+                s = edgeTarget[e];
+            }
+            endNext[p] = firstEnd[s];
+            firstEnd[s] = p;
+        }
+
+        labels = new char[n][];
+        targets = new int[n][];
+        for (int s = 0; s < n; s++) {
+            if (degree[s] == 0) {                           // leaves, most states
+                labels[s] = NO_LABELS;
+                targets[s] = NONE;
+                continue;
+            }
+            long[] packed = new long[degree[s]];            // char in the high bits sorts by char
+            int k = 0;
+            for (int e = firstEdge[s]; e >= 0; e = edgeNext[e]) packed[k++] = ((long) edgeChar[e] << 32) | edgeTarget[e];
+            Arrays.sort(packed);
+            labels[s] = new char[k];
+            targets[s] = new int[k];
+            for (int i = 0; i < k; i++) {
+                labels[s][i] = (char) (packed[i] >>> 32);
+                targets[s][i] = (int) packed[i];
+            }
+        }
+
+        // breadth-first, so a state's fail target is finished before the state itself
+        fail = new int[n];
+        out = new int[n][];
+        out[0] = NONE;
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
+        for (int t : targets[0]) {
+            out[t] = ends(firstEnd[t], endNext, NONE);
+            queue[tail++] = t;
+        }
+        while (head < tail) {
+            int s = queue[head++];
+            for (int k = 0; k < labels[s].length; k++) {
+                char c = labels[s][k];
+                int t = targets[s][k];
+                int f = fail[s];
+                int g;
+                while ((g = step(f, c)) < 0 && f != 0) f = fail[f];
+                fail[t] = g < 0 ? 0 : g;
+                out[t] = ends(firstEnd[t], endNext, out[fail[t]]);
+                queue[tail++] = t;
+            }
+        }
+    }
+
+    public int states() {
+        return labels.length;
+    }
+
+    /** Reports all matches in {@code text[0, len)}, ordered by end position. */
+    public void search(char[] text, int len, Hit hit) {
+        int s = 0;
+        for (int i = 0; i < len; i++) {
+            char c = text[i];
+            int t;
+            while ((t = step(s, c)) < 0 && s != 0) s = fail[s];
+            s = t < 0 ? 0 : t;
+            for (int p : out[s]) hit.at(p, i + 1 - lengths[p], i + 1);
+        }
+    }
+
+    private int step(int s, char c) {
+        int k = Arrays.binarySearch(labels[s], c);
+        return k < 0 ? -1 : targets[s][k];
+    }
+
+    /** Patterns ending in a state: its own, then those inherited from its fail target. */
+    private static int[] ends(int first, int[] next, int[] inherited) {
+        if (first < 0) return inherited;
+        int k = 0;
+        for (int p = first; p >= 0; p = next[p]) k++;
+        int[] r = new int[k + inherited.length];
+        System.arraycopy(inherited, 0, r, k, inherited.length);
+        for (int p = first, i = 0; p >= 0; p = next[p]) r[i++] = p;
+        return r;
+    }
+
+    private static int[] filled(int n) {
+        int[] a = new int[n];
+        Arrays.fill(a, -1);
+        return a;
+    }
+}
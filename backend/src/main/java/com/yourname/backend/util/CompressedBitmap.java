@@ -0,0 +1,363 @@
+package com.yourname.backend.util;
+
+import java.util.Arrays;
+
+/**
+ * Set of non-negative ints stored Roaring-style: values are grouped by their high 16 bits and
+ * each group of up to 65 536 values is a sorted {@code char[]} while sparse (at most 4096
+ * entries) and a 1024-word bit set once dense.  Memory stays close to 2 bytes per value for
+ * sparse sets and at most 8 KB per group for dense ones, and AND / OR / AND-NOT work group by
+ * group with word-wide operations.
+ * <p>
+ * Not thread-safe; the set operations return new bitmaps and never modify their arguments.
+ */
+public final class CompressedBitmap {
+
+    private static final int ARRAY_MAX = 4096;
+    private static final int WORDS = 1024;
+
+    private char[] keys = new char[0];
+    private Container[] containers = new Container[0];
+    private int size;                                    // containers in use
+
+    /* ------------------------------------------------------------ single values */
+
+    public void add(int x) {
+        int i = find((char) (x >>> 16));
+        if (i < 0) {
+            i = -i - 1;
+            insertAt(i, (char) (x >>> 16), new ArrayContainer());
+        }
+        containers[i] = containers[i].add((char) x);
+    }
+
+    public void remove(int x) {
+        int i = find((char) (x >>> 16));
+        if (i < 0) return;
+        Container c = containers[i].remove((char) x);
+        if (c.cardinality() == 0) removeAt(i);
+        else containers[i] = c;
+    }
+
+    public boolean contains(int x) {
+        int i = find((char) (x >>> 16));
+        return i >= 0 && containers[i].contains((char) x);
+    }
+
+    public int cardinality() {
+        int n = 0;
+        for (int i = 0; i < size; i++) n += containers[i].cardinality();
+        return n;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Up to {@code limit} values after skipping {@code offset}, highest first – the newest
+     * rows for serial ids.  Whole groups before the page are skipped by their cardinality.
+     */
+    public int[] pageDescending(int offset, int limit) {
+        int[] out = new int[Math.max(0, Math.min(limit, cardinality() - offset))];
+        int n = 0, skip = offset;
+        for (int i = size - 1; i >= 0 && n < out.length; i--) {
+            Container c = containers[i];
+            int card = c.cardinality();
+            if (skip >= card) { skip -= card; continue; }
+            n = c.fillDescending(keys[i] << 16, skip, out, n);
+            skip = 0;
+        }
+        return out;
+    }
+
+    public CompressedBitmap copy() {
+        CompressedBitmap r = new CompressedBitmap();
+        r.keys = Arrays.copyOf(keys, size);
+        r.containers = new Container[size];
+        for (int i = 0; i < size; i++) r.containers[i] = containers[i].copy();
+        r.size = size;
+        return r;
+    }
+
+    /* ------------------------------------------------------------ set operations */
+
+    public static CompressedBitmap and(CompressedBitmap a, CompressedBitmap b) {
+        CompressedBitmap r = new CompressedBitmap();
+        int i = 0, j = 0;
+        while (i < a.size && j < b.size) {
+            int cmp = Character.compare(a.keys[i], b.keys[j]);
+            if (cmp < 0) i++;
+            else if (cmp > 0) j++;
+            else {
+                Container c = a.containers[i].and(b.containers[j]);
+                if (c.cardinality() > 0) r.append(a.keys[i], c);
+                i++;
+                j++;
+            }
+        }
+        return r;
+    }
+
+    public static CompressedBitmap or(CompressedBitmap a, CompressedBitmap b) {
+        CompressedBitmap r = new CompressedBitmap();
+        int i = 0, j = 0;
+        while (i < a.size || j < b.size) {
+            int cmp = i == a.size ? 1 : j == b.size ? -1 : Character.compare(a.keys[i], b.keys[j]);
+            if (cmp < 0) { r.append(a.keys[i], a.containers[i].copy()); i++; }
+            else if (cmp > 0) { r.append(b.keys[j], b.containers[j].copy()); j++; }
+            else { r.append(a.keys[i], a.containers[i].or(b.containers[j])); i++; j++; }
+        }
+        return r;
+    }
+
+    public static CompressedBitmap andNot(CompressedBitmap a, CompressedBitmap b) {
+        CompressedBitmap r = new CompressedBitmap();
+        int j = 0;
+        for (int i = 0; i < a.size; i++) {
+            while (j < b.size && b.keys[j] < a.keys[i]) j++;
+            Container c = j < b.size && b.keys[j] == a.keys[i]
+                    ? a.containers[i].andNot(b.containers[j])
+                    : a.containers[i].copy();
+            if (c.cardinality() > 0) r.append(a.keys[i], c);
+        }
+        return r;
+    }
+
+    /* ------------------------------------------------------------ group index */
+
+    private int find(char key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insertAt(int i, char key, Container c) {
+        if (size == keys.length) {
+            int cap = Math.max(4, size * 2);
+            keys = Arrays.copyOf(keys, cap);
+            containers = Arrays.copyOf(containers, cap);
+        }
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(containers, i, containers, i + 1, size - i);
+        keys[i] = key;
+        containers[i] = c;
+        size++;
+    }
+
+    private void removeAt(int i) {
+        System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+        System.arraycopy(containers, i + 1, containers, i, size - i - 1);
+        containers[--size] = null;
+    }
+
+    private void append(char key, Container c) {
+        insertAt(size, key, c);
+    }
+
+    /* ------------------------------------------------------------ containers */
+
+    private interface Container {
+        Container add(char v);
+        Container remove(char v);
+        boolean contains(char v);
+        int cardinality();
+        Container and(Container o);
+        Container or(Container o);
+        Container andNot(Container o);
+        Container copy();
+        /** Writes values high to low, skipping the first {@code skip}; returns the new fill of {@code out}. */
+        int fillDescending(int high, int skip, int[] out, int n);
+    }
+
+    /** Sorted distinct values, for groups with at most {@link #ARRAY_MAX} of them. */
+    private static final class ArrayContainer implements Container {
+        char[] values;
+        int card;
+
+        ArrayContainer() { this(new char[4], 0); }
+
+        ArrayContainer(char[] values, int card) {
+            this.values = values;
+            this.card = card;
+        }
+
+        public Container add(char v) {
+            int i = Arrays.binarySearch(values, 0, card, v);
+            if (i >= 0) return this;
+            if (card == ARRAY_MAX) return toBits().add(v);
+            i = -i - 1;
+            if (card == values.length) values = Arrays.copyOf(values, Math.min(ARRAY_MAX, Math.max(4, card * 2)));
+            System.arraycopy(values, i, values, i + 1, card - i);
+            values[i] = v;
+            card++;
+            return this;
+        }
+
+        public Container remove(char v) {
+            int i = Arrays.binarySearch(values, 0, card, v);
+            if (i < 0) return this;
+            System.arraycopy(values, i + 1, values, i, card - i - 1);
+            card--;
+            return this;
+        }
+
+        public boolean contains(char v) {
+            return Arrays.binarySearch(values, 0, card, v) >= 0;
+        }
+
+        public int cardinality() {
+            return card;
+        }
+
+        public Container and(Container o) {
+            char[] r = new char[Math.min(card, o.cardinality())];
+            int n = 0;
+            if (o instanceof ArrayContainer a) {
+                int i = 0, j = 0;
+                while (i < card && j < a.card) {
+                    if (values[i] < a.values[j]) i++;
+                    else if (values[i] > a.values[j]) j++;
+                    else { r[n++] = values[i]; i++; j++; }
+                }
+            } else {
+                BitsContainer b = (BitsContainer) o;
+                for (int i = 0; i < card; i++) if (b.contains(values[i])) r[n++] = values[i];
+            }
+            return new ArrayContainer(r, n);
+        }
+
+        public Container or(Container o) {
+            if (o instanceof BitsContainer b) return b.or(this);
+            ArrayContainer a = (ArrayContainer) o;
+            char[] r = new char[card + a.card];
+            int i = 0, j = 0, n = 0;
+            while (i < card || j < a.card) {
+                if (j == a.card || (i < card && values[i] < a.values[j])) r[n++] = values[i++];
+                else if (i == card || a.values[j] < values[i]) r[n++] = a.values[j++];
+                else { r[n++] = values[i++]; j++; }
+            }
+            ArrayContainer merged = new ArrayContainer(r, n);
+            return n > ARRAY_MAX ? merged.toBits() : merged;
+        }
+
+        public Container andNot(Container o) {
+            char[] r = new char[card];
+            int n = 0;
+            for (int i = 0; i < card; i++) if (!o.contains(values[i])) r[n++] = values[i];
+            return new ArrayContainer(r, n);
+        }
+
+        public Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(card, 1)), card);
+        }
+
+        public int fillDescending(int high, int skip, int[] out, int n) {
+            for (int i = card - 1 - skip; i >= 0 && n < out.length; i--) out[n++] = high | values[i];
+            return n;
+        }
+
+        BitsContainer toBits() {
+            long[] words = new long[WORDS];
+            for (int i = 0; i < card; i++) words[values[i] >>> 6] |= 1L << values[i];
+            return new BitsContainer(words, card);
+        }
+    }
+
+    /** Plain bit set over the 65 536 values of a group, for dense groups. */
+    private static final class BitsContainer implements Container {
+        final long[] words;
+        int card;
+
+        BitsContainer(long[] words, int card) {
+            this.words = words;
+            this.card = card;
+        }
+
+        public Container add(char v) {
+            long before = words[v >>> 6];
+            words[v >>> 6] = before | (1L << v);
+            if (before != words[v >>> 6]) card++;
+            return this;
+        }
+
+        public Container remove(char v) {
+            long before = words[v >>> 6];
+            words[v >>> 6] = before & ~(1L << v);
+            if (before != words[v >>> 6]) card--;
+            return card <= ARRAY_MAX ? toArray() : this;
+        }
+
+        public boolean contains(char v) {
+            return (words[v >>> 6] & (1L << v)) != 0;
+        }
+
+        public int cardinality() {
+            return card;
+        }
+
+        public Container and(Container o) {
+            if (o instanceof ArrayContainer a) return a.and(this);
+            long[] r = new long[WORDS];
+            long[] w = ((BitsContainer) o).words;
+            int n = 0;
+            for (int i = 0; i < WORDS; i++) n += Long.bitCount(r[i] = words[i] & w[i]);
+            return shrink(r, n);
+        }
+
+        public Container or(Container o) {
+            long[] r = words.clone();
+            if (o instanceof ArrayContainer a) {
+                for (int i = 0; i < a.card; i++) r[a.values[i] >>> 6] |= 1L << a.values[i];
+            } else {
+                long[] w = ((BitsContainer) o).words;
+                for (int i = 0; i < WORDS; i++) r[i] |= w[i];
+            }
+            int n = 0;
+            for (long x : r) n += Long.bitCount(x);
+            return new BitsContainer(r, n);
+        }
+
+        public Container andNot(Container o) {
+            long[] r = words.clone();
+            if (o instanceof ArrayContainer a) {
+                for (int i = 0; i < a.card; i++) r[a.values[i] >>> 6] &= ~(1L << a.values[i]);
+            } else {
+                long[] w = ((BitsContainer) o).words;
+                for (int i = 0; i < WORDS; i++) r[i] &= ~w[i];
+            }
+            int n = 0;
+            for (long x : r) n += Long.bitCount(x);
+            return shrink(r, n);
+        }
+
+        public Container copy() {
+            return new BitsContainer(words.clone(), card);
+        }
+
+        public int fillDescending(int high, int skip, int[] out, int n) {
+            for (int i = WORDS - 1; i >= 0 && n < out.length; i--) {
+                long w = words[i];
+                while (w != 0 && n < out.length) {
+                    int bit = 63 - Long.numberOfLeadingZeros(w);
+                    w &= ~(1L << bit);
+                    if (skip > 0) skip--;
+                    else out[n++] = high | (i << 6) | bit;
+                }
+            }
+            return n;
+        }
+
+        ArrayContainer toArray() {
+            char[] values = new char[Math.max(card, 1)];
+            int n = 0;
+            for (int i = 0; i < WORDS; i++) {
+                for (long w = words[i]; w != 0; w &= w - 1) values[n++] = (char) ((i << 6) | Long.numberOfTrailingZeros(w));
+            }
+            return new ArrayContainer(values, n);
+        }
+
+        private static Container shrink(long[] words, int card) {
+            BitsContainer b = new BitsContainer(words, card);
+            return card <= ARRAY_MAX ? b.toArray() : b;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.yourname.backend.util;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+/** CompletableFuture helpers for stages that throw checked exceptions. */
+public final class Futures {
+    private Futures() {}                 // utility class
+
+    @FunctionalInterface
+    public interface CheckedSupplier<T> {
+        T get() throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface CheckedFunction<T, R> {
+        R apply(T t) throws Exception;
+    }
+
+    /** Runs {@code task} on {@code executor}; a checked exception completes the future exceptionally. */
+    public static <T> CompletableFuture<T> supply(CheckedSupplier<T> task, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> unchecked(task), executor);
+    }
+
+    /** Applies {@code fn} on {@code executor} once {@code f} completes. */
+    public static <T, R> CompletableFuture<R> then(CompletableFuture<T> f, CheckedFunction<T, R> fn, Executor executor) {
+        return f.thenApplyAsync(t -> unchecked(() -> fn.apply(t)), executor);
+    }
+
+    /**
+     * Waits for {@code f} and rethrows what the failing stage threw rather than the
+     * CompletionException / ExecutionException wrapping it.
+     */
+    public static <T> T join(CompletableFuture<T> f) throws IOException, InterruptedException {
+        try {
+            return f.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            while (cause instanceof CompletionException && cause.getCause() != null) cause = cause.getCause();
+            if (cause instanceof IOException io) throw io;
+            if (cause instanceof InterruptedException ie) throw ie;
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static <T> T unchecked(CheckedSupplier<T> task) {
+        try {
+            return task.get();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+}
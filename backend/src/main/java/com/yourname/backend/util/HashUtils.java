@@ -0,0 +1,51 @@
+package com.yourname.backend.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public final class HashUtils {
+    private HashUtils() {}                 // utility class
+
+    /** Hex SHA-256 of a UTF-8 string; null is hashed as the empty string. */
+    public static String sha256(String text) {
+        return HexFormat.of().formatHex(digest().digest(
+                (text == null ? "" : text).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /** Hex SHA-256 of a file's content, streamed. */
+    public static String sha256(Path file) throws IOException {
+        MessageDigest md = digest();
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] buf = new byte[8192];
+            int n;
+            while ((n = in.read(buf)) != -1) md.update(buf, 0, n);
+        }
+        return HexFormat.of().formatHex(md.digest());
+    }
+
+    /**
+     * Short version tag for a script: the first 12 hex chars of its SHA-256,
+     * or "unknown" if the file cannot be read.
+     */
+    public static String scriptVersion(String scriptPath) {
+        try {
+            return sha256(Path.of(scriptPath)).substring(0, 12);
+        } catch (IOException e) {
+            return "unknown";
+        }
+    }
+
+    private static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);   // every JRE ships SHA-256
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.yourname.backend.util;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key: the first caller runs the work, callers
+ * arriving while it runs wait for and share its result (or failure).  Nothing is kept
+ * once the work completes – the next call runs it again.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong joined = new AtomicLong();
+
+    /** Starts {@code call} unless one is already running for {@code key}. */
+    public CompletableFuture<V> run(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            joined.incrementAndGet();
+            return running.copy();       // a caller cancelling its copy doesn't affect the others
+        }
+
+        CompletableFuture<V> f;
+        try {
+            f = call.get();
+        } catch (RuntimeException | Error e) {
+            f = CompletableFuture.failedFuture(e);
+        }
+        f.whenComplete((v, e) -> {
+            inFlight.remove(key, mine);
+            if (e != null) mine.completeExceptionally(e);
+            else mine.complete(v);
+        });
+        return mine.copy();
+    }
+
+    /** Blocking form: the first caller runs {@code work} on its own thread. */
+    public V call(K key, Futures.CheckedSupplier<V> work) throws IOException, InterruptedException {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            joined.incrementAndGet();
+            return Futures.join(running);
+        }
+
+        try {
+            V v = work.get();
+            inFlight.remove(key, mine);
+            mine.complete(v);
+        } catch (Throwable e) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(e);
+        }
+        return Futures.join(mine);      // rethrows the work's own exception
+    }
+
+    /** Callers so far that shared a running call instead of starting one. */
+    public long joined() {
+        return joined.get();
+    }
+}
@@ -1,12 +1,20 @@
 package com.yourname.backend.util;
 
 import java.util.List;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public final class TextUtils {
     private TextUtils() {}                 // utility class
 
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /** Collapses every whitespace run to one space – same as re.sub(r"\s+", " ") in the scripts. */
+    public static String collapseWhitespace(String text) {
+        return text == null ? "" : WHITESPACE.matcher(text).replaceAll(" ").strip();
+    }
+
     public static List<String> csvToList(String csv) {
         if (csv == null || csv.isBlank()) return List.of();
         return Stream.of(csv.split(","))
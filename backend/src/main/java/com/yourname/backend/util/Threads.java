@@ -0,0 +1,20 @@
+package com.yourname.backend.util;
+
+import java.util.concurrent.ThreadFactory;
+
+public final class Threads {
+    private Threads() {}                 // utility class
+
+    /** Property that switches Tomcat and the backend's own executors to virtual threads. */
+    public static final String VIRTUAL = "${spring.threads.virtual.enabled:false}";
+
+    /**
+     * Threads named {@code prefix-1, prefix-2, ...}: virtual threads when {@code virtual},
+     * otherwise daemon platform threads so they never hold up shutdown.
+     */
+    public static ThreadFactory factory(String prefix, boolean virtual) {
+        return virtual
+                ? Thread.ofVirtual().name(prefix + "-", 1).factory()
+                : Thread.ofPlatform().name(prefix + "-", 1).daemon(true).factory();
+    }
+}
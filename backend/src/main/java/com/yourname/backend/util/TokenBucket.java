@@ -0,0 +1,42 @@
+package com.yourname.backend.util;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket that hands out reservations instead of blocking: {@link #reserve} takes
+ * the tokens straight away – going into debt if the bucket is short – and returns how
+ * long the caller has to wait before using them.  Refills continuously at
+ * {@code perMinute} and holds at most one minute's worth.
+ */
+public final class TokenBucket {
+
+    private final double capacity;
+    private final double refillPerNano;
+    private final LongSupplier nanoClock;
+    private double tokens;
+    private long lastRefill;
+
+    /** @param perMinute tokens per minute; zero or less disables the limit */
+    public TokenBucket(long perMinute) {
+        this(perMinute, System::nanoTime);
+    }
+
+    /** @param nanoClock time source in nanoseconds, {@link System#nanoTime} outside tests */
+    TokenBucket(long perMinute, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.capacity = perMinute;
+        this.refillPerNano = perMinute / 60e9;
+        this.tokens = perMinute;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    /** @return nanoseconds to wait before the reserved tokens may be used, 0 if they are available now */
+    public synchronized long reserve(double n) {
+        if (capacity <= 0) return 0;
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+        lastRefill = now;
+        tokens -= Math.min(n, capacity);   // an oversized request waits for a full bucket, not forever
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / refillPerNano);
+    }
+}
@@ -0,0 +1,33 @@
+package com.yourname.backend.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+public final class VectorMath {
+    private VectorMath() {}                // utility class
+
+    /** Cosine similarity in [-1, 1]; 0 when either vector is all zeros. */
+    public static double cosine(float[] a, float[] b) {
+        if (a.length != b.length)
+            throw new IllegalArgumentException("Dimension mismatch: " + a.length + " vs " + b.length);
+        double dot = 0, na = 0, nb = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            na  += a[i] * a[i];
+            nb  += b[i] * b[i];
+        }
+        return na == 0 || nb == 0 ? 0.0 : dot / (Math.sqrt(na) * Math.sqrt(nb));
+    }
+
+    public static byte[] toBytes(float[] v) {
+        ByteBuffer buf = ByteBuffer.allocate(v.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buf.asFloatBuffer().put(v);
+        return buf.array();
+    }
+
+    public static float[] fromBytes(byte[] bytes) {
+        float[] v = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(v);
+        return v;
+    }
+}
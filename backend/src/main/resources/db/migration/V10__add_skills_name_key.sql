@@ -0,0 +1,25 @@
+-- V10__add_skills_name_key.sql
+-- skill names differing only in case or spacing are one skill: merge existing duplicates into the
+-- lowest id, then enforce it with the unique index SkillService's INSERT ... ON CONFLICT relies on
+
+CREATE TEMP TABLE skill_merge AS
+SELECT id,
+       min(id) OVER (PARTITION BY lower(btrim(regexp_replace(name, '\s+', ' ', 'g')))) AS keep_id
+  FROM skills;
+DELETE FROM skill_merge WHERE id = keep_id;
+
+INSERT INTO resume_skills (resume_id, skill_id)
+SELECT rs.resume_id, m.keep_id
+  FROM resume_skills rs JOIN skill_merge m ON m.id = rs.skill_id
+ON CONFLICT DO NOTHING;
+
+INSERT INTO job_skills (job_id, skill_id)
+SELECT js.job_id, m.keep_id
+  FROM job_skills js JOIN skill_merge m ON m.id = js.skill_id
+ON CONFLICT DO NOTHING;
+
+-- the duplicates' own join rows go with them (ON DELETE CASCADE)
+DELETE FROM skills WHERE id IN (SELECT id FROM skill_merge);
+DROP TABLE skill_merge;
+
+CREATE UNIQUE INDEX idx_skills_name_key ON skills (lower(btrim(regexp_replace(name, '\s+', ' ', 'g'))));
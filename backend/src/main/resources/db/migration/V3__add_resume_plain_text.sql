@@ -0,0 +1,5 @@
+-- V3__add_resume_plain_text.sql
+-- extracted plain text is stored once at upload instead of re-extracted per score
+
+ALTER TABLE resumes
+    ADD COLUMN plain_text TEXT;
@@ -0,0 +1,6 @@
+-- V4__add_job_artifact_versions.sql
+-- parsed_json is reused until the description text or the parser script changes
+
+ALTER TABLE job_descriptions
+    ADD COLUMN description_hash VARCHAR(64),
+    ADD COLUMN parser_version   VARCHAR(32);
@@ -0,0 +1,9 @@
+-- V5__add_resume_parsed_json.sql
+-- full ResumeParser.py output, keyed by file content hash + parser version
+
+ALTER TABLE resumes
+    ADD COLUMN parsed_json    JSONB,
+    ADD COLUMN content_hash   VARCHAR(64),
+    ADD COLUMN parser_version VARCHAR(32);
+
+CREATE INDEX idx_resumes_content_hash ON resumes (content_hash, parser_version);
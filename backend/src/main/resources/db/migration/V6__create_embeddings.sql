@@ -0,0 +1,15 @@
+-- V6__create_embeddings.sql
+-- one stored sentence embedding per resume / job and model, as little-endian float32
+
+CREATE TABLE embeddings (
+                            id            BIGSERIAL PRIMARY KEY,
+                            owner_type    VARCHAR(16)  NOT NULL,
+                            owner_id      BIGINT       NOT NULL,
+                            model         VARCHAR(128) NOT NULL,
+                            model_version VARCHAR(32)  NOT NULL,
+                            dim           INTEGER      NOT NULL,
+                            text_hash     VARCHAR(64)  NOT NULL,
+                            vector        BYTEA        NOT NULL,
+                            created_at    TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT now(),
+                            CONSTRAINT uq_embeddings_owner_model UNIQUE (owner_type, owner_id, model)
+);
@@ -0,0 +1,41 @@
+-- V7__create_resume_job_scores.sql
+-- one score row per (resume, job) instead of a single overwritten set on resumes
+
+CREATE TABLE resume_job_scores (
+                                   id               BIGSERIAL PRIMARY KEY,
+                                   resume_id        BIGINT NOT NULL REFERENCES resumes(id)          ON DELETE CASCADE,
+                                   job_id           BIGINT NOT NULL REFERENCES job_descriptions(id) ON DELETE CASCADE,
+                                   final_score      DOUBLE PRECISION NOT NULL,
+                                   semantic_score   DOUBLE PRECISION NOT NULL,
+                                   skills_score     DOUBLE PRECISION NOT NULL,
+                                   education_score  DOUBLE PRECISION NOT NULL,
+                                   experience_score DOUBLE PRECISION NOT NULL,
+                                   overlap          DOUBLE PRECISION NOT NULL,
+                                   llm_score        DOUBLE PRECISION NOT NULL,
+                                   scorer_version   VARCHAR(32) NOT NULL,
+                                   resume_hash      VARCHAR(64),
+                                   job_hash         VARCHAR(64),
+                                   scored_at        TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT now(),
+                                   CONSTRAINT uq_resume_job_scores UNIQUE (resume_id, job_id)
+);
+
+CREATE INDEX idx_resume_job_scores_job_final ON resume_job_scores (job_id, final_score DESC);
+
+-- keep the last score each resume had; the unknown scorer version forces a rescore on next use
+INSERT INTO resume_job_scores (resume_id, job_id, final_score, semantic_score, skills_score, education_score,
+                               experience_score, overlap, llm_score, scorer_version, scored_at)
+SELECT r.id, r.last_scored_job_id, COALESCE(r.match_score, 0), COALESCE(r.semantic_score, 0),
+       COALESCE(r.skills_score, 0), COALESCE(r.education_score, 0), COALESCE(r.experience_score, 0),
+       COALESCE(r.overlap, 0), COALESCE(r.llm_score, 0), 'legacy', now()
+  FROM resumes r
+  JOIN job_descriptions j ON j.id = r.last_scored_job_id;
+
+ALTER TABLE resumes
+    DROP COLUMN IF EXISTS match_score,
+    DROP COLUMN IF EXISTS semantic_score,
+    DROP COLUMN IF EXISTS skills_score,
+    DROP COLUMN IF EXISTS education_score,
+    DROP COLUMN IF EXISTS experience_score,
+    DROP COLUMN IF EXISTS overlap,
+    DROP COLUMN IF EXISTS llm_score,
+    DROP COLUMN IF EXISTS last_scored_job_id;
@@ -0,0 +1,9 @@
+-- V8__add_resume_processing_status.sql
+-- stage reached by the async upload pipeline (STORED, EXTRACTED, PARSED, SCORED, FAILED)
+
+ALTER TABLE resumes
+    ADD COLUMN processing_status VARCHAR(16),
+    ADD COLUMN processing_error  TEXT,
+    ADD COLUMN score_job_id      BIGINT;
+
+CREATE INDEX idx_resumes_processing_status ON resumes (processing_status);
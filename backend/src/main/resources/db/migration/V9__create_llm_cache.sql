@@ -0,0 +1,14 @@
+-- V9__create_llm_cache.sql
+-- persistent tier of the LLM response cache: one reply per hash of (model, prompt version, inputs)
+
+CREATE TABLE llm_cache (
+                           cache_key      VARCHAR(64)  PRIMARY KEY,
+                           model          VARCHAR(64)  NOT NULL,
+                           prompt_version VARCHAR(32)  NOT NULL,
+                           response       TEXT         NOT NULL,
+                           created_at     TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT now(),
+                           expires_at     TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_llm_cache_expires_at ON llm_cache (expires_at);
+CREATE INDEX idx_llm_cache_model ON llm_cache (model, prompt_version);
@@ -0,0 +1,150 @@
+package com.yourname.backend.embedding;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class HnswIndexTest {
+
+    private static final int DIM = 32, N = 2000, K = 10;
+
+    private final Random rnd = new Random(1);
+    private final float[][] vectors = new float[N][];
+
+    private HnswIndex build() {
+        HnswIndex index = new HnswIndex(DIM, 16, 200);
+        for (int i = 0; i < N; i++) {
+            vectors[i] = random();
+            index.add(i, vectors[i]);
+        }
+        return index;
+    }
+
+    private float[] random() {
+        float[] v = new float[DIM];
+        for (int d = 0; d < DIM; d++) v[d] = (float) rnd.nextGaussian();
+        return v;
+    }
+
+    private static double cosine(float[] a, float[] b) {
+        double dot = 0, na = 0, nb = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            na += a[i] * a[i];
+            nb += b[i] * b[i];
+        }
+        return dot / Math.sqrt(na * nb);
+    }
+
+    /** Ids of the {@code k} most similar live vectors, by brute force. */
+    private List<Long> exact(float[] q, int k, Set<Long> removed) {
+        List<Long> ids = new ArrayList<>();
+        for (long i = 0; i < N; i++) if (!removed.contains(i)) ids.add(i);
+        ids.sort(Comparator.comparingDouble(i -> -cosine(q, vectors[(int) (long) i])));
+        return ids.subList(0, k);
+    }
+
+    private double recall(HnswIndex index, Set<Long> removed) {
+        int found = 0, queries = 100;
+        for (int q = 0; q < queries; q++) {
+            float[] query = random();
+            Set<Long> truth = new HashSet<>(exact(query, K, removed));
+            for (HnswIndex.Hit h : index.search(query, K, 100)) if (truth.contains(h.id())) found++;
+        }
+        return (double) found / (queries * K);
+    }
+
+    @Test
+    void recallAgainstBruteForce() {
+        HnswIndex index = build();
+        assertThat(index.size()).isEqualTo(N);
+        assertThat(recall(index, Set.of())).isGreaterThanOrEqualTo(0.95);
+    }
+
+    @Test
+    void hitsAreBestFirstWithTheirCosine() {
+        HnswIndex index = build();
+        float[] q = random();
+        List<HnswIndex.Hit> hits = index.search(q, K, 100);
+        assertThat(hits).hasSize(K);
+        for (int i = 0; i < hits.size(); i++) {
+            HnswIndex.Hit h = hits.get(i);
+            assertThat(h.similarity()).isCloseTo(cosine(q, vectors[(int) h.id()]), within(1e-4));
+            if (i > 0) assertThat(h.similarity()).isLessThanOrEqualTo(hits.get(i - 1).similarity());
+        }
+        assertThat(index.search(vectors[7], 1, 50).get(0).id()).isEqualTo(7L);
+    }
+
+    @Test
+    void removedEntriesAreNeverReturnedAndRecallHolds() {
+        HnswIndex index = build();
+        Set<Long> removed = new HashSet<>();
+        for (long i = 0; i < N; i += 4) {
+            assertThat(index.remove(i)).isTrue();
+            removed.add(i);
+        }
+        assertThat(index.remove(0)).isFalse();
+        assertThat(index.size()).isEqualTo(N - removed.size());
+        assertThat(index.deletedRatio()).isCloseTo(0.25, within(1e-9));
+        assertThat(index.contains(0)).isFalse();
+
+        for (int q = 0; q < 50; q++) {
+            for (HnswIndex.Hit h : index.search(random(), K, 100)) assertThat(removed).doesNotContain(h.id());
+        }
+        assertThat(recall(index, removed)).isGreaterThanOrEqualTo(0.9);
+    }
+
+    @Test
+    void reAddingAnIdReplacesItsVector() {
+        HnswIndex index = build();
+        float[] moved = random();
+        vectors[3] = moved;
+        index.add(3, moved);
+
+        assertThat(index.size()).isEqualTo(N);
+        List<HnswIndex.Hit> hits = index.search(moved, 1, 50);
+        assertThat(hits.get(0).id()).isEqualTo(3L);
+        assertThat(hits.get(0).similarity()).isCloseTo(1.0, within(1e-4));
+    }
+
+    @Test
+    void snapshotRoundTripGivesTheSameResults() throws Exception {
+        HnswIndex index = build();
+        index.remove(11);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            index.write(out, "model-v1");
+        }
+
+        HnswIndex copy;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertThat(HnswIndex.readHeader(in)).isEqualTo("model-v1");
+            copy = HnswIndex.read(in);
+        }
+        assertThat(copy.size()).isEqualTo(index.size());
+        assertThat(copy.contains(11)).isFalse();
+        float[] q = random();
+        assertThat(copy.search(q, K, 100)).isEqualTo(index.search(q, K, 100));
+    }
+
+    @Test
+    void rejectsVectorsOfTheWrongDimension() {
+        HnswIndex index = new HnswIndex(DIM, 16, 200);
+        assertThatThrownBy(() -> index.add(1, new float[DIM + 1])).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.search(new float[3], 1, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(index.search(new float[DIM], 1, 10)).isEmpty();
+    }
+}
@@ -0,0 +1,91 @@
+package com.yourname.backend.embedding;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Expected tokens are those of BERT's reference tokenizer tests (google-research/bert, HuggingFace). */
+class WordPieceTokenizerTest {
+
+    private static final List<String> VOCAB = List.of(
+            "[UNK]", "[CLS]", "[SEP]", "want", "##want", "##ed", "wa", "un", "runn", "##ing", ",", "low", "lowest");
+
+    private static Map<String, Integer> vocab() {
+        Map<String, Integer> v = new HashMap<>();
+        for (int i = 0; i < VOCAB.size(); i++) v.put(VOCAB.get(i), i);
+        return v;
+    }
+
+    private static List<String> tokens(WordPieceTokenizer t, String text) {
+        int[] ids = t.encode(text, 512);
+        return Arrays.stream(ids).mapToObj(VOCAB::get).toList();
+    }
+
+    @Test
+    void basicTokensLowerCased() {
+        WordPieceTokenizer t = new WordPieceTokenizer(vocab(), true);
+        assertThat(t.basicTokens(" \tHeLLo!how  \n Are yoU?  ")).containsExactly("hello", "!", "how", "are", "you", "?");
+        assertThat(t.basicTokens("Héllo")).containsExactly("hello");
+        assertThat(t.basicTokens(" \tHäLLo!how  \n Are yoU?  ")).containsExactly("hallo", "!", "how", "are", "you", "?");
+    }
+
+    @Test
+    void basicTokensCased() {
+        WordPieceTokenizer t = new WordPieceTokenizer(vocab(), false);
+        assertThat(t.basicTokens(" \tHeLLo!how  \n Are yoU?  ")).containsExactly("HeLLo", "!", "how", "Are", "yoU", "?");
+    }
+
+    @Test
+    void cjkCharactersAreTokensOfTheirOwn() {
+        WordPieceTokenizer t = new WordPieceTokenizer(vocab(), true);
+        assertThat(t.basicTokens("ah\u535A\u63A8zz")).containsExactly("ah", "\u535A", "\u63A8", "zz");
+    }
+
+    @Test
+    void controlCharactersAreDropped() {
+        WordPieceTokenizer t = new WordPieceTokenizer(vocab(), true);
+        assertThat(t.basicTokens("a\u0000b\u200Bc\uFFFDd e")).containsExactly("abcd", "e");
+    }
+
+    @Test
+    void greedyLongestMatchWordPieces() {
+        WordPieceTokenizer t = new WordPieceTokenizer(vocab(), true);
+        assertThat(tokens(t, "")).containsExactly("[CLS]", "[SEP]");
+        assertThat(tokens(t, "unwanted running")).containsExactly("[CLS]", "un", "##want", "##ed", "runn", "##ing", "[SEP]");
+        assertThat(tokens(t, "unwantedX running")).containsExactly("[CLS]", "[UNK]", "runn", "##ing", "[SEP]");
+        assertThat(tokens(t, "UNwantéd,running")).containsExactly(
+                "[CLS]", "un", "##want", "##ed", ",", "runn", "##ing", "[SEP]");
+        assertThat(tokens(t, "lowest")).containsExactly("[CLS]", "lowest", "[SEP]");
+    }
+
+    @Test
+    void truncatesToMaxLengthKeepingSep() {
+        WordPieceTokenizer t = new WordPieceTokenizer(vocab(), true);
+        int[] ids = t.encode("unwanted running", 4);
+        assertThat(Arrays.stream(ids).mapToObj(VOCAB::get)).containsExactly("[CLS]", "un", "##want", "[SEP]");
+    }
+
+    @Test
+    void loadsVocabFileLineNumbersAsIds(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("vocab.txt");
+        Files.write(file, VOCAB);
+        WordPieceTokenizer t = WordPieceTokenizer.load(file, true);
+        assertThat(t.encode("want", 8)).containsExactly(1, 3, 2);
+    }
+
+    @Test
+    void vocabWithoutSpecialTokensIsRejected() {
+        assertThatThrownBy(() -> new WordPieceTokenizer(Map.of("[CLS]", 0, "[SEP]", 1), true))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("[UNK]");
+    }
+}
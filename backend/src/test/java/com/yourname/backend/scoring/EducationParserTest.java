@@ -0,0 +1,67 @@
+package com.yourname.backend.scoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.yourname.backend.scoring.EducationParser.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EducationParserTest {
+
+    @Test
+    void highestDegreeIsTheLevel() {
+        assertThat(parse("Ph.D. in Physics, MIT (2015)").level()).isEqualTo(DOCTORATE);
+        assertThat(parse("Master of Science in Computer Science").level()).isEqualTo(MASTER);
+        assertThat(parse("B.Sc. Computer Science, Leeds (2012); MBA, INSEAD (2018)").level()).isEqualTo(MASTER);
+        assertThat(parse("Bachelor's in Economics").level()).isEqualTo(BACHELOR);
+        assertThat(parse("Associate degree in Nursing").level()).isEqualTo(ASSOCIATE);
+        assertThat(parse("High school diploma").level()).isEqualTo(HIGH_SCHOOL);
+    }
+
+    @Test
+    void dottedAbbreviationsCountAnywhere() {
+        assertThat(parse("M.S., Stanford (2019)").level()).isEqualTo(MASTER);
+        assertThat(parse("B.A. (2010)").level()).isEqualTo(BACHELOR);
+        assertThat(parse("A.S. from Austin Community College").level()).isEqualTo(ASSOCIATE);
+    }
+
+    @Test
+    void bareTwoLetterAbbreviationsNeedAField() {
+        assertThat(parse("MS in Computer Science").level()).isEqualTo(MASTER);
+        assertThat(parse("BS of Mechanical Engineering").level()).isEqualTo(BACHELOR);
+        assertThat(parse("AS in Business").level()).isEqualTo(ASSOCIATE);
+    }
+
+    @Test
+    void ordinaryWordsAreNotDegrees() {
+        assertThat(parse("experience as a backend developer").level()).isEqualTo(NONE);
+        assertThat(parse("proficient in MS Office").level()).isEqualTo(NONE);
+        assertThat(parse("worked as of 2020 on ms teams integrations").level()).isEqualTo(NONE);
+        assertThat(parse("ma and pa shop, ba-da-bing").level()).isEqualTo(NONE);
+    }
+
+    @Test
+    void fieldsAreCollected() {
+        assertThat(parse("B.Sc. in Computer Science and Mathematics").fields())
+                .containsExactlyInAnyOrder("computing", "math");
+        assertThat(parse("Diploma").fields()).isEmpty();
+    }
+
+    @Test
+    void requiredReadsOnlyEducationLines() {
+        Education e = required(List.of(
+                "5+ years of experience as a backend developer",
+                "Proficient in MS Office",
+                "Bachelor's degree in Computer Science or related field"));
+        assertThat(e.level()).isEqualTo(BACHELOR);
+        assertThat(e.fields()).containsExactly("computing");
+    }
+
+    @Test
+    void relatedIsSymmetric() {
+        assertThat(related("math", "computing")).isTrue();
+        assertThat(related("computing", "math")).isTrue();
+        assertThat(related("design", "health")).isFalse();
+    }
+}
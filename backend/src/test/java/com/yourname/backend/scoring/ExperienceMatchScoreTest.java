@@ -0,0 +1,35 @@
+package com.yourname.backend.scoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ExperienceMatchScoreTest {
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final ExperienceMatchScore score = new ExperienceMatchScore();
+
+    {
+        ReflectionTestUtils.setField(score, "defaultRequiredYears", 3.0);
+    }
+
+    private double score(YearMonth asOf) throws Exception {
+        ScoreInputs in = new ScoreInputs("", "",
+                json.readTree("{\"work_experience\": \"Lead at Hooli (01/2022 - present)\"}"),
+                json.readTree("{\"Requirements\": [\"4+ years of experience\"]}"),
+                null, null, 0, null, asOf);
+        return score.score(in).getAsDouble();
+    }
+
+    @Test
+    void openRangesRunToTheGivenMonthNotToday() throws Exception {
+        // Jan 2022 – Dec 2023 inclusive: 2 of the 4 years asked for; no job skills, so years alone
+        assertThat(score(YearMonth.of(2023, 12))).isCloseTo(50, within(1e-9));
+        assertThat(score(YearMonth.of(2025, 12))).isCloseTo(100, within(1e-9));
+    }
+}
@@ -0,0 +1,58 @@
+package com.yourname.backend.scoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ExperienceParserTest {
+
+    private static final YearMonth NOW = YearMonth.of(2024, 6);
+
+    @Test
+    void monthYearRangesAreEndInclusive() {
+        var e = ExperienceParser.parse("Engineer at Acme (01/2020 - 12/2021)", NOW);
+        assertThat(e.ranges()).hasSize(1);
+        assertThat(e.years()).isCloseTo(2.0, within(1e-9));
+    }
+
+    @Test
+    void namedMonthsAndBareYears() {
+        assertThat(ExperienceParser.parse("Developer, Initech (Mar 2018 to Aug 2018)", NOW).years())
+                .isCloseTo(0.5, within(1e-9));
+        assertThat(ExperienceParser.parse("Analyst, Globex (2015–2016)", NOW).years())
+                .isCloseTo(2.0, within(1e-9));
+    }
+
+    @Test
+    void openRangesRunToNow() {
+        assertThat(ExperienceParser.parse("Lead at Hooli (06/2023 - present)", NOW).years())
+                .isCloseTo(13 / 12.0, within(1e-9));
+    }
+
+    @Test
+    void overlappingRangesCountOnce() {
+        String text = "Engineer at Acme (01/2019 - 12/2020); Consultant at Initech (06/2020 - 12/2021)";
+        var e = ExperienceParser.parse(text, NOW);
+        assertThat(e.ranges()).hasSize(2);
+        assertThat(e.years()).isCloseTo(3.0, within(1e-9));
+    }
+
+    @Test
+    void textWithoutDatesHasNoExperience() {
+        assertThat(ExperienceParser.parse("experience as a backend developer", NOW).ranges()).isEmpty();
+        assertThat(ExperienceParser.parse("proficient in MS Office", NOW).years()).isZero();
+        assertThat(ExperienceParser.parse(null, NOW).years()).isZero();
+    }
+
+    @Test
+    void requiredYearsTakesTheLargestMinimum() {
+        assertThat(ExperienceParser.requiredYears(List.of(
+                "3+ years with Java", "Experience as a backend developer", "5-7 yrs in fintech"))).isEqualTo(5.0);
+        assertThat(ExperienceParser.requiredYears(List.of("Proficient in MS Office"))).isZero();
+        assertThat(ExperienceParser.requiredYears(List.of("Founded 2020 years ago"))).isZero();
+    }
+}
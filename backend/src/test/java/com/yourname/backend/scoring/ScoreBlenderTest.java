@@ -0,0 +1,60 @@
+package com.yourname.backend.scoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.backend.services.SkillTagger;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+import java.util.OptionalDouble;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoreBlenderTest {
+
+    private final ObjectMapper json = new ObjectMapper();
+
+    /** Both components weighted 0.5. */
+    private static ScoreBlender blender(ScoreComponent a, ScoreComponent b) {
+        MockEnvironment env = new MockEnvironment()
+                .withProperty("scoring.weights." + a.name(), "0.5")
+                .withProperty("scoring.weights." + b.name(), "0.5");
+        ScoreBlender blender = new ScoreBlender(List.of(a, b), env);
+        blender.init();
+        return blender;
+    }
+
+    private static ScoreComponent constant(double v) {
+        return new ScoreComponent() {
+            public String name() { return "constant"; }
+            public OptionalDouble score(ScoreInputs in) { return OptionalDouble.of(v); }
+        };
+    }
+
+    private ScoreInputs inputs(String resumeSkills, String jobSkills) throws Exception {
+        return new ScoreInputs("", "",
+                json.readTree("{\"skills\": \"" + resumeSkills + "\"}"),
+                json.readTree("{\"skills\": \"" + jobSkills + "\"}"),
+                null, null, 0, null, null);
+    }
+
+    @Test
+    void componentThatDoesNotApplyIsRedistributedNotPartial() throws Exception {
+        ScoreBlender b = blender(new SkillOverlapScore(new SkillVocabulary(), new SkillTagger()), constant(80));
+
+        ScoreBlender.Blend blend = b.blend(inputs("Java, SQL", ""));
+
+        assertThat(blend.partial()).isFalse();
+        assertThat(blend.finalScore()).isEqualTo(80.0);
+    }
+
+    @Test
+    void failedLlmComponentMarksTheBlendPartial() throws Exception {
+        ScoreBlender b = blender(new LlmGrade("llm", g -> 100), constant(60));
+
+        ScoreBlender.Blend blend = b.blend(inputs("", ""));
+
+        assertThat(blend.partial()).isTrue();
+        assertThat(blend.finalScore()).isEqualTo(60.0);
+    }
+}
@@ -0,0 +1,89 @@
+package com.yourname.backend.scoring;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.backend.entities.Skill;
+import com.yourname.backend.services.SkillTagger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.OptionalDouble;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SkillOverlapScoreTest {
+
+    private final ObjectMapper json = new ObjectMapper();
+    private SkillOverlapScore score;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        SkillVocabulary vocabulary = new SkillVocabulary();
+        SkillTagger tagger = new SkillTagger();
+        ReflectionTestUtils.setField(tagger, "enabled", true);
+        ReflectionTestUtils.setField(tagger, "aliasFile", new ByteArrayResource(new byte[0]));
+        ReflectionTestUtils.setField(tagger, "ignore", "");
+        ReflectionTestUtils.invokeMethod(tagger, "init");
+        List<Skill> saved = List.of(new Skill("Java"), new Skill("SQL"), new Skill("Docker"), new Skill("Kubernetes"));
+        vocabulary.add(saved);
+        tagger.add(saved);
+
+        score = new SkillOverlapScore(vocabulary, tagger);
+        ReflectionTestUtils.setField(score, "coverageWeight", 0.7);
+    }
+
+    private OptionalDouble score(String resumeSkills, String resumeText, String jobSkills, String jobText) throws Exception {
+        JsonNode resume = json.createObjectNode().put("skills", resumeSkills);
+        JsonNode job = json.createObjectNode().put("skills", jobSkills);
+        return score.score(new ScoreInputs(resumeText, jobText, resume, job, null, null, 0, null, null));
+    }
+
+    @Test
+    void fullMatchScores100() throws Exception {
+        assertThat(score("java, sql", "", "Java, SQL", "").getAsDouble()).isCloseTo(100, within(1e-9));
+    }
+
+    @Test
+    void coverageAndJaccardAreBlended() throws Exception {
+        // shared 1 of the job's 2 (coverage 0.5), union 3 (jaccard 1/3)
+        double expected = 100 * (0.7 * 0.5 + 0.3 / 3);
+        assertThat(score("Java, Docker", "", "Java, SQL", "").getAsDouble()).isCloseTo(expected, within(1e-9));
+    }
+
+    @Test
+    void skillsTaggedInTheTextCountLikeTheirLinks() throws Exception {
+        // the parser missed SQL and Kubernetes; the tagger finds them in the texts, as upload and re-tagging do
+        assertThat(score("Java", "Wrote SQL reports in Java", "Java, SQL", "").getAsDouble())
+                .isCloseTo(100, within(1e-9));
+        assertThat(score("Java, Kubernetes", "", "Java", "Java on Kubernetes").getAsDouble())
+                .isCloseTo(100, within(1e-9));
+    }
+
+    @Test
+    void unsavedNamesMatchIgnoringCaseAndSpacing() throws Exception {
+        assertThat(score(" rust   LANG ", "", "Rust Lang, Java", "").getAsDouble())
+                .isCloseTo(100 * (0.7 * 0.5 + 0.3 * 0.5), within(1e-9));
+    }
+
+    @Test
+    void jobWithoutSkillsDoesNotApply() throws Exception {
+        assertThat(score("Java", "Java", "", "A friendly team")).isEmpty();
+    }
+
+    @Test
+    void resumeWithoutSkillsScoresZero() throws Exception {
+        assertThat(score("", "", "Java", "").getAsDouble()).isZero();
+    }
+
+    @Test
+    void readsOlderArrayForm() throws Exception {
+        JsonNode resume = json.readTree("{\"skills\": [\"Java\", \"SQL\"]}");
+        JsonNode job = json.readTree("{\"skills\": \"Java, SQL\"}");
+        assertThat(score.score(new ScoreInputs("", "", resume, job, null, null, 0, null, null)).getAsDouble())
+                .isCloseTo(100, within(1e-9));
+    }
+}
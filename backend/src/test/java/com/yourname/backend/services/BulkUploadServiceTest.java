@@ -0,0 +1,111 @@
+package com.yourname.backend.services;
+
+import com.yourname.backend.dto.BulkUploadEventDto;
+import com.yourname.backend.entities.Resume;
+import com.yourname.backend.entities.Skill;
+import com.yourname.backend.repositories.JobDescriptionRepository;
+import com.yourname.backend.repositories.ResumeRepository;
+import com.yourname.backend.storage.StorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BulkUploadServiceTest {
+
+    /** Tracks whether a transaction is open, as the JPA manager would for the calling thread. */
+    static class RecordingTxManager implements PlatformTransactionManager {
+        final ThreadLocal<Boolean> active = ThreadLocal.withInitial(() -> false);
+
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            active.set(true);
+            return new SimpleTransactionStatus();
+        }
+
+        public void commit(TransactionStatus status)   { active.set(false); }
+
+        public void rollback(TransactionStatus status) { active.set(false); }
+    }
+
+    private final ExecutorService stages = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void stop() {
+        stages.shutdownNow();
+    }
+
+    @Test
+    void bulkUploadedResumeIsSavedWithItsSkillsInOneTransaction(@TempDir Path uploads) throws Exception {
+        RecordingTxManager txManager = new RecordingTxManager();
+        ResumeRepository resumeRepo = mock(ResumeRepository.class);
+        ResumeArtifactService artifacts = mock(ResumeArtifactService.class);
+        TextExtractionService extraction = mock(TextExtractionService.class);
+        EmbeddingService embeddings = mock(EmbeddingService.class);
+        SkillService skills = mock(SkillService.class);
+        SkillTagger tagger = mock(SkillTagger.class);
+
+        String json = """
+                {"email": "jane@example.com", "summary": "Backend developer",
+                 "skills": "Java, SQL", "work_experience": "Acme 2019-2024", "education": "B.Sc."}""";
+        when(artifacts.parse(anyString())).thenReturn(new ResumeArtifactService.ParsedResume("hash", "v1", json));
+        when(extraction.extract(anyString())).thenReturn("Java and SQL backend developer");
+        when(embeddings.embed(anyString())).thenReturn(new EmbeddingService.Vector("hash", new float[]{1f, 0f}));
+        when(tagger.withTagged(anyList(), anyString())).thenAnswer(i -> i.getArgument(0));
+
+        // stand-ins for the JPA checks: skills must be fetched, and the resume saved, inside a transaction
+        List<String> outsideTx = new CopyOnWriteArrayList<>();
+        when(skills.fetchOrCreateSkills(any())).thenAnswer(i -> {
+            if (!txManager.active.get()) outsideTx.add("fetchOrCreateSkills");
+            Set<String> names = i.getArgument(0);
+            return new HashSet<>(names.stream().map(Skill::new).toList());
+        });
+        when(resumeRepo.save(any(Resume.class))).thenAnswer(i -> {
+            if (!txManager.active.get()) outsideTx.add("save");
+            Resume r = i.getArgument(0);
+            r.setId(1L);
+            return r;
+        });
+
+        IngestionService ingestion = new IngestionService(resumeRepo, mock(JobDescriptionRepository.class),
+                new StorageService(uploads.toString()), extraction, artifacts, embeddings,
+                mock(CandidateIndexService.class), skills, tagger, mock(SkillIndexService.class),
+                mock(TextIndexService.class), mock(ScoringService.class), txManager,
+                new SimpleMeterRegistry(), stages);
+        BulkUploadService bulk = new BulkUploadService(new StorageService(uploads.toString()), ingestion, stages);
+        ReflectionTestUtils.setField(bulk, "parallelism", 2);
+        ReflectionTestUtils.setField(bulk, "maxFiles", 10);
+        ReflectionTestUtils.setField(bulk, "maxResumeSize", DataSize.ofMegabytes(1));
+
+        ConcurrentLinkedQueue<BulkUploadEventDto> events = new ConcurrentLinkedQueue<>();
+        MockMultipartFile file = new MockMultipartFile("files", "jane_doe.pdf", "application/pdf", new byte[]{'%', 'P', 'D', 'F'});
+        BulkUploadService.Summary summary = bulk.upload(List.of(file), List.of(), new AtomicBoolean(), events::add).get();
+
+        assertThat(events).extracting(BulkUploadEventDto::status).contains("done").doesNotContain("failed");
+        assertThat(summary.succeeded()).isEqualTo(1);
+        assertThat(outsideTx).isEmpty();
+    }
+}
@@ -0,0 +1,149 @@
+package com.yourname.backend.services;
+
+import com.yourname.backend.entities.Resume;
+import com.yourname.backend.entities.Skill;
+import com.yourname.backend.repositories.JobDescriptionRepository;
+import com.yourname.backend.repositories.ResumeRepository;
+import com.yourname.backend.storage.StorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IngestionServiceTest {
+
+    /** Runs transaction synchronizations like the JPA manager; commits fail while {@code failCommit} is set. */
+    static class TestTxManager extends AbstractPlatformTransactionManager {
+        boolean failCommit;
+
+        protected Object doGetTransaction() { return new Object(); }
+
+        protected void doBegin(Object transaction, TransactionDefinition definition) { }
+
+        protected void doCommit(DefaultTransactionStatus status) {
+            if (failCommit) throw new TransactionSystemException("commit failed");
+        }
+
+        protected void doRollback(DefaultTransactionStatus status) { }
+    }
+
+    private final TestTxManager txManager = new TestTxManager();
+    private final ResumeRepository resumeRepo = mock(ResumeRepository.class);
+    private final SkillService skills = mock(SkillService.class);
+    private final SkillTagger tagger = mock(SkillTagger.class);
+    private final SkillIndexService skillIndex = mock(SkillIndexService.class);
+    private final TextIndexService textIndex = mock(TextIndexService.class);
+    private final ResumeArtifactService artifacts = mock(ResumeArtifactService.class);
+    private final CandidateIndexService candidateIndex = mock(CandidateIndexService.class);
+    private IngestionService ingestion;
+    private Resume resume;
+
+    @BeforeEach
+    void setUp(@TempDir Path uploads) throws Exception {
+        ingestion = new IngestionService(resumeRepo, mock(JobDescriptionRepository.class),
+                new StorageService(uploads.toString()), mock(TextExtractionService.class),
+                artifacts, mock(EmbeddingService.class), candidateIndex,
+                skills, tagger, skillIndex, textIndex, mock(ScoringService.class), txManager,
+                new SimpleMeterRegistry(), Executors.newSingleThreadExecutor());
+
+        resume = new Resume("jane.pdf", "Jane", uploads.resolve("jane.pdf").toString());
+        resume.setId(1L);
+        resume.setPlainText("Java developer");
+        when(resumeRepo.findById(1L)).thenReturn(Optional.of(resume));
+        when(resumeRepo.existsById(1L)).thenReturn(true);
+    }
+
+    private static Skill skill(long id, String name) {
+        Skill s = new Skill(name);
+        ReflectionTestUtils.setField(s, "id", id);
+        return s;
+    }
+
+    @Test
+    void retagUpdatesTheSkillIndexAfterCommit() {
+        when(resumeRepo.findAllIds()).thenReturn(List.of(1L));
+        when(tagger.tag(anyString())).thenReturn(Set.of("Java"));
+        when(skills.fetchOrCreateSkills(any())).thenReturn(Set.of(skill(10, "Java")));
+
+        assertThat(ingestion.retagAll().linksAdded()).isEqualTo(1);
+        verify(skillIndex).put(resume);
+    }
+
+    @Test
+    void rolledBackRetagLeavesTheSkillIndexAlone() {
+        when(resumeRepo.findAllIds()).thenReturn(List.of(1L));
+        when(tagger.tag(anyString())).thenReturn(Set.of("Java"));
+        when(skills.fetchOrCreateSkills(any())).thenReturn(Set.of(skill(10, "Java")));
+        txManager.failCommit = true;
+
+        assertThatThrownBy(ingestion::retagAll).isInstanceOf(TransactionSystemException.class);
+        verify(skillIndex, never()).put(any(Resume.class));
+    }
+
+    @Test
+    void parseUpdatesBothIndexesAfterCommit() {
+        givenParsed();
+
+        ReflectionTestUtils.invokeMethod(ingestion, "parse", 1L);
+        verify(skillIndex).put(resume);
+        verify(textIndex).put(resume);
+    }
+
+    @Test
+    void rolledBackParseLeavesBothIndexesAlone() {
+        givenParsed();
+        txManager.failCommit = true;
+
+        assertThatThrownBy(() -> ReflectionTestUtils.invokeMethod(ingestion, "parse", 1L))
+                .isInstanceOf(TransactionSystemException.class);
+        verify(skillIndex, never()).put(any(Resume.class));
+        verify(textIndex, never()).put(any(Resume.class));
+    }
+
+    @Test
+    void extractDropsTheVectorOfAResumeDeletedMeanwhile() {
+        // the delete commits after extract's update, so its candidateIndex.remove ran before the add
+        when(resumeRepo.existsById(1L)).thenReturn(false);
+
+        ReflectionTestUtils.invokeMethod(ingestion, "extract", 1L);
+        var order = inOrder(candidateIndex);
+        order.verify(candidateIndex).add(eq(1L), any());
+        order.verify(candidateIndex).remove(1L);
+    }
+
+    private void givenParsed() {
+        String json = """
+                {"email": "jane@example.com", "summary": "Backend developer", "skills": "Java",
+                 "work_experience": "Acme 2019-2024", "education": "B.Sc."}""";
+        try {
+            when(artifacts.parse(anyString())).thenReturn(new ResumeArtifactService.ParsedResume("hash", "v1", json));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        when(tagger.withTagged(anyList(), anyString())).thenAnswer(i -> i.getArgument(0));
+        when(skills.fetchOrCreateSkills(any())).thenReturn(Set.of(skill(10, "Java")));
+    }
+}
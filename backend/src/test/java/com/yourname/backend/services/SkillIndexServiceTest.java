@@ -0,0 +1,73 @@
+package com.yourname.backend.services;
+
+import com.yourname.backend.repositories.ResumeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SkillIndexServiceTest {
+
+    private final ResumeRepository resumeRepo = mock(ResumeRepository.class);
+    private final SkillService skills = mock(SkillService.class);
+    private SkillIndexService index;
+
+    @BeforeEach
+    void load() {
+        PlatformTransactionManager tx = mock(PlatformTransactionManager.class);
+        when(tx.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        // skill "s<n>" has id n
+        when(skills.idOf(anyString())).thenAnswer(i -> Long.parseLong(i.<String>getArgument(0).substring(1)));
+        when(resumeRepo.streamStatuses()).thenReturn(Stream.of(
+                new Object[]{1L, "New"}, new Object[]{2L, "New"}, new Object[]{3L, "Hired"}));
+        when(resumeRepo.streamSkillLinks()).thenReturn(Stream.of(
+                new Object[]{1L, 10L}, new Object[]{1L, 11L}, new Object[]{2L, 11L}, new Object[]{3L, 12L}));
+
+        index = new SkillIndexService(resumeRepo, skills, tx);
+        ReflectionTestUtils.invokeMethod(index, "load");
+        assertThat(index.isReady()).isTrue();
+    }
+
+    private List<Long> search(List<String> all, List<String> any, String status) {
+        return index.search(all, any, status, 0, 20).resumeIds();
+    }
+
+    @Test
+    void loadedResumesAreSearchable() {
+        assertThat(search(List.of("s11"), List.of(), null)).containsExactly(2L, 1L);
+        assertThat(search(List.of("s10", "s11"), List.of(), "new")).containsExactly(1L);
+        assertThat(search(List.of(), List.of("s10", "s12"), null)).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void putReplacesTheLoadedSkillsAndStatus() {
+        index.put(1L, List.of(12L), "Hired");
+
+        assertThat(search(List.of("s10"), List.of(), null)).isEmpty();
+        assertThat(search(List.of("s11"), List.of(), null)).containsExactly(2L);
+        assertThat(search(List.of("s12"), List.of(), "hired")).containsExactly(3L, 1L);
+        assertThat(search(List.of(), List.of(), "new")).containsExactly(2L);
+    }
+
+    @Test
+    void removeTakesTheResumeOutEverywhere() {
+        index.remove(3L);
+        index.put(2L, List.of(11L, 13L), null);
+
+        assertThat(search(List.of("s12"), List.of(), null)).isEmpty();
+        assertThat(search(List.of(), List.of(), "hired")).isEmpty();
+        assertThat(search(List.of(), List.of(), "new")).containsExactly(1L);
+        assertThat(search(List.of(), List.of(), null)).containsExactly(2L, 1L);
+        assertThat(search(List.of("s13"), List.of(), null)).containsExactly(2L);
+    }
+}
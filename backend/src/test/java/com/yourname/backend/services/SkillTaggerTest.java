@@ -0,0 +1,101 @@
+package com.yourname.backend.services;
+
+import com.yourname.backend.entities.Skill;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SkillTaggerTest {
+
+    private static final String ALIASES = """
+            # skill: aliases
+            Kubernetes: k8s, kube
+            JavaScript: js, ecmascript
+            """;
+
+    private SkillTagger tagger;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        tagger = new SkillTagger();
+        ReflectionTestUtils.setField(tagger, "enabled", true);
+        ReflectionTestUtils.setField(tagger, "aliasFile", new ByteArrayResource(ALIASES.getBytes(StandardCharsets.UTF_8)));
+        ReflectionTestUtils.setField(tagger, "ignore", "go");
+        tagger.init();
+        tagger.add(List.of(new Skill("Java"), new Skill("Spring Boot"), new Skill("C++"), new Skill("Go"), new Skill("SQL")));
+    }
+
+    @Test
+    void matchesWholeWordsOnly() {
+        assertThat(tagger.tag("JavaScript and Java developer")).containsExactly("JavaScript", "Java");
+        assertThat(tagger.tag("Javanese, NoSQL and MySQLdb")).isEmpty();
+        assertThat(tagger.tag("sql")).containsExactly("SQL");
+    }
+
+    @Test
+    void foldsCaseAndSpacing() {
+        assertThat(tagger.tag("Built on SPRING\n   boot")).containsExactly("Spring Boot");
+        assertThat(tagger.tag("springboot")).isEmpty();
+    }
+
+    @Test
+    void aliasesNameTheirSkill() {
+        assertThat(tagger.tag("Deployed to K8s with kube-proxy; wrote ES6 JS")).containsExactly("Kubernetes", "JavaScript");
+    }
+
+    @Test
+    void namesEndingInSymbolsMatchBeforeAnyCharacter() {
+        assertThat(tagger.tag("Modern C++17 and C++.")).containsExactly("C++");
+    }
+
+    @Test
+    void ignoredNamesAreNeverTagged() {
+        assertThat(tagger.tag("We go to Go conferences")).isEmpty();
+    }
+
+    @Test
+    void skillsAddedLaterAreFoundAfterARebuild() {
+        assertThat(tagger.tag("Rust services")).isEmpty();
+        tagger.add(List.of(new Skill("Rust")));
+        assertThat(tagger.tag("Rust services")).containsExactly("Rust");
+    }
+
+    @Test
+    void concurrentFirstCallsWaitForTheFirstBuild() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            setUp();
+            for (int i = 0; i < 2_000; i++) tagger.add(List.of(new Skill("skill" + i)));
+            ExecutorService pool = Executors.newFixedThreadPool(8);
+            try {
+                CountDownLatch go = new CountDownLatch(1);
+                List<Future<Set<String>>> calls = new ArrayList<>();
+                for (int t = 0; t < 8; t++) calls.add(pool.submit(() -> {
+                    go.await();
+                    return tagger.tag("Java and skill1999");
+                }));
+                go.countDown();
+                for (Future<Set<String>> f : calls) assertThat(f.get()).containsExactly("Java", "skill1999");
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    void withTaggedAddsOnlySkillsNotAlreadyParsed() {
+        assertThat(tagger.withTagged(List.of("java", "Docker"), "Java, Docker and kubernetes"))
+                .containsExactly("java", "Docker", "Kubernetes");
+    }
+}
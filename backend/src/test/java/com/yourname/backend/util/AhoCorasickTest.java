@@ -0,0 +1,76 @@
+package com.yourname.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AhoCorasickTest {
+
+    /** "pattern@start-end" for every hit, in the order reported. */
+    private static List<String> hits(List<String> patterns, String text) {
+        List<String> out = new ArrayList<>();
+        new AhoCorasick(patterns).search(text.toCharArray(), text.length(),
+                (p, start, end) -> out.add(patterns.get(p) + "@" + start + "-" + end));
+        return out;
+    }
+
+    /** Every occurrence of every pattern, by brute force. */
+    private static List<String> naive(List<String> patterns, String text) {
+        List<String> out = new ArrayList<>();
+        for (int end = 1; end <= text.length(); end++) {
+            for (String p : patterns) {
+                int start = end - p.length();
+                if (!p.isEmpty() && start >= 0 && text.startsWith(p, start)) out.add(p + "@" + start + "-" + end);
+            }
+        }
+        return out;
+    }
+
+    @Test
+    void findsOverlappingAndNestedPatterns() {
+        List<String> patterns = List.of("he", "she", "his", "hers");
+        assertThat(hits(patterns, "ushers")).containsExactlyInAnyOrder("she@1-4", "he@2-4", "hers@2-6");
+    }
+
+    @Test
+    void reportsMatchesByEndPosition() {
+        List<String> found = hits(List.of("java", "javascript", "script"), "javascript");
+        assertThat(found).containsExactlyInAnyOrder("java@0-4", "javascript@0-10", "script@4-10");
+        assertThat(found.get(0)).isEqualTo("java@0-4");
+    }
+
+    @Test
+    void followsFailLinksAfterAPartialMatch() {
+        assertThat(hits(List.of("abcd", "bce"), "abce")).containsExactly("bce@1-4");
+        assertThat(hits(List.of("aab"), "aaab")).containsExactly("aab@1-4");
+    }
+
+    @Test
+    void emptyPatternsAndEmptyTextMatchNothing() {
+        assertThat(hits(List.of("", "x"), "")).isEmpty();
+        assertThat(hits(List.of(""), "abc")).isEmpty();
+        assertThat(hits(List.of(), "abc")).isEmpty();
+    }
+
+    @Test
+    void agreesWithBruteForce() {
+        Random rnd = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            List<String> patterns = new ArrayList<>();
+            for (int i = 0; i < 1 + rnd.nextInt(12); i++) patterns.add(random(rnd, 1 + rnd.nextInt(4)));
+            String text = random(rnd, rnd.nextInt(60));
+            assertThat(hits(patterns, text)).containsExactlyInAnyOrderElementsOf(naive(patterns, text));
+        }
+    }
+
+    /** Over a three-letter alphabet, so patterns overlap a lot. */
+    private static String random(Random rnd, int len) {
+        StringBuilder sb = new StringBuilder(len);
+        for (int i = 0; i < len; i++) sb.append((char) ('a' + rnd.nextInt(3)));
+        return sb.toString();
+    }
+}
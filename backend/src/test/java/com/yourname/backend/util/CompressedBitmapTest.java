@@ -0,0 +1,131 @@
+package com.yourname.backend.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressedBitmapTest {
+
+    private static CompressedBitmap of(Collection<Integer> values) {
+        CompressedBitmap b = new CompressedBitmap();
+        values.forEach(b::add);
+        return b;
+    }
+
+    /** All values, highest first. */
+    private static int[] values(CompressedBitmap b) {
+        return b.pageDescending(0, Integer.MAX_VALUE);
+    }
+
+    private static int[] descending(NavigableSet<Integer> expected) {
+        return expected.descendingSet().stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /** Class of the container holding group {@code i}: ArrayContainer or BitsContainer. */
+    private static String container(CompressedBitmap b, int i) {
+        Object[] containers = (Object[]) ReflectionTestUtils.getField(b, "containers");
+        return containers[i].getClass().getSimpleName();
+    }
+
+    @Test
+    void switchesToBitsAbove4096ValuesAndBack() {
+        CompressedBitmap b = new CompressedBitmap();
+        for (int v = 0; v < 4096; v++) b.add(v * 3);
+        assertThat(container(b, 0)).isEqualTo("ArrayContainer");
+        assertThat(b.cardinality()).isEqualTo(4096);
+
+        b.add(1);
+        assertThat(container(b, 0)).isEqualTo("BitsContainer");
+        assertThat(b.cardinality()).isEqualTo(4097);
+        b.add(1);                                             // already there
+        assertThat(b.cardinality()).isEqualTo(4097);
+
+        b.remove(3);
+        assertThat(container(b, 0)).isEqualTo("ArrayContainer");
+        assertThat(b.cardinality()).isEqualTo(4096);
+        assertThat(b.contains(1)).isTrue();
+        assertThat(b.contains(3)).isFalse();
+        assertThat(b.contains(6)).isTrue();
+    }
+
+    @Test
+    void emptiedGroupsAreDropped() {
+        CompressedBitmap b = new CompressedBitmap();
+        b.add(5);
+        b.add(70_000);
+        b.remove(5);
+        assertThat(values(b)).containsExactly(70_000);
+        b.remove(70_000);
+        assertThat(b.isEmpty()).isTrue();
+        assertThat(values(b)).isEmpty();
+    }
+
+    @Test
+    void setOperationsMatchTreeSetAcrossContainerKinds() {
+        Random rnd = new Random(42);
+        for (int round = 0; round < 30; round++) {
+            // a few groups, each either sparse or dense, so every container pairing comes up
+            TreeSet<Integer> a = randomSet(rnd), b = randomSet(rnd);
+            CompressedBitmap ba = of(a), bb = of(b);
+
+            TreeSet<Integer> and = new TreeSet<>(a);
+            and.retainAll(b);
+            TreeSet<Integer> or = new TreeSet<>(a);
+            or.addAll(b);
+            TreeSet<Integer> andNot = new TreeSet<>(a);
+            andNot.removeAll(b);
+
+            assertThat(values(CompressedBitmap.and(ba, bb))).containsExactly(descending(and));
+            assertThat(values(CompressedBitmap.or(ba, bb))).containsExactly(descending(or));
+            assertThat(values(CompressedBitmap.andNot(ba, bb))).containsExactly(descending(andNot));
+            assertThat(CompressedBitmap.and(ba, bb).cardinality()).isEqualTo(and.size());
+
+            // arguments are left alone
+            assertThat(values(ba)).containsExactly(descending(a));
+            assertThat(values(bb)).containsExactly(descending(b));
+        }
+    }
+
+    @Test
+    void pageDescendingMatchesBruteForce() {
+        Random rnd = new Random(9);
+        TreeSet<Integer> set = randomSet(rnd);
+        CompressedBitmap b = of(set);
+        int[] all = descending(set);
+        for (int offset : new int[]{0, 1, 19, 4095, 4096, 4097, all.length - 1, all.length, all.length + 5}) {
+            for (int limit : new int[]{1, 20, 5000}) {
+                int from = Math.min(offset, all.length), to = Math.min(all.length, from + limit);
+                int[] expected = Arrays.copyOfRange(all, from, to);
+                assertThat(b.pageDescending(offset, limit)).as("offset %d limit %d", offset, limit).containsExactly(expected);
+            }
+        }
+    }
+
+    @Test
+    void copyIsIndependent() {
+        CompressedBitmap b = of(List.of(1, 2, 3));
+        CompressedBitmap c = b.copy();
+        c.add(4);
+        b.remove(1);
+        assertThat(values(b)).containsExactly(3, 2);
+        assertThat(values(c)).containsExactly(4, 3, 2, 1);
+    }
+
+    private static TreeSet<Integer> randomSet(Random rnd) {
+        TreeSet<Integer> s = new TreeSet<>();
+        for (int group = 0; group < 4; group++) {
+            if (rnd.nextInt(4) == 0) continue;                       // group absent
+            int n = rnd.nextBoolean() ? rnd.nextInt(200) : 6000 + rnd.nextInt(4000);
+            for (int i = 0; i < n; i++) s.add((group << 16) | rnd.nextInt(1 << 14));
+        }
+        return s;
+    }
+}
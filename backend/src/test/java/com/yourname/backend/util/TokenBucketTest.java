@@ -0,0 +1,74 @@
+package com.yourname.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+
+    private TokenBucket bucket(long perMinute) {
+        return new TokenBucket(perMinute, clock::get);
+    }
+
+    @Test
+    void startsFullAndThenReservesIntoDebt() {
+        TokenBucket bucket = bucket(60);                    // one token a second
+
+        assertThat(bucket.reserve(60)).isZero();
+        assertThat(bucket.reserve(1)).isEqualTo(SECOND);
+        assertThat(bucket.reserve(2)).isEqualTo(3 * SECOND);
+    }
+
+    @Test
+    void partialReservationsAreFreeUntilTheBucketRunsDry() {
+        TokenBucket bucket = bucket(600);                   // ten a second
+
+        for (int i = 0; i < 60; i++) assertThat(bucket.reserve(10)).isZero();
+        assertThat(bucket.reserve(5)).isEqualTo(SECOND / 2);
+    }
+
+    @Test
+    void oversizedRequestsWaitForAFullBucketOnly() {
+        TokenBucket bucket = bucket(60);
+
+        assertThat(bucket.reserve(1_000)).isZero();         // capped at the 60 there are
+        assertThat(bucket.reserve(1_000)).isEqualTo(60 * SECOND);
+    }
+
+    @Test
+    void debtIsPaidOffByRefill() {
+        TokenBucket bucket = bucket(60);
+
+        assertThat(bucket.reserve(60)).isZero();
+        assertThat(bucket.reserve(3)).isEqualTo(3 * SECOND);
+        clock.addAndGet(3 * SECOND);
+        assertThat(bucket.reserve(1)).isEqualTo(SECOND);
+        clock.addAndGet(2 * SECOND);
+        assertThat(bucket.reserve(1)).isZero();
+    }
+
+    @Test
+    void refillStopsAtCapacity() {
+        TokenBucket bucket = bucket(60);
+
+        assertThat(bucket.reserve(60)).isZero();
+        clock.addAndGet(3_600 * SECOND);                    // an hour idle still only refills one minute
+        assertThat(bucket.reserve(60)).isZero();
+        assertThat(bucket.reserve(1)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void zeroOrNegativeRateDisablesTheLimit() {
+        for (long rate : new long[]{0, -5}) {
+            TokenBucket bucket = bucket(rate);
+            for (int i = 0; i < 100; i++) assertThat(bucket.reserve(1_000_000)).isZero();
+        }
+    }
+}
@@ -24,7 +24,7 @@ export default function MatchAnalysisPage() {
     useEffect(() => {
         if (!resumeId) { setError("Missing resumeId"); return; }
 
-        api.get(`/resume/${resumeId}/analysis`)
+        api.get(`/resume/${resumeId}/analysis`, { params: jobId ? { jobId } : {} })
             .then(res => {
                 setResume(res.data);
                 if (res.data.jobId) {
@@ -34,7 +34,7 @@ export default function MatchAnalysisPage() {
                 }
             })
             .catch(() => setError("Failed to load resume analysis"));
-    }, [resumeId]);
+    }, [resumeId, jobId]);
 
 
     if (error)      return <p className="p-6 text-red-600">{error}</p>;